@@ -0,0 +1,137 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.OrderItem;
+import org.smooks.Smooks;
+import org.smooks.cartridges.javabean.accessor.Instantiator;
+import org.smooks.cartridges.javabean.accessor.Instantiators;
+import org.smooks.io.payload.JavaResult;
+import org.xml.sax.SAXException;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link OrderItem} creation.  The <code>*Instantiation</code> benchmarks compare the ways of
+ * instantiating a single bean, while {@link #filter60446()} creates and binds every order item of the 60446.xml message.
+ * <p/>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.smooks.BeanCreationBenchmark</code>
+ * or from the IDE.
+ */
+/**
+ * Benchmarks creating an order item through {@link Class#newInstance()}, through the reflective and generated
+ * {@link Instantiator}s, and directly, along with filtering the largest sample message into order beans.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanCreationBenchmark {
+
+    private Instantiator reflectiveInstantiator;
+    private Instantiator generatedInstantiator;
+    private Smooks smooks;
+    private String message;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException, IOException, SAXException {
+        reflectiveInstantiator = Instantiators.forConstructor(OrderItem.class, false);
+        generatedInstantiator = Instantiators.forConstructor(OrderItem.class, true);
+
+        smooks = new Smooks(BeanCreationBenchmark.class.getResourceAsStream("bean-creation.xml"));
+        message = SampleMessages.read("60446");
+    }
+
+    @TearDown
+    public void tearDown() {
+        smooks.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @SuppressWarnings("deprecation")
+    public Object classNewInstanceInstantiation() throws Exception {
+        return OrderItem.class.newInstance();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object reflectiveInstantiation() throws Exception {
+        return reflectiveInstantiator.newInstance();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object generatedInstantiation() throws Exception {
+        return generatedInstantiator.newInstance();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object directInstantiation() {
+        return new OrderItem();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object filter60446() {
+        JavaResult javaResult = new JavaResult();
+        smooks.filterSource(new StreamSource(new StringReader(message)), javaResult);
+        return javaResult.getBean("order");
+    }
+}
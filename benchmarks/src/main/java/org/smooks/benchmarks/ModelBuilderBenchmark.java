@@ -0,0 +1,99 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.Order;
+import org.smooks.cartridges.javabean.dynamic.Model;
+import org.smooks.cartridges.javabean.dynamic.ModelBuilder;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ModelBuilder#readModel(java.io.Reader, Class)} on the sample messages, put in the namespace
+ * of the <code>org/smooks/benchmarks/model</code> descriptor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBuilderBenchmark {
+
+    public static final String NS_DESCRIPTOR = "org/smooks/benchmarks/model/ns-descriptors.properties";
+    public static final String NAMESPACE = "https://www.smooks.org/xsd/benchmarks/order.xsd";
+
+    @Param({"348", "1254", "2462", "5482", "10918", "19977", "39910", "60446"})
+    public String message;
+
+    @Param({"false", "true"})
+    public boolean validate;
+
+    private ModelBuilder modelBuilder;
+    private String messageText;
+
+    @Setup
+    public void setUp() throws IOException, SAXException {
+        modelBuilder = new ModelBuilder(NS_DESCRIPTOR, validate);
+        messageText = SampleMessages.toNamespace(SampleMessages.read(message), NAMESPACE);
+    }
+
+    @Benchmark
+    public Model<Order> readModel() throws IOException, SAXException {
+        return modelBuilder.readModel(new StringReader(messageText), Order.class);
+    }
+}
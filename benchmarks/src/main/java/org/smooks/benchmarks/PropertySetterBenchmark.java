@@ -0,0 +1,142 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.OrderItem;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.cartridges.javabean.accessor.PropertySetters;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective and generated property setters on the {@link OrderItem} properties.
+ * <p/>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.smooks.PropertySetterBenchmark</code>
+ * or from the IDE.
+ */
+/**
+ * Benchmarks setting the properties of an order item through {@link Method#invoke}, through the reflective and
+ * generated {@link PropertySetter}s, and directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertySetterBenchmark {
+
+    private final OrderItem orderItem = new OrderItem();
+    private final Integer position = 1;
+    private final Long quantity = 2L;
+    private final BigDecimal price = new BigDecimal("9.99");
+    private final String title = "Smooks";
+
+    private Method[] methods;
+    private PropertySetter[] reflectiveSetters;
+    private PropertySetter[] generatedSetters;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        methods = new Method[]{
+                OrderItem.class.getMethod("setPosition", Integer.class),
+                OrderItem.class.getMethod("setQuantity", Long.class),
+                OrderItem.class.getMethod("setPrice", BigDecimal.class),
+                OrderItem.class.getMethod("setTitle", String.class)
+        };
+        reflectiveSetters = new PropertySetter[methods.length];
+        generatedSetters = new PropertySetter[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            reflectiveSetters[i] = PropertySetters.create(methods[i], false);
+            generatedSetters[i] = PropertySetters.create(methods[i], true);
+        }
+    }
+
+    @Benchmark
+    public OrderItem methodInvoke() throws Exception {
+        methods[0].invoke(orderItem, position);
+        methods[1].invoke(orderItem, quantity);
+        methods[2].invoke(orderItem, price);
+        methods[3].invoke(orderItem, title);
+        return orderItem;
+    }
+
+    @Benchmark
+    public OrderItem reflectiveSetter() throws Exception {
+        return set(reflectiveSetters);
+    }
+
+    @Benchmark
+    public OrderItem generatedSetter() throws Exception {
+        return set(generatedSetters);
+    }
+
+    @Benchmark
+    public OrderItem direct() {
+        orderItem.setPosition(position);
+        orderItem.setQuantity(quantity);
+        orderItem.setPrice(price);
+        orderItem.setTitle(title);
+        return orderItem;
+    }
+
+    private OrderItem set(PropertySetter[] setters) throws Exception {
+        setters[0].set(orderItem, position);
+        setters[1].set(orderItem, quantity);
+        setters[2].set(orderItem, price);
+        setters[3].set(orderItem, title);
+        return orderItem;
+    }
+}
@@ -0,0 +1,116 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Access to the perfcomp sample order messages, which are copied into this module's resources.  The messages are
+ * named after their size i.e. 348, 1254, 2462, 5482, 10918, 19977, 39910 and 60446.
+ */
+public final class SampleMessages {
+
+    private static final Pattern ORDER_ITEM = Pattern.compile("<orderItem>\\s*<position>(.*?)</position>\\s*<quantity>(.*?)</quantity>\\s*<price>(.*?)</price>\\s*<title>(.*?)</title>\\s*</orderItem>");
+
+    private SampleMessages() {
+    }
+
+    /**
+     * Read a sample message.
+     *
+     * @param name The message name e.g. "348".
+     * @return The message.
+     */
+    public static String read(String name) {
+        try (InputStream messageStream = SampleMessages.class.getResourceAsStream("messages/" + name + ".xml")) {
+            if (messageStream == null) {
+                throw new IllegalArgumentException("Unknown sample message '" + name + "'.");
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = messageStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrite a sample message so as the order item values are attributes of the &lt;orderItem&gt; element.
+     *
+     * @param message The sample message.
+     * @return The message with the order item values as attributes.
+     */
+    public static String toAttributeForm(String message) {
+        Matcher matcher = ORDER_ITEM.matcher(message);
+        StringBuffer attributeForm = new StringBuffer(message.length());
+
+        while (matcher.find()) {
+            matcher.appendReplacement(attributeForm, "<orderItem position=\"$1\" quantity=\"$2\" price=\"$3\" title=\"$4\"/>");
+        }
+        matcher.appendTail(attributeForm);
+
+        return attributeForm.toString();
+    }
+
+    /**
+     * Put the elements of a sample message in a namespace.
+     *
+     * @param message   The sample message.
+     * @param namespace The namespace.
+     * @return The message in the namespace.
+     */
+    public static String toNamespace(String message, String namespace) {
+        return message.replaceFirst("<order>", "<order xmlns=\"" + namespace + "\">");
+    }
+}
@@ -0,0 +1,107 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.Order;
+import org.smooks.cartridges.javabean.binding.xml.XMLBinding;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link XMLBinding#fromXML(String, Class)}, {@link XMLBinding#toXML(Object)} and
+ * {@link XMLBinding#toXML(Object, java.io.OutputStream)} on the sample messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLBindingBenchmark {
+
+    @Param({"348", "1254", "2462", "5482", "10918", "19977", "39910", "60446"})
+    public String message;
+
+    private XMLBinding xmlBinding;
+    private String messageText;
+    private Order order;
+    private ByteArrayOutputStream byteStream;
+
+    @Setup
+    public void setUp() throws IOException, SAXException {
+        xmlBinding = new XMLBinding().add(XMLBindingBenchmark.class.getResourceAsStream("xml-binding.xml")).initialise();
+        messageText = SampleMessages.read(message);
+        order = xmlBinding.fromXML(messageText, Order.class);
+        byteStream = new ByteArrayOutputStream(messageText.length() * 2);
+    }
+
+    @Benchmark
+    public Order fromXML() {
+        return xmlBinding.fromXML(messageText, Order.class);
+    }
+
+    @Benchmark
+    public String toXML() {
+        return xmlBinding.toXML(order);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream toXMLBytes() throws IOException {
+        byteStream.reset();
+        return xmlBinding.toXML(order, byteStream);
+    }
+}
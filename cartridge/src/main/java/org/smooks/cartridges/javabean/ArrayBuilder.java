@@ -0,0 +1,221 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.assertion.AssertArgument;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable typed array, populated as a {@link java.util.List} while an array bean is being bound.
+ * <p/>
+ * Elements are stored straight into an array of the bean's component type (including primitive component
+ * types, so as ints, longs, doubles and booleans are not held boxed), and {@link #build()} returns the final
+ * array with a single {@link System#arraycopy(Object, int, Object, int, int)}.
+ *
+ * @param <E> The element type.
+ * @see BeanInstanceCreator
+ */
+public final class ArrayBuilder<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final Class<?> componentType;
+    private Object elements;
+    private int size;
+
+    /**
+     * Public constructor.
+     *
+     * @param componentType The array component type.
+     */
+    public ArrayBuilder(Class<?> componentType) {
+        this(componentType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param componentType   The array component type.
+     * @param initialCapacity The initial capacity i.e. the expected number of elements.
+     */
+    public ArrayBuilder(Class<?> componentType, int initialCapacity) {
+        AssertArgument.isNotNull(componentType, "componentType");
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        this.componentType = componentType;
+        this.elements = Array.newInstance(componentType, initialCapacity);
+    }
+
+    /**
+     * Get the array component type.
+     *
+     * @return The component type.
+     */
+    public Class<?> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * Build the array.
+     *
+     * @return A new array of the component type, holding the elements of this builder.
+     */
+    public Object build() {
+        Object array = Array.newInstance(componentType, size);
+        System.arraycopy(elements, 0, array, 0, size);
+        return array;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        store(size, element);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        try {
+            store(index, element);
+        } catch (IllegalArgumentException e) {
+            System.arraycopy(elements, index + 1, elements, index, size - index);
+            throw e;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        if (elements instanceof Object[]) {
+            return (E) ((Object[]) elements)[index];
+        }
+        return (E) Array.get(elements, index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E oldElement = get(index);
+        store(index, element);
+        return oldElement;
+    }
+
+    @Override
+    public E remove(int index) {
+        E oldElement = get(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        if (elements instanceof Object[]) {
+            ((Object[]) elements)[size] = null;
+        }
+        modCount++;
+        return oldElement;
+    }
+
+    @Override
+    public void clear() {
+        if (elements instanceof Object[]) {
+            Arrays.fill((Object[]) elements, 0, size, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void store(int index, Object element) {
+        if (elements instanceof Object[]) {
+            try {
+                ((Object[]) elements)[index] = element;
+            } catch (ArrayStoreException e) {
+                throw new IllegalArgumentException("Failed to add type '" + element.getClass().getName() + "' to an array of type '" + componentType.getName() + "'.", e);
+            }
+        } else if (elements instanceof int[] && element instanceof Integer) {
+            ((int[]) elements)[index] = (Integer) element;
+        } else if (elements instanceof long[] && element instanceof Long) {
+            ((long[]) elements)[index] = (Long) element;
+        } else if (elements instanceof double[] && element instanceof Double) {
+            ((double[]) elements)[index] = (Double) element;
+        } else if (elements instanceof boolean[] && element instanceof Boolean) {
+            ((boolean[]) elements)[index] = (Boolean) element;
+        } else {
+            // Other primitive arrays, widening conversions and mismatches (including null) are left to Array.set...
+            Array.set(elements, index, element);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = Array.getLength(elements);
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(Math.max(capacity + (capacity >> 1), DEFAULT_CAPACITY), minCapacity);
+            Object newElements = Array.newInstance(componentType, newCapacity);
+            System.arraycopy(elements, 0, newElements, 0, size);
+            elements = newElements;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
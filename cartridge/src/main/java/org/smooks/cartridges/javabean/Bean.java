@@ -518,6 +518,9 @@ public class Bean extends BindingAppender {
 
         // Recurse down the wired beans...
         for (Bean bean : wirings) {
+            if (bean.beanInstanceCreator.recyclePoolSize > 0) {
+                throw BeanInstanceCreator.createWiredRecyclingException(bean.getBeanId());
+            }
             visitorBindings.addAll(bean.addVisitors());
         }
 
@@ -48,12 +48,14 @@ import org.smooks.api.ApplicationContext;
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.SmooksConfigException;
 import org.smooks.api.SmooksException;
+import org.smooks.api.TypedKey;
 import org.smooks.api.bean.context.BeanContext;
 import org.smooks.api.bean.lifecycle.BeanLifecycle;
 import org.smooks.api.bean.repository.BeanId;
 import org.smooks.api.delivery.fragment.Fragment;
 import org.smooks.api.delivery.ordering.Producer;
 import org.smooks.api.lifecycle.ContentDeliveryConfigLifecycle;
+import org.smooks.api.lifecycle.PostExecutionLifecycle;
 import org.smooks.api.lifecycle.PostFragmentLifecycle;
 import org.smooks.api.resource.config.Parameter;
 import org.smooks.api.resource.config.ResourceConfig;
@@ -62,24 +64,35 @@ import org.smooks.api.resource.visitor.VisitBeforeReport;
 import org.smooks.api.resource.visitor.sax.ng.AfterVisitor;
 import org.smooks.api.resource.visitor.sax.ng.BeforeVisitor;
 import org.smooks.assertion.AssertArgument;
+import org.smooks.cartridges.javabean.accessor.Instantiator;
+import org.smooks.cartridges.javabean.accessor.Instantiators;
 import org.smooks.cartridges.javabean.binding.model.ModelSet;
 import org.smooks.cartridges.javabean.ext.BeanConfigUtil;
+import org.smooks.cartridges.javabean.factory.CacheableFactory;
 import org.smooks.cartridges.javabean.factory.Factory;
 import org.smooks.cartridges.javabean.factory.FactoryDefinitionParser.FactoryDefinitionParserFactory;
+import org.smooks.cartridges.javabean.factory.MVELFactory;
+import org.smooks.cartridges.javabean.metrics.BindingMetrics;
+import org.smooks.cartridges.javabean.metrics.BindingStats;
 import org.smooks.engine.bean.lifecycle.DefaultBeanContextLifecycleEvent;
 import org.smooks.engine.delivery.fragment.NodeFragment;
 import org.smooks.engine.expression.MVELExpressionEvaluator;
+import org.smooks.support.ClassUtils;
 import org.w3c.dom.Element;
 
 import jakarta.annotation.PostConstruct;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -94,12 +107,58 @@ import java.util.stream.Stream;
 @VisitAfterReport(condition = "parameters.containsKey('setOn') || parameters.beanClass.value.endsWith('[]')",
         summary = "Ended bean lifecycle. Set bean on any targets.",
         detailTemplate = "reporting/BeanInstanceCreatorReport_After.html")
-public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Producer, PostFragmentLifecycle, ContentDeliveryConfigLifecycle {
+public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Producer, PostFragmentLifecycle, PostExecutionLifecycle, ContentDeliveryConfigLifecycle {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(BeanInstanceCreator.class);
 
     public static final String INIT_VAL_EXPRESSION = "initValExpression";
 
+    /**
+     * Parameter for caching the factory object of a "<i>SomeFactorySingleton#getFactoryMethod.createObject</i>"
+     * bean factory, so as the factory object is retrieved once instead of on every bean creation.  Only
+     * switch this on when the factory object is a thread-safe singleton.  Defaults to false.
+     */
+    public static final String CACHE_FACTORY_INSTANCE = "org.smooks.cartridges.javabean.factory.cacheInstance";
+
+    /**
+     * Parameter for the expected number of elements of a Collection or array bean.  Collections are created
+     * through their <code>int</code> capacity constructor (if they have one) and arrays are built with that
+     * initial capacity.  Defaults to 0 i.e. the default capacity.
+     */
+    public static final String EXPECTED_SIZE = "org.smooks.cartridges.javabean.collection.expectedSize";
+
+    /**
+     * Parameter for the maximum number of released bean instances pooled per execution for reuse by the next
+     * fragments.  A size greater than zero switches recycling on.  Only allowed with retain=false and a
+     * {@link BeanResetter}, and not allowed for a bean that is wired into another bean through a <code>beanIdRef</code>
+     * wiring.  Only safe if nothing else holds on to the bean once its fragment has ended (e.g. a router).
+     * Defaults to 0.
+     */
+    public static final String RECYCLE_POOL_SIZE = "org.smooks.cartridges.javabean.recycle.poolSize";
+
+    /**
+     * Parameter for the class name of the {@link BeanResetter} applied to released beans before they are pooled.
+     */
+    public static final String RECYCLE_RESETTER = "org.smooks.cartridges.javabean.recycle.resetter";
+
+    /**
+     * Parameter for the comma separated list of the ids of the beans whose bindings are decoded and set in parallel
+     * to the filtering, one batch per bean instance.  Only meant for repeating beans (e.g. order items) that are
+     * independent of each other and that are wired into a parent Collection or bean created on an enclosing
+     * element, through a <code>beanIdRef</code> wiring.  The bean instances are created and wired in document order
+     * on the filtering thread, but their attribute and text bindings are only guaranteed to be set once the fragment
+     * of the parent bean has ended, so nothing else may read them before then.  Beans that aren't wired into a
+     * parent bean, instances created outside the fragment of their parent bean, and recycled beans are bound
+     * sequentially.  The bindings run on the {@link ParallelBindingPool} of the application context.
+     */
+    public static final String PARALLEL_BEANS = "org.smooks.cartridges.javabean.parallel.beans";
+
+    /**
+     * Parameter for the maximum number of parallel bean instances whose bindings are pending per execution.
+     * Defaults to 64.
+     */
+    public static final String PARALLEL_MAX_PENDING = "org.smooks.cartridges.javabean.parallel.maxPending";
+
     protected String id;
 
     @Inject
@@ -117,6 +176,38 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
     @Inject
     protected Boolean retain = true;
 
+    @Inject
+    @Named(BeanInstancePopulator.GENERATE_ACCESSORS)
+    protected Boolean generateAccessors = true;
+
+    @Inject
+    @Named(CACHE_FACTORY_INSTANCE)
+    protected Boolean cacheFactoryInstance = false;
+
+    @Inject
+    @Named(EXPECTED_SIZE)
+    protected Integer expectedSize = 0;
+
+    @Inject
+    @Named(RECYCLE_POOL_SIZE)
+    protected Integer recyclePoolSize = 0;
+
+    @Inject
+    @Named(RECYCLE_RESETTER)
+    protected Optional<String> beanResetterClassName = Optional.empty();
+
+    @Inject
+    @Named(PARALLEL_BEANS)
+    protected Optional<String> parallelBeans = Optional.empty();
+
+    @Inject
+    @Named(PARALLEL_MAX_PENDING)
+    protected Integer parallelMaxPending = 64;
+
+    @Inject
+    @Named(BindingMetrics.ENABLED)
+    protected Boolean metricsEnabled = false;
+
     @Inject
     protected ResourceConfig config;
 
@@ -129,8 +220,28 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
 
     protected MVELExpressionEvaluator initValsExpression;
 
+    protected InitValAssignments initValAssignments;
+
     protected Factory<?> factory;
 
+    protected Instantiator instantiator;
+
+    protected BeanResetter<Object> beanResetter;
+
+    protected boolean recycle;
+
+    protected BindingStats metrics;
+
+    protected boolean parallel;
+
+    protected Set<BeanId> parallelParentBeans;
+
+    protected Executor parallelExecutor;
+
+    protected boolean joinParallelBindings;
+
+    protected final TypedKey<BeanInstancePool> instancePoolKey = TypedKey.of();
+
     /**
      * Public default constructor.
      */
@@ -175,6 +286,69 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
         return config;
     }
 
+    /**
+     * Generate the bean instantiator, or the bean factory's method calls, instead of creating bean instances through
+     * reflection.
+     *
+     * @param generateAccessors True if the instantiator is to be generated, otherwise false.
+     */
+    public void setGenerateAccessors(boolean generateAccessors) {
+        this.generateAccessors = generateAccessors;
+    }
+
+    /**
+     * Cache the factory object of a bean factory that retrieves its factory object through a static method.
+     *
+     * @param cacheFactoryInstance True if the factory object is to be cached, otherwise false.
+     * @see #CACHE_FACTORY_INSTANCE
+     */
+    public void setCacheFactoryInstance(boolean cacheFactoryInstance) {
+        this.cacheFactoryInstance = cacheFactoryInstance;
+    }
+
+    /**
+     * Set the expected number of elements of a Collection or array bean.
+     *
+     * @param expectedSize The expected number of elements.
+     * @see #EXPECTED_SIZE
+     */
+    public void setExpectedSize(int expectedSize) {
+        this.expectedSize = expectedSize;
+    }
+
+    /**
+     * Recycle released bean instances.
+     *
+     * @param recyclePoolSize The maximum number of pooled instances per execution.
+     * @param beanResetter    The resetter applied to released instances before they are pooled.
+     * @see #RECYCLE_POOL_SIZE
+     */
+    @SuppressWarnings("unchecked")
+    public void setRecycling(int recyclePoolSize, BeanResetter<?> beanResetter) {
+        this.recyclePoolSize = recyclePoolSize;
+        this.beanResetter = (BeanResetter<Object>) beanResetter;
+    }
+
+    /**
+     * Set the beans whose bindings are decoded and set in parallel to the filtering.
+     *
+     * @param parallelBeans The comma separated list of bean id names.
+     * @see #PARALLEL_BEANS
+     */
+    public void setParallelBeans(String parallelBeans) {
+        this.parallelBeans = Optional.ofNullable(parallelBeans);
+    }
+
+    /**
+     * Record the {@link BindingMetrics} of the bean.
+     *
+     * @param metricsEnabled True if the metrics are to be recorded, otherwise false.
+     * @see BindingMetrics#ENABLED
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
     /**
      * Set the resource configuration on the bean populator.
      *
@@ -209,32 +383,64 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
                 definition = definition.substring(aliasSplitterIndex + 1);
             }
 
-            factory = FactoryDefinitionParserFactory.getInstance(alias, applicationContext).parse(definition);
+            factory = FactoryDefinitionParserFactory.getInstance(alias, applicationContext).parse(definition, generateAccessors);
         }
 
         beanRuntimeInfo = BeanRuntimeInfo.getBeanRuntimeInfo(beanIdName, beanClassName.orElse(null), applicationContext);
 
         if (factory == null) {
-            checkForDefaultConstructor();
+            createInstantiator();
         } else if (beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.ARRAY_COLLECTION) {
             throw new SmooksConfigException("Using a factory with an array is not supported");
+        } else if (cacheFactoryInstance && factory instanceof CacheableFactory) {
+            factory = ((CacheableFactory<?>) factory).withCachedFactoryInstance();
+        }
+
+        if (recyclePoolSize > 0) {
+            configureRecycling();
         }
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("BeanInstanceCreator created for [" + beanIdName + "]. BeanRuntimeInfo: " + beanRuntimeInfo);
         }
 
+        if (metricsEnabled) {
+            metrics = BindingMetrics.getInstance(applicationContext).getStats(beanIdName, null);
+        }
+
         List<Parameter<?>> initValExpressions = config.getParameters(INIT_VAL_EXPRESSION);
         if (initValExpressions != null && !initValExpressions.isEmpty()) {
             StringBuilder initValsExpressionString = new StringBuilder();
+            List<String> initValExpressionStrings = new ArrayList<>();
 
             for (Parameter<?> initValExpression : initValExpressions) {
                 initValsExpressionString.append(initValExpression.getValue());
                 initValsExpressionString.append("\n");
+                initValExpressionStrings.add(String.valueOf(initValExpression.getValue()));
             }
 
             initValsExpression = new MVELExpressionEvaluator();
             initValsExpression.setExpression(initValsExpressionString.toString());
+
+            initValAssignments = InitValAssignments.compile(initValExpressionStrings, beanRuntimeInfo.getPopulateType(), generateAccessors);
+            if (initValAssignments == null) {
+                recordInterpretedExpression(initValsExpression.getExpression());
+            }
+        }
+
+        if (factory instanceof MVELFactory && !((MVELFactory<?>) factory).isCompiled()) {
+            recordInterpretedExpression(((MVELFactory<?>) factory).getExpression());
+        }
+    }
+
+    /**
+     * Record a bean expression that is interpreted through MVEL for every bean instance, i.e. a bean on the slow path.
+     *
+     * @param expression The expression.
+     */
+    protected void recordInterpretedExpression(String expression) {
+        if (InterpretedExpressionRegistry.getInstance(applicationContext).record(beanIdName, expression) && metrics != null) {
+            metrics.expressionInterpreted();
         }
     }
 
@@ -274,6 +480,15 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
         boolean isBeanTypeArray = (thisBeanType == BeanRuntimeInfo.Classification.ARRAY_COLLECTION);
 
         BeanContext beanContext = executionContext.getBeanContext();
+        if (parallel) {
+            ParallelBindings.get(executionContext, parallelMaxPending).submit(beanContext.getBean(beanId), parallelExecutor);
+        }
+        if (joinParallelBindings) {
+            // The beans wired into this bean have to be complete by the end of its fragment...
+            ParallelBindings parallelBindings = ParallelBindings.get(executionContext, parallelMaxPending);
+            parallelBindings.exitParentFragment(beanId);
+            parallelBindings.join();
+        }
         beanContext.setBeanInContext(beanId, false);
 
         if (isBeanTypeArray) {
@@ -301,14 +516,33 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
 
         executionContext.getBeanContext().notifyObservers(new DefaultBeanContextLifecycleEvent(executionContext, source, BeanLifecycle.START_FRAGMENT, beanId, bean));
 
+        if (joinParallelBindings) {
+            ParallelBindings.get(executionContext, parallelMaxPending).enterParentFragment(beanId);
+        }
+        if (parallel) {
+            ParallelBindings.get(executionContext, parallelMaxPending).open(bean, parallelParentBeans);
+        }
+
         if (initValsExpression != null) {
-            initValsExpression.exec(bean);
+            long start = metrics != null ? System.nanoTime() : 0L;
+            if (initValAssignments != null && initValAssignments.accepts(bean)) {
+                initValAssignments.accept(bean);
+            } else {
+                initValsExpression.exec(bean);
+            }
+            if (metrics != null) {
+                metrics.expressionEvaluated(System.nanoTime() - start);
+            }
         }
 
         beanContext.setBeanInContext(beanId, false);
         beanContext.addBean(beanId, bean, source);
         beanContext.setBeanInContext(beanId, true);
 
+        if (metrics != null) {
+            metrics.beanCreated();
+        }
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Bean [" + beanIdName + "] instance created.");
         }
@@ -323,10 +557,27 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
         Object bean;
 
         if (factory == null) {
+            if (recycle) {
+                bean = BeanInstancePool.get(executionContext, instancePoolKey, recyclePoolSize).acquire();
+                if (bean != null) {
+                    return bean;
+                }
+            }
+            if (beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.ARRAY_COLLECTION) {
+                return expectedSize > 0 ? new ArrayBuilder<>(beanRuntimeInfo.getArrayType(), expectedSize) : new ArrayBuilder<>(beanRuntimeInfo.getArrayType());
+            }
             try {
-                bean = beanRuntimeInfo.getPopulateType().newInstance();
+                bean = instantiator.newInstance();
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new SmooksConfigException("Unable to create bean instance [" + beanIdName + ":" + beanRuntimeInfo.getPopulateType().getName() + "].", e);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new SmooksException("The constructor of bean [" + beanIdName + ":" + beanRuntimeInfo.getPopulateType().getName() + "] threw an exception.", cause);
             }
         } else {
             try {
@@ -362,12 +613,45 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
 
     /**
      * Checks if the class has a default constructor
+     *
+     * @deprecated The check is part of {@link #createInstantiator()}.
      */
+    @Deprecated
     protected void checkForDefaultConstructor() {
+        createInstantiator();
+    }
+
+    /**
+     * Creates the instantiator for the default constructor once, so as bean creation doesn't go through
+     * reflection for every fragment.
+     *
+     * @throws SmooksConfigException The bean class doesn't have a public default constructor.
+     */
+    protected void createInstantiator() {
+        Class<?> populateType = beanRuntimeInfo.getPopulateType();
+
         try {
-            beanRuntimeInfo.getPopulateType().getConstructor();
+            instantiator = Instantiators.forConstructor(populateType, generateAccessors);
         } catch (NoSuchMethodException e) {
-            throw new SmooksConfigException("Invalid Smooks bean configuration.  Bean class " + beanRuntimeInfo.getPopulateType().getName() + " doesn't have a public default constructor.");
+            throw new SmooksConfigException("Invalid Smooks bean configuration.  Bean class " + populateType.getName() + " doesn't have a public default constructor.", e);
+        }
+
+        if (expectedSize > 0 && beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.COLLECTION_COLLECTION) {
+            // Hash based collections are resized once they're 75% full, so size them accordingly...
+            int capacity = HashSet.class.isAssignableFrom(populateType) ? (int) (expectedSize / 0.75f) + 1 : expectedSize;
+            try {
+                instantiator = Instantiators.forConstructor(populateType, capacity, generateAccessors);
+            } catch (NoSuchMethodException e) {
+                LOGGER.debug("Collection type [{}] of bean [{}] doesn't have a public int capacity constructor.  Ignoring the expected size.", populateType.getName(), beanIdName);
+            }
+        }
+    }
+
+    @Override
+    public void onPostExecution(ExecutionContext executionContext) {
+        if (parallel) {
+            // Bindings still pending (e.g. if a parent fragment never ended) must not outlive the execution...
+            ParallelBindings.join(executionContext);
         }
     }
 
@@ -380,7 +664,61 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
 
         if (!retain) {
             beanContext.removeBean(beanId, null);
+            if (recycle) {
+                recycleBeanInstance(bean, executionContext);
+            }
+        }
+    }
+
+    /**
+     * Reset a released bean and pool it for the next fragments, as long as the pool isn't full.
+     *
+     * @param bean             The released bean.
+     * @param executionContext The execution context.
+     */
+    protected void recycleBeanInstance(Object bean, ExecutionContext executionContext) {
+        if (bean == null || bean.getClass() != beanRuntimeInfo.getPopulateType()) {
+            return;
+        }
+
+        BeanInstancePool pool = BeanInstancePool.get(executionContext, instancePoolKey, recyclePoolSize);
+        if (pool.isFull()) {
+            return;
+        }
+
+        try {
+            beanResetter.reset(bean);
+        } catch (RuntimeException e) {
+            throw new SmooksException("Failed to reset bean instance [" + beanIdName + ":" + bean.getClass().getName() + "] for recycling.", e);
         }
+        pool.release(bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void configureRecycling() {
+        if (retain) {
+            throw new SmooksConfigException("Invalid Smooks bean configuration.  Bean [" + beanIdName + "] can only be recycled when it isn't retained (retain=false).");
+        }
+        if (factory != null || beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.ARRAY_COLLECTION) {
+            throw new SmooksConfigException("Invalid Smooks bean configuration.  Bean [" + beanIdName + "] can't be recycled because it is created by a factory or is an array.");
+        }
+
+        if (beanResetter == null) {
+            if (!beanResetterClassName.isPresent()) {
+                throw new SmooksConfigException("Invalid Smooks bean configuration.  Recycling bean [" + beanIdName + "] requires a " + BeanResetter.class.getName() + " ('" + RECYCLE_RESETTER + "' parameter).");
+            }
+            try {
+                beanResetter = (BeanResetter<Object>) ClassUtils.forName(beanResetterClassName.get(), getClass()).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new SmooksConfigException("Unable to create the " + BeanResetter.class.getSimpleName() + " '" + beanResetterClassName.get() + "' for bean [" + beanIdName + "].", e);
+            }
+        }
+
+        recycle = true;
+    }
+
+    static SmooksConfigException createWiredRecyclingException(String beanIdName) {
+        return new SmooksConfigException("Invalid Smooks bean configuration.  Bean [" + beanIdName + "] can't be recycled because it is wired into another bean.");
     }
 
     @Override
@@ -395,6 +733,24 @@ public class BeanInstanceCreator implements BeforeVisitor, AfterVisitor, Produce
 
     @Override
     public void onContentDeliveryConfigCreated() {
-
+        if (recycle && WiringPlan.getInstance(applicationContext).isWired(beanId)) {
+            throw createWiredRecyclingException(beanIdName);
+        }
+        if (parallelBeans.isPresent()) {
+            WiringPlan wiringPlan = WiringPlan.getInstance(applicationContext);
+
+            if (ParallelBindings.isListed(parallelBeans.get(), beanIdName)) {
+                parallel = !recycle && beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.NON_COLLECTION && wiringPlan.isWired(beanId);
+                parallelParentBeans = wiringPlan.getParentBeans(beanId);
+                if (!parallel) {
+                    LOGGER.debug("Bean [{}] is recycled, not a plain bean or not wired into a parent bean.  Binding it sequentially.", beanIdName);
+                } else {
+                    parallelExecutor = ParallelBindingPool.getInstance(applicationContext).getExecutor();
+                }
+            }
+            for (BeanId wiredBeanId : wiringPlan.getWiredBeans(beanId)) {
+                joinParallelBindings |= ParallelBindings.isListed(parallelBeans.get(), wiredBeanId.getName());
+            }
+        }
     }
 }
@@ -0,0 +1,111 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.TypedKey;
+
+/**
+ * Bounded pool of released bean instances for a {@link BeanInstanceCreator} in recycle mode.
+ * <p/>
+ * Stored on the {@link ExecutionContext} under a key owned by the creator, so a pool is only ever used by one
+ * thread and is dropped together with the execution context.
+ *
+ * @see BeanResetter
+ */
+final class BeanInstancePool {
+
+    private final Object[] instances;
+    private int size;
+
+    private BeanInstancePool(int maxSize) {
+        instances = new Object[maxSize];
+    }
+
+    static BeanInstancePool get(ExecutionContext executionContext, TypedKey<BeanInstancePool> key, int maxSize) {
+        BeanInstancePool pool = executionContext.get(key);
+        if (pool == null) {
+            pool = new BeanInstancePool(maxSize);
+            executionContext.put(key, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Take an instance from the pool.
+     *
+     * @return A released instance, or null if the pool is empty.
+     */
+    Object acquire() {
+        if (size == 0) {
+            return null;
+        }
+
+        Object bean = instances[--size];
+        instances[size] = null;
+        return bean;
+    }
+
+    /**
+     * Put an instance back into the pool.
+     *
+     * @param bean The (already reset) instance.
+     * @return True if the instance was pooled, false if the pool is full.
+     */
+    boolean release(Object bean) {
+        if (size == instances.length) {
+            return false;
+        }
+
+        instances[size++] = bean;
+        return true;
+    }
+
+    boolean isFull() {
+        return size == instances.length;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -42,12 +42,15 @@
  */
 package org.smooks.cartridges.javabean;
 
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smooks.api.ApplicationContext;
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.SmooksConfigException;
 import org.smooks.api.SmooksException;
+import org.smooks.api.TypedKey;
 import org.smooks.api.bean.context.BeanContext;
 import org.smooks.api.bean.context.BeanIdStore;
 import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
@@ -67,7 +70,15 @@ import org.smooks.api.resource.visitor.VisitBeforeReport;
 import org.smooks.api.resource.visitor.sax.ng.AfterVisitor;
 import org.smooks.api.resource.visitor.sax.ng.BeforeVisitor;
 import org.smooks.api.resource.visitor.sax.ng.ChildrenVisitor;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.cartridges.javabean.accessor.PropertySetters;
+import org.smooks.cartridges.javabean.converter.EnumConstantTypeConverter;
 import org.smooks.cartridges.javabean.converter.PreprocessTypeConverterFactory;
+import org.smooks.cartridges.javabean.converter.PrimitiveTypeDecoder;
+import org.smooks.cartridges.javabean.converter.TypeConverters;
+import org.smooks.cartridges.javabean.metrics.BindingMetrics;
+import org.smooks.cartridges.javabean.metrics.BindingStats;
+import org.smooks.cartridges.javabean.observers.BeanContextObserverIndex;
 import org.smooks.cartridges.javabean.observers.BeanWiringObserver;
 import org.smooks.cartridges.javabean.observers.ListToArrayChangeObserver;
 import org.smooks.engine.bean.lifecycle.DefaultBeanContextLifecycleEvent;
@@ -77,8 +88,6 @@ import org.smooks.engine.expression.MVELExpressionEvaluator;
 import org.smooks.engine.lookup.NamespaceManagerLookup;
 import org.smooks.engine.lookup.converter.NameTypeConverterFactoryLookup;
 import org.smooks.engine.lookup.converter.SourceTargetTypeConverterFactoryLookup;
-import org.smooks.engine.memento.TextAccumulatorMemento;
-import org.smooks.engine.memento.TextAccumulatorVisitorMemento;
 import org.smooks.support.ClassUtils;
 import org.smooks.support.DomUtils;
 import org.w3c.dom.CharacterData;
@@ -89,9 +98,12 @@ import jakarta.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -115,11 +127,31 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
     protected static final String EXPRESSION_VALUE_VARIABLE_NAME = "_VALUE";
 
+    private static final Optional<WiringPlan> NOT_PLANNED = Optional.empty();
+
     public static final String VALUE_ATTRIBUTE_NAME = "valueAttributeName";
     public static final String VALUE_ATTRIBUTE_PREFIX = "valueAttributePrefix";
 
     public static final String NOTIFY_POPULATE = "org.smooks.cartridges.javabean.notify.populate";
 
+    /**
+     * Generate the bean property setters, bean instantiators and <code>beanFactory</code> method calls instead of
+     * invoking them through reflection.  Defaults to true.
+     */
+    public static final String GENERATE_ACCESSORS = "org.smooks.cartridges.javabean.accessors.generate";
+
+    /**
+     * Evaluate simple "+=" / "-=" expression bindings on numeric properties natively instead of through MVEL.
+     * Defaults to true.
+     */
+    public static final String NATIVE_ACCUMULATORS = "org.smooks.cartridges.javabean.expression.nativeAccumulators";
+
+    /**
+     * Wire <code>beanIdRef</code> beans through the {@link WiringPlan} instead of registering a wiring observer for
+     * every parent bean instance.  Wirings not covered by the plan still use observers.  Defaults to false.
+     */
+    public static final String COMPILED_WIRING = "org.smooks.cartridges.javabean.wiring.compiled";
+
     protected String id;
 
     @Inject
@@ -140,6 +172,11 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
     protected Optional<String> expression;
     protected MVELExpressionEvaluator expressionEvaluator;
     protected boolean expressionHasDataVariable = false;
+    protected Class<?> expressionResultType;
+    protected String[] expressionBeanNames;
+    protected BeanId[] expressionBeanIds;
+    protected final TypedKey<ExpressionVariableFrame> expressionFrameKey = TypedKey.of();
+    protected PropertyAccumulator propertyAccumulator;
 
     @Inject
     protected Optional<String> property;
@@ -166,6 +203,26 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
     @Named(NOTIFY_POPULATE)
     protected Boolean notifyPopulate = false;
 
+    @Inject
+    @Named(GENERATE_ACCESSORS)
+    protected Boolean generateAccessors = true;
+
+    @Inject
+    @Named(NATIVE_ACCUMULATORS)
+    protected Boolean nativeAccumulators = true;
+
+    @Inject
+    @Named(COMPILED_WIRING)
+    protected Boolean compiledWiring = false;
+
+    @Inject
+    @Named(BeanInstanceCreator.PARALLEL_BEANS)
+    protected Optional<String> parallelBeans = Optional.empty();
+
+    @Inject
+    @Named(BindingMetrics.ENABLED)
+    protected Boolean metricsEnabled = false;
+
     @Inject
     protected ResourceConfig config;
 
@@ -180,17 +237,31 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
     protected BeanRuntimeInfo beanRuntimeInfo;
 
-    protected BeanRuntimeInfo wiredBeanRuntimeInfo;
-    protected Method propertySetterMethod;
-    protected boolean checkedForSetterMethod;
+    protected volatile BeanRuntimeInfo wiredBeanRuntimeInfo;
+
+    protected BeanRuntimeInfoRegistry beanRuntimeInfoRegistry;
+    protected String propertySetterName;
+    protected final ClassValue<ConcurrentMap<Class<?>, ResolvedSetter>> resolvedSetters = new ClassValue<ConcurrentMap<Class<?>, ResolvedSetter>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, ResolvedSetter> computeValue(Class<?> beanClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    protected boolean isPrimitiveBinding;
     protected boolean isAttribute = true;
     protected TypeConverterFactory<?, ?> typeConverterFactory;
+    protected volatile ResolvedTypeConverter resolvedTypeConverter;
 
     protected String mapKeyAttribute;
 
     protected boolean isBeanWiring;
+    protected BindingStrategy bindingStrategy;
+    protected final TypedKey<FragmentTextBuffer> textBufferKey = TypedKey.of();
+    protected String propertyName;
     protected BeanWiringObserver wireByBeanIdObserver;
     protected ListToArrayChangeObserver listToArrayChangeObserver;
+    protected volatile Optional<WiringPlan> wiringPlan;
+    protected BindingStats metrics;
 
     public ResourceConfig getConfig() {
         return config;
@@ -214,6 +285,7 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
     public void setExpression(MVELExpressionEvaluator expression) {
         this.expressionEvaluator = expression;
+        this.expressionBeanIds = null;
     }
 
     public void setProperty(String property) {
@@ -248,6 +320,26 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
         return typeConverterFactory;
     }
 
+    public void setGenerateAccessors(boolean generateAccessors) {
+        this.generateAccessors = generateAccessors;
+    }
+
+    public void setNativeAccumulators(boolean nativeAccumulators) {
+        this.nativeAccumulators = nativeAccumulators;
+    }
+
+    public void setCompiledWiring(boolean compiledWiring) {
+        this.compiledWiring = compiledWiring;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public void setParallelBeans(String parallelBeans) {
+        this.parallelBeans = Optional.ofNullable(parallelBeans);
+    }
+
     public void setDefaultVal(String defaultVal) {
         this.defaultVal = Optional.ofNullable(defaultVal);
     }
@@ -265,7 +357,8 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
     public void postConstruct() throws SmooksConfigException {
         buildId();
 
-        beanRuntimeInfo = BeanRuntimeInfo.getBeanRuntimeInfo(beanIdName, applicationContext);
+        beanRuntimeInfoRegistry = BeanRuntimeInfoRegistry.getInstance(applicationContext);
+        beanRuntimeInfo = beanRuntimeInfoRegistry.get(beanIdName);
         isBeanWiring = wireBeanIdName.isPresent() || wireBeanType.isPresent() || wireBeanAnnotation.isPresent();
         isAttribute = valueAttributeName.isPresent();
 
@@ -300,6 +393,10 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
             expressionHasDataVariable = expression.get().contains(EXPRESSION_VALUE_VARIABLE_NAME);
 
+            if (nativeAccumulators && !typeAlias.isPresent() && property.isPresent() && !setterMethod.isPresent() && beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.NON_COLLECTION) {
+                propertyAccumulator = PropertyAccumulator.create(expression.get(), beanRuntimeInfo.getPopulateType(), property.get(), generateAccessors);
+            }
+
             expression = Optional.of(expression.get().replace("this.", beanIdName + "."));
             if (expression.get().startsWith("+=")) {
                 expression = Optional.of(beanIdName + "." + property.orElse(null) + " +" + expression.get().substring(2));
@@ -321,6 +418,9 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
                 }
                 expressionEvaluator.setToType(bindingType);
             }
+            expressionResultType = bindingType;
+
+            compileExpressionVariables();
         }
 
         if (wireBeanIdName.isPresent()) {
@@ -330,20 +430,77 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
             }
         }
 
+        if (metricsEnabled) {
+            metrics = BindingMetrics.getInstance(applicationContext).getStats(beanIdName, getBindingName());
+        }
+
         if (isBeanWiring) {
             // These observers can be used concurrently across multiple execution contexts...
-            wireByBeanIdObserver = new BeanWiringObserver(beanId, this).watchedBeanId(wireBeanId).watchedBeanType(wireBeanType.orElse(null)).watchedBeanAnnotation(wireBeanAnnotation.orElse(null));
+            wireByBeanIdObserver = new BeanWiringObserver(beanId, this).watchedBeanId(wireBeanId).watchedBeanType(wireBeanType.orElse(null)).watchedBeanAnnotation(wireBeanAnnotation.orElse(null)).metrics(metrics);
             if (wireBeanId != null) {
                 // List to array change observer only makes sense if wiring by beanId.
                 listToArrayChangeObserver = new ListToArrayChangeObserver(wireBeanId, property.orElse(null), this);
             }
         }
 
+        propertyName = property.orElse(null);
+        resolveSetterEagerly();
+        bindingStrategy = createBindingStrategy();
+        if (bindingStrategy instanceof TextBindingStrategy || bindingStrategy instanceof AttributeBindingStrategy) {
+            Class<?> bindType = resolveBindTypeReflectively();
+            isPrimitiveBinding = bindType != null && bindType.isPrimitive();
+        }
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Bean Instance Populator created for [" + beanIdName + "].  property=" + property.orElse(null));
         }
     }
 
+    /**
+     * Resolve the binding strategy for this populator's configuration.
+     *
+     * @return The binding strategy.
+     */
+    protected BindingStrategy createBindingStrategy() {
+        if (isBeanWiring) {
+            return new WiringBindingStrategy();
+        } else if (expressionEvaluator != null) {
+            return new ExpressionBindingStrategy();
+        } else if (isParallelBinding()) {
+            return new ParallelBindingStrategy();
+        } else if (isAttribute) {
+            return mapKeyAttribute != null ? new AttributeToMapBindingStrategy() : new AttributeBindingStrategy();
+        } else {
+            return mapKeyAttribute != null ? new TextToMapBindingStrategy() : new TextBindingStrategy();
+        }
+    }
+
+    /**
+     * Get the name of the binding the {@link BindingMetrics} are recorded under.
+     *
+     * @return The property name, setter method or wired bean id, or null if the value is bound onto the bean itself.
+     */
+    protected String getBindingName() {
+        if (property.isPresent()) {
+            return property.get();
+        } else if (setterMethod.isPresent()) {
+            return setterMethod.get() + "()";
+        } else {
+            return wireBeanIdName.orElse(null);
+        }
+    }
+
+    /**
+     * Can the binding be decoded and set in parallel to the filtering.
+     *
+     * @return True if the target bean is a {@link BeanInstanceCreator#PARALLEL_BEANS parallel bean} and the binding
+     * sets a plain bean property without notifying observers, otherwise false.
+     */
+    protected boolean isParallelBinding() {
+        return parallelBeans.isPresent() && ParallelBindings.isListed(parallelBeans.get(), beanIdName) && !notifyPopulate
+                && mapKeyAttribute == null && beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.NON_COLLECTION;
+    }
+
     protected void buildId() {
         StringBuilder idBuilder = new StringBuilder();
         idBuilder.append(BeanInstancePopulator.class.getName());
@@ -363,63 +520,51 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
     @Override
     public void visitBefore(Element element, ExecutionContext executionContext) throws SmooksException {
-        if (!beanExists(executionContext)) {
-            LOGGER.debug("Cannot bind data onto bean '" + beanId + "' as bean does not exist in BeanContext.");
-            return;
-        }
-
-        if (isBeanWiring) {
-            bindBeanValue(executionContext, new NodeFragment(element));
-        } else if (isAttribute) {
-            // Bind attribute (i.e. selectors with '@' prefix) values on the visitBefore...
-            bindSaxDataValue(element, executionContext);
-        }
+        bindingStrategy.visitBefore(element, executionContext);
     }
 
     @Override
     public void visitAfter(Element element, ExecutionContext executionContext) throws SmooksException {
-        if (!beanExists(executionContext)) {
-            LOGGER.debug("Cannot bind data onto bean '" + beanId + "' as bean does not exist in BeanContext.");
-            return;
-        }
-
-        if (!isBeanWiring && !isAttribute) {
-            bindSaxDataValue(element, executionContext);
-        }
+        bindingStrategy.visitAfter(element, executionContext);
     }
 
     protected boolean beanExists(ExecutionContext executionContext) {
-        return (executionContext.getBeanContext().getBean(beanId) != null);
-    }
+        if (executionContext.getBeanContext().getBean(beanId) != null) {
+            return true;
+        }
 
-    protected void bindSaxDataValue(Element element, ExecutionContext executionContext) {
-        String propertyName;
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Cannot bind data onto bean '" + beanId + "' as bean does not exist in BeanContext.");
+        }
+        return false;
+    }
 
+    protected String getPropertyName(Element element) {
         if (mapKeyAttribute != null) {
-            propertyName = getAttributeValue(element, mapKeyAttribute, null);
-            if (propertyName == null) {
-                propertyName = element.getLocalName();
-            }
+            return getMapKey(element);
         } else {
-            propertyName = property.orElseGet(element::getLocalName);
+            return propertyName != null ? propertyName : element.getLocalName();
         }
+    }
 
-        String dataString = null;
-        if (expressionEvaluator == null || expressionHasDataVariable) {
-            if (isAttribute) {
-                dataString = getAttributeValue(element, valueAttributeName.orElse(null), valueAttributeNS);
-            } else {
-                TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorVisitorMemento(new NodeFragment(element), this);
-                executionContext.getMementoCaretaker().restore(textAccumulatorMemento);
-                dataString = textAccumulatorMemento.getText();
-            }
+    protected String getMapKey(Element element) {
+        String mapKey = getAttributeValue(element, mapKeyAttribute, null);
+        if (mapKey == null) {
+            mapKey = element.getLocalName();
         }
+        return mapKey;
+    }
 
-        if (expressionEvaluator != null) {
-            bindExpressionValue(propertyName, dataString, executionContext, new NodeFragment(element));
-        } else {
-            decodeAndSetPropertyValue(propertyName, dataString, executionContext, new NodeFragment(element));
-        }
+    protected String getAttributeValue(Element element) {
+        return getAttributeValue(element, valueAttributeName.orElse(null), valueAttributeNS);
+    }
+
+    protected void openTextValue(ExecutionContext executionContext) {
+        FragmentTextBuffer.get(executionContext, textBufferKey).open();
+    }
+
+    protected String getTextValue(ExecutionContext executionContext) {
+        return FragmentTextBuffer.get(executionContext, textBufferKey).close();
     }
 
     protected String getAttributeValue(Element element, String attributeName, String namespaceURI) {
@@ -435,27 +580,64 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
         }
 
         if (bean != null) {
-            if (!BeanWiringObserver.isMatchingBean(bean, wireBeanType.orElse(null), wireBeanAnnotation.orElse(null))) {
+            if (!wireByBeanIdObserver.isMatchingBean(bean)) {
                 bean = null;
             }
         }
 
         if (bean == null) {
 
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Registering bean ADD wiring observer for wiring bean '" + wireBeanId + "' onto target bean '" + beanId.getName() + "'.");
-            }
+            WiringPlan compiledWiringPlan = getCompiledWiringPlan();
+            if (compiledWiringPlan != null) {
+                // Arm the planned wiring, to be triggered by the creation of the selected bean...
+                CompiledWirings.get(executionContext, compiledWiringPlan).arm(this);
+            } else {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Registering bean ADD wiring observer for wiring bean '" + wireBeanId + "' onto target bean '" + beanId.getName() + "'.");
+                }
 
-            // Register the observer which looks for the creation of the selected bean via its beanIdName...
-            beanContext.addObserver(wireByBeanIdObserver);
+                // Register the observer which looks for the creation of the selected bean via its beanIdName...
+                BeanContextObserverIndex.get(executionContext).addSubscriber(wireByBeanIdObserver);
+            }
         } else {
             populateAndSetPropertyValue(bean, beanContext, wireBeanId, executionContext, source);
         }
     }
 
+    /**
+     * Get the wiring plan covering this populator's wiring, if compiled wiring is enabled.
+     *
+     * @return The wiring plan, or null if the wiring needs an observer.
+     */
+    protected WiringPlan getCompiledWiringPlan() {
+        if (!compiledWiring || wireBeanId == null || wireBeanType.isPresent() || wireBeanAnnotation.isPresent()) {
+            return null;
+        }
+
+        // Resolved once and cached in the volatile field (empty if the wiring is not planned).  The injected
+        // compiledWiring config is shared by all executions, so it is never changed here...
+        Optional<WiringPlan> plan = wiringPlan;
+        if (plan == null) {
+            WiringPlan planCandidate = WiringPlan.getInstance(applicationContext);
+            if (planCandidate.isPlanned(beanId, wireBeanId)) {
+                plan = Optional.of(planCandidate);
+            } else {
+                LOGGER.debug("Bean [{}] wiring of bean [{}] is not covered by the wiring plan.  Using a wiring observer.", beanIdName, wireBeanId.getName());
+                plan = NOT_PLANNED;
+            }
+            wiringPlan = plan;
+        }
+
+        return plan.orElse(null);
+    }
+
     public void populateAndSetPropertyValue(Object bean, BeanContext beanContext, BeanId targetBeanId, final ExecutionContext executionContext, Fragment source) {
         BeanRuntimeInfo wiredBeanRI = getWiredBeanRuntimeInfo();
 
+        if (metrics != null) {
+            metrics.beanWired();
+        }
+
         // When this observer is triggered then we look if we got something we can set immediately or that we got an array collection.
         // For an array collection, we need the array representation and not the list representation, so we register and observer that
         // listens for the change from the list to the array...
@@ -466,24 +648,158 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
             }
             // Register an observer which looks for the change that the mutable list of the selected bean gets converted to an array. We
             // can then set this array
-            beanContext.addObserver(listToArrayChangeObserver);
+            if (beanContext == executionContext.getBeanContext()) {
+                BeanContextObserverIndex.get(executionContext).addSubscriber(listToArrayChangeObserver);
+            } else {
+                beanContext.addObserver(listToArrayChangeObserver);
+            }
         } else {
-            setPropertyValue(property.orElse(null), bean, executionContext, source);
+            setPropertyValue(propertyName, bean, executionContext, source);
+        }
+    }
+
+    /**
+     * Resolve the variables referenced by the binding expression to bean ids, so the expression can be evaluated
+     * against an {@link ExpressionVariableFrame} instead of a per-element variable map.
+     * <p/>
+     * Expressions using the VARS variable keep being evaluated through the {@link MVELExpressionEvaluator}.
+     */
+    protected void compileExpressionVariables() {
+        if (expression.get().contains("VARS")) {
+            return;
+        }
+
+        ParserContext parserContext = ParserContext.create();
+        MVEL.analysisCompile(expression.get(), parserContext);
+
+        List<String> beanNames = new ArrayList<>();
+        for (String input : parserContext.getInputs().keySet()) {
+            if (!input.equals(EXPRESSION_VALUE_VARIABLE_NAME)) {
+                beanNames.add(input);
+            }
+        }
+
+        expressionBeanNames = beanNames.toArray(new String[0]);
+        expressionBeanIds = new BeanId[expressionBeanNames.length];
+        for (int i = 0; i < expressionBeanNames.length; i++) {
+            expressionBeanIds[i] = beanIdStore.register(expressionBeanNames[i]);
         }
     }
 
     protected void bindExpressionValue(String mapPropertyName, String dataString, ExecutionContext executionContext, Fragment source) {
-        Map<String, Object> beanMap = executionContext.getBeanContext().getBeanMap();
+        if (propertyAccumulator != null && accumulatePropertyValue(dataString, executionContext, source)) {
+            return;
+        }
 
-        Map<String, Object> variables = new HashMap<>();
-        if (expressionHasDataVariable) {
-            variables.put(EXPRESSION_VALUE_VARIABLE_NAME, dataString);
+        long start = metrics != null ? System.nanoTime() : 0L;
+        Object dataObject;
+        if (expressionBeanIds != null) {
+            ExpressionVariableFrame frame = ExpressionVariableFrame.get(executionContext, expressionFrameKey, expressionBeanNames, expressionBeanIds, expressionHasDataVariable);
+            dataObject = frame.evaluate(expression.get(), expressionEvaluator.getCompiled(), expressionResultType, executionContext.getBeanContext(), dataString);
+        } else {
+            Map<String, Object> beanMap = executionContext.getBeanContext().getBeanMap();
+
+            Map<String, Object> variables = new HashMap<>();
+            if (expressionHasDataVariable) {
+                variables.put(EXPRESSION_VALUE_VARIABLE_NAME, dataString);
+            }
+
+            dataObject = expressionEvaluator.exec(beanMap, variables);
+        }
+        if (metrics != null) {
+            metrics.expressionEvaluated(System.nanoTime() - start);
         }
 
-        Object dataObject = expressionEvaluator.exec(beanMap, variables);
         decodeAndSetPropertyValue(mapPropertyName, dataObject, executionContext, source);
     }
 
+    /**
+     * Apply a "+=" / "-=" binding through the {@link PropertyAccumulator}.
+     *
+     * @param dataString       The value to be added or subtracted.
+     * @param executionContext The execution context.
+     * @param source           The fragment the value was read from.
+     * @return True if the property was updated, false if the binding is to be evaluated through its expression.
+     */
+    protected boolean accumulatePropertyValue(String dataString, ExecutionContext executionContext, Fragment source) {
+        Object bean = executionContext.getBeanContext().getBean(beanId);
+        if (bean == null) {
+            return false;
+        }
+
+        long start = metrics != null ? System.nanoTime() : 0L;
+        try {
+            if (!propertyAccumulator.accumulate(bean, dataString)) {
+                return false;
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new SmooksConfigException("Error invoking bean setter method [" + ClassUtils.toSetterName(property.orElse(null)) + "] on bean instance class type [" + bean.getClass() + "].", e);
+        }
+        if (metrics != null) {
+            metrics.expressionEvaluated(System.nanoTime() - start);
+            metrics.valueBound();
+        }
+
+        if (notifyPopulate) {
+            BeanContextLifecycleEvent event = new DefaultBeanContextLifecycleEvent(executionContext, source, BeanLifecycle.POPULATE, beanId, bean);
+            executionContext.getBeanContext().notifyObservers(event);
+        }
+
+        return true;
+    }
+
+    /**
+     * Decode the value straight into the primitive type of the bean setter, without boxing it.
+     * <p/>
+     * Only applies when the setter takes an int, long, double or boolean and the value would otherwise be decoded by
+     * the default type converter for that type.
+     *
+     * @param dataString       The value to be decoded.
+     * @param executionContext The execution context.
+     * @param element          The element the value was read from.
+     * @return True if the value was set, false if it is to be decoded and set the standard way.
+     */
+    protected boolean decodeAndSetPrimitivePropertyValue(CharSequence dataString, ExecutionContext executionContext, Element element) {
+        if (!isPrimitiveBinding || dataString == null || (dataString.length() == 0 && defaultVal.isPresent())) {
+            return false;
+        }
+
+        PrimitiveTypeDecoder primitiveTypeDecoder = getResolvedTypeConverter(executionContext).primitiveTypeDecoder;
+        if (primitiveTypeDecoder == null) {
+            return false;
+        }
+
+        Object bean = executionContext.getBeanContext().getBean(beanId);
+        if (bean == null) {
+            return false;
+        }
+
+        ResolvedSetter resolvedSetter = getResolvedSetter(bean, primitiveTypeDecoder.getBoxedType());
+        if (resolvedSetter.propertySetter == null || resolvedSetter.parameterType != primitiveTypeDecoder.getType()) {
+            return false;
+        }
+
+        long start = metrics != null ? System.nanoTime() : 0L;
+        try {
+            if (!primitiveTypeDecoder.decodeAndSet(dataString, bean, resolvedSetter.propertySetter)) {
+                return false;
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new SmooksConfigException("Error invoking bean setter method [" + ClassUtils.toSetterName(property.orElse(null)) + "] on bean instance class type [" + bean.getClass() + "].", e);
+        }
+        if (metrics != null) {
+            metrics.converted(System.nanoTime() - start);
+            metrics.valueBound();
+        }
+
+        if (notifyPopulate) {
+            BeanContextLifecycleEvent event = new DefaultBeanContextLifecycleEvent(executionContext, new NodeFragment(element), BeanLifecycle.POPULATE, beanId, bean);
+            executionContext.getBeanContext().notifyObservers(event);
+        }
+
+        return true;
+    }
+
     protected void decodeAndSetPropertyValue(String mapPropertyName, Object dataObject, ExecutionContext executionContext, Fragment source) {
         if (dataObject instanceof String) {
             setPropertyValue(mapPropertyName, decodeDataString((String) dataObject, executionContext), executionContext, source);
@@ -503,7 +819,7 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
         BeanRuntimeInfo.Classification beanType = beanRuntimeInfo.getClassification();
 
-        createPropertySetterMethod(bean, dataObject.getClass());
+        ResolvedSetter resolvedSetter = getResolvedSetter(bean, dataObject.getClass());
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Setting data object '" + wireBeanIdName.orElse(null) + "' (" + dataObject.getClass().getName() + ") on target bean '" + beanId + "'.");
@@ -511,8 +827,8 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
         // Set the data on the bean...
         try {
-            if (propertySetterMethod != null) {
-                propertySetterMethod.invoke(bean, dataObject);
+            if (resolvedSetter.propertySetter != null) {
+                resolvedSetter.propertySetter.set(bean, dataObject);
             } else if (beanType == BeanRuntimeInfo.Classification.MAP_COLLECTION) {
                 ((Map) bean).put(mapPropertyName, dataObject);
             } else if (beanType == BeanRuntimeInfo.Classification.ARRAY_COLLECTION || beanType == BeanRuntimeInfo.Classification.COLLECTION_COLLECTION) {
@@ -538,6 +854,10 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
                 }
             }
 
+            if (metrics != null) {
+                metrics.valueBound();
+            }
+
             if (notifyPopulate) {
                 BeanContextLifecycleEvent event = new DefaultBeanContextLifecycleEvent(executionContext, source, BeanLifecycle.POPULATE, beanId, bean);
                 executionContext.getBeanContext().notifyObservers(event);
@@ -547,39 +867,100 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
         }
     }
 
-    protected void createPropertySetterMethod(Object bean, Class<?> parameter) {
+    /**
+     * Set a value on a plain bean, without looking the bean up in the bean context.  Used by the parallel bindings.
+     *
+     * @param bean       The target bean.
+     * @param dataObject The value.
+     */
+    protected void setBeanPropertyValue(Object bean, Object dataObject) {
+        if (dataObject == null) {
+            return;
+        }
+
+        ResolvedSetter resolvedSetter = getResolvedSetter(bean, dataObject.getClass());
+        if (resolvedSetter.propertySetter == null) {
+            String setterName = setterMethod.orElseGet(() -> ClassUtils.toSetterName(property.orElse(null)));
+            throw new SmooksConfigException("Bean [" + beanIdName + "] configuration invalid.  Bean setter method [" + setterName + "(" + dataObject.getClass().getName() + ")] not found on type [" + beanRuntimeInfo.getPopulateType().getName() + "].  You may need to set a 'decoder' on the binding config.");
+        }
 
-        if (!checkedForSetterMethod && propertySetterMethod == null) {
-            String methodName = null;
-            if (setterMethod.isPresent() && !setterMethod.get().trim().equals("")) {
-                methodName = setterMethod.get();
-            } else if (property.isPresent() && !property.get().trim().equals("")) {
-                methodName = ClassUtils.toSetterName(property.get());
-            }
+        try {
+            resolvedSetter.propertySetter.set(bean, dataObject);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new SmooksConfigException("Error invoking bean setter method [" + propertySetterName + "] on bean instance class type [" + bean.getClass() + "].", e);
+        }
 
-            if (methodName != null) {
-                propertySetterMethod = createPropertySetterMethod(bean, methodName, parameter);
-            }
+        if (metrics != null) {
+            metrics.valueBound();
+        }
+    }
 
-            checkedForSetterMethod = true;
+    /**
+     * Resolve the setter for the bind type up front, when the bean is a plain bean and the bind type can be
+     * determined from its class.  Other value types are resolved (and cached) on first use.
+     */
+    protected void resolveSetterEagerly() {
+        if (setterMethod.isPresent() && !setterMethod.get().trim().equals("")) {
+            propertySetterName = setterMethod.get();
+        } else if (property.isPresent() && !property.get().trim().equals("")) {
+            propertySetterName = ClassUtils.toSetterName(property.get());
+        }
+
+        if (propertySetterName != null && beanRuntimeInfo.getClassification() == BeanRuntimeInfo.Classification.NON_COLLECTION) {
+            Class<?> bindType = resolveBindTypeReflectively();
+            if (bindType != null) {
+                Class<?> valueType = MethodType.methodType(bindType).wrap().returnType();
+                ResolvedSetter resolvedSetter = resolveSetter(beanRuntimeInfo.getPopulateType(), valueType);
+                if (resolvedSetter != ResolvedSetter.NO_SETTER) {
+                    resolvedSetters.get(beanRuntimeInfo.getPopulateType()).put(valueType, resolvedSetter);
+                }
+            }
         }
     }
 
     /**
-     * Create the bean setter method instance for this visitor.
+     * Get the setter for setting a value of the supplied type on the bean.
+     * <p/>
+     * Setters are cached by bean class and value type, so this is lock free once a bean class and value type
+     * pair has been seen.
      *
-     * @param setterName The setter method name.
-     * @return The bean setter method.
+     * @param bean      The target bean.
+     * @param valueType The value type.
+     * @return The resolved setter, or {@link ResolvedSetter#NO_SETTER} if the bean doesn't have a matching setter.
      */
-    protected synchronized Method createPropertySetterMethod(Object bean, String setterName, Class<?> setterParamType) {
-        if (propertySetterMethod == null) {
-            propertySetterMethod = BeanUtils.createSetterMethod(setterName, bean, setterParamType);
+    protected ResolvedSetter getResolvedSetter(Object bean, Class<?> valueType) {
+        ConcurrentMap<Class<?>, ResolvedSetter> beanClassSetters = resolvedSetters.get(bean.getClass());
+        ResolvedSetter resolvedSetter = beanClassSetters.get(valueType);
+
+        if (resolvedSetter == null) {
+            resolvedSetter = resolveSetter(bean.getClass(), valueType);
+            ResolvedSetter existingSetter = beanClassSetters.putIfAbsent(valueType, resolvedSetter);
+            if (existingSetter != null) {
+                resolvedSetter = existingSetter;
+            }
+        }
+
+        return resolvedSetter;
+    }
+
+    protected ResolvedSetter resolveSetter(Class<?> beanClass, Class<?> valueType) {
+        if (propertySetterName == null) {
+            return ResolvedSetter.NO_SETTER;
+        }
+
+        Method beanSetterMethod = BeanUtils.createSetterMethod(propertySetterName, beanClass, valueType);
+        if (beanSetterMethod == null) {
+            return ResolvedSetter.NO_SETTER;
         }
 
-        return propertySetterMethod;
+        return new ResolvedSetter(beanSetterMethod, PropertySetters.create(beanSetterMethod, generateAccessors));
     }
 
     protected Object decodeDataString(String dataString, ExecutionContext executionContext) throws TypeConverterException {
+        return decodeDataString(dataString, getTypeConverter(executionContext));
+    }
+
+    protected Object decodeDataString(String dataString, TypeConverter<? super String, ?> typeConverter) throws TypeConverterException {
         if ((dataString == null || dataString.isEmpty()) && defaultVal.isPresent()) {
             if (defaultVal.get().equals("null")) {
                 return null;
@@ -587,16 +968,53 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
             dataString = defaultVal.get();
         }
 
-        if (typeConverterFactory == null) {
-            typeConverterFactory = getTypeConverterFactory(executionContext);
-        }
-
-        TypeConverter typeConverter = typeConverterFactory.createTypeConverter();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        Object value;
         try {
-            return typeConverter.convert(dataString);
+            value = typeConverter.convert(dataString);
         } catch (TypeConverterException e) {
+            if (metrics != null) {
+                metrics.decodeFailed();
+            }
             throw new TypeConverterException("Failed to decode binding value '" + dataString + "' for property '" + property + "' on bean '" + beanId.getName() + "'.", e);
         }
+        if (metrics != null) {
+            metrics.converted(System.nanoTime() - start);
+        }
+
+        return value;
+    }
+
+    /**
+     * Get the thread-safe converter for decoding the binding values.
+     * <p/>
+     * The converter is created once and then cached for as long as the ContentDeliveryConfig and the type converter
+     * factory stay the same.
+     *
+     * @param executionContext The execution context.
+     * @return The type converter.
+     * @throws TypeConverterException Failed to resolve the type converter.
+     */
+    protected TypeConverter<? super String, ?> getTypeConverter(ExecutionContext executionContext) throws TypeConverterException {
+        return getResolvedTypeConverter(executionContext).typeConverter;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ResolvedTypeConverter getResolvedTypeConverter(ExecutionContext executionContext) throws TypeConverterException {
+        ContentDeliveryConfig contentDeliveryConfig = executionContext.getContentDeliveryRuntime().getContentDeliveryConfig();
+        ResolvedTypeConverter resolved = resolvedTypeConverter;
+
+        if (resolved == null || resolved.contentDeliveryConfig != contentDeliveryConfig || resolved.typeConverterFactory != typeConverterFactory) {
+            if (typeConverterFactory == null) {
+                typeConverterFactory = getTypeConverterFactory(contentDeliveryConfig);
+            }
+            TypeConverterFactory<? super String, ?> resolvedTypeConverterFactory = (TypeConverterFactory<? super String, ?>) typeConverterFactory;
+            PrimitiveTypeDecoder primitiveTypeDecoder = isPrimitiveBinding ? PrimitiveTypeDecoder.forTypeConverterFactory(resolvedTypeConverterFactory) : null;
+            resolved = new ResolvedTypeConverter(contentDeliveryConfig, resolvedTypeConverterFactory, TypeConverters.threadSafeTypeConverter(resolvedTypeConverterFactory), primitiveTypeDecoder);
+            resolvedTypeConverter = resolved;
+        }
+
+        return resolved;
     }
 
     protected TypeConverterFactory<?, ?> getTypeConverterFactory(ExecutionContext executionContext) throws TypeConverterException {
@@ -633,10 +1051,11 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
         if (bindType != null) {
             if (bindType.isEnum()) {
+                final TypeConverter<String, Object> enumTypeConverter = new EnumConstantTypeConverter(bindType);
                 return new TypeConverterFactory<String, Object>() {
                     @Override
                     public TypeConverter<? super String, ?> createTypeConverter() {
-                        return (TypeConverter<String, Object>) value -> Enum.valueOf((Class) bindType, value);
+                        return enumTypeConverter;
                     }
 
                     @Override
@@ -645,7 +1064,9 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
                     }
                 };
             } else {
-                TypeConverterFactory<? super String, ?> typeConverterFactory = applicationContext.getRegistry().lookup(new SourceTargetTypeConverterFactoryLookup<>(String.class, bindType));
+                // Primitive setters are bound with the converter for the boxed type...
+                Class<?> targetType = MethodType.methodType(bindType).wrap().returnType();
+                TypeConverterFactory<? super String, ?> typeConverterFactory = applicationContext.getRegistry().lookup(new SourceTargetTypeConverterFactoryLookup<>(String.class, targetType));
 
                 if (typeConverterFactory != null) {
                     return typeConverterFactory;
@@ -670,18 +1091,54 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
     }
 
     protected BeanRuntimeInfo getWiredBeanRuntimeInfo() {
-        if (wiredBeanRuntimeInfo == null) {
+        BeanRuntimeInfo runtimeInfo = wiredBeanRuntimeInfo;
+        if (runtimeInfo == null && wireBeanId != null) {
             // Don't need to synchronize this.  Worse thing that can happen is we initialize it
             // more than once... no biggie...
-            wiredBeanRuntimeInfo = BeanRuntimeInfo.getBeanRuntimeInfo(wireBeanIdName.orElse(null), applicationContext);
+            runtimeInfo = beanRuntimeInfoRegistry.get(wireBeanId);
+            wiredBeanRuntimeInfo = runtimeInfo;
         }
-        return wiredBeanRuntimeInfo;
+        return runtimeInfo;
     }
 
     protected String getId() {
         return id;
     }
 
+    /**
+     * Bean setter resolved for a bean class and value type.
+     */
+    protected static class ResolvedSetter {
+        protected static final ResolvedSetter NO_SETTER = new ResolvedSetter(null, null);
+
+        protected final Method method;
+        protected final PropertySetter propertySetter;
+        protected final Class<?> parameterType;
+
+        protected ResolvedSetter(Method method, PropertySetter propertySetter) {
+            this.method = method;
+            this.propertySetter = propertySetter;
+            this.parameterType = method != null ? method.getParameterTypes()[0] : null;
+        }
+    }
+
+    /**
+     * Thread-safe type converter, along with what it was resolved from.
+     */
+    protected static class ResolvedTypeConverter {
+        protected final ContentDeliveryConfig contentDeliveryConfig;
+        protected final TypeConverterFactory<?, ?> typeConverterFactory;
+        protected final TypeConverter<? super String, ?> typeConverter;
+        protected final PrimitiveTypeDecoder primitiveTypeDecoder;
+
+        protected ResolvedTypeConverter(ContentDeliveryConfig contentDeliveryConfig, TypeConverterFactory<?, ?> typeConverterFactory, TypeConverter<? super String, ?> typeConverter, PrimitiveTypeDecoder primitiveTypeDecoder) {
+            this.contentDeliveryConfig = contentDeliveryConfig;
+            this.typeConverterFactory = typeConverterFactory;
+            this.typeConverter = typeConverter;
+            this.primitiveTypeDecoder = primitiveTypeDecoder;
+        }
+    }
+
     public Set<?> getProducts() {
         return Stream.of(beanIdName + "." + property.orElse(null), "]." + property.orElse(null)).collect(Collectors.toSet());
     }
@@ -698,11 +1155,8 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
 
     @Override
     public void visitChildText(CharacterData characterData, ExecutionContext executionContext) throws SmooksException {
-        if (!isBeanWiring && !isAttribute && (expressionEvaluator == null || expressionHasDataVariable)) {
-            TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorVisitorMemento(new NodeFragment(characterData.getParentNode()), this);
-            executionContext.getMementoCaretaker().restore(textAccumulatorMemento);
-            textAccumulatorMemento.accumulateText(characterData.getTextContent());
-            executionContext.getMementoCaretaker().capture(textAccumulatorMemento);
+        if (bindingStrategy.isTextConsumer()) {
+            FragmentTextBuffer.get(executionContext, textBufferKey).append(characterData.getTextContent());
         }
     }
 
@@ -710,4 +1164,192 @@ public class BeanInstancePopulator implements BeforeVisitor, AfterVisitor, Child
     public void visitChildElement(Element childElement, ExecutionContext executionContext) throws SmooksException {
 
     }
+
+    /**
+     * Binding strategy, resolved from the populator configuration in {@link #postConstruct()} so as the
+     * visit methods don't have to work out what kind of binding they're performing on every event.
+     */
+    protected abstract class BindingStrategy {
+
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+        }
+
+        protected void visitAfter(Element element, ExecutionContext executionContext) {
+        }
+
+        /**
+         * Does this strategy bind the element's text.
+         *
+         * @return True if the child text needs to be accumulated, otherwise false.
+         */
+        protected boolean isTextConsumer() {
+            return false;
+        }
+    }
+
+    /**
+     * Wires another bean into the target bean.
+     */
+    protected class WiringBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            if (beanExists(executionContext)) {
+                bindBeanValue(executionContext, new NodeFragment(element));
+            }
+        }
+    }
+
+    /**
+     * Binds an attribute value (i.e. selectors with '@' prefix) to a bean property, Collection or Map entry.
+     */
+    protected class AttributeBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            if (beanExists(executionContext)) {
+                String dataString = getAttributeValue(element);
+                if (!decodeAndSetPrimitivePropertyValue(dataString, executionContext, element)) {
+                    decodeAndSetPropertyValue(propertyName != null ? propertyName : element.getLocalName(), dataString, executionContext, new NodeFragment(element));
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds an attribute value to a Map entry keyed by the value of another attribute.
+     */
+    protected class AttributeToMapBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            if (beanExists(executionContext)) {
+                decodeAndSetPropertyValue(getMapKey(element), getAttributeValue(element), executionContext, new NodeFragment(element));
+            }
+        }
+    }
+
+    /**
+     * Binds the element text to a bean property, Collection or Map entry.
+     */
+    protected class TextBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            openTextValue(executionContext);
+        }
+
+        @Override
+        protected void visitAfter(Element element, ExecutionContext executionContext) {
+            FragmentTextBuffer textBuffer = FragmentTextBuffer.get(executionContext, textBufferKey);
+            if (decodeAndSetPrimitivePropertyValue(textBuffer.text(), executionContext, element)) {
+                textBuffer.discard();
+                return;
+            }
+
+            String dataString = textBuffer.close();
+            if (beanExists(executionContext)) {
+                decodeAndSetPropertyValue(propertyName != null ? propertyName : element.getLocalName(), dataString, executionContext, new NodeFragment(element));
+            }
+        }
+
+        @Override
+        protected boolean isTextConsumer() {
+            return true;
+        }
+    }
+
+    /**
+     * Binds the element text to a Map entry keyed by the value of an attribute.
+     */
+    protected class TextToMapBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            openTextValue(executionContext);
+        }
+
+        @Override
+        protected void visitAfter(Element element, ExecutionContext executionContext) {
+            String dataString = getTextValue(executionContext);
+            if (beanExists(executionContext)) {
+                decodeAndSetPropertyValue(getMapKey(element), dataString, executionContext, new NodeFragment(element));
+            }
+        }
+
+        @Override
+        protected boolean isTextConsumer() {
+            return true;
+        }
+    }
+
+    /**
+     * Binds an attribute value or the element text to a property of a {@link BeanInstanceCreator#PARALLEL_BEANS parallel bean}.
+     * The value is decoded and set as part of the bean instance's {@link ParallelBindings} batch, or straight away
+     * if the bean instance doesn't have an open batch.
+     */
+    protected class ParallelBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            if (isAttribute) {
+                bindValue(getAttributeValue(element), element, executionContext);
+            } else {
+                openTextValue(executionContext);
+            }
+        }
+
+        @Override
+        protected void visitAfter(Element element, ExecutionContext executionContext) {
+            if (!isAttribute) {
+                bindValue(getTextValue(executionContext), element, executionContext);
+            }
+        }
+
+        private void bindValue(String dataString, Element element, ExecutionContext executionContext) {
+            if (!beanExists(executionContext)) {
+                return;
+            }
+
+            Object bean = executionContext.getBeanContext().getBean(beanId);
+            List<Runnable> batch = ParallelBindings.getBatch(executionContext, bean);
+            if (batch != null) {
+                TypeConverter<? super String, ?> typeConverter = getTypeConverter(executionContext);
+                batch.add(() -> setBeanPropertyValue(bean, decodeDataString(dataString, typeConverter)));
+            } else if (!decodeAndSetPrimitivePropertyValue(dataString, executionContext, element)) {
+                decodeAndSetPropertyValue(propertyName != null ? propertyName : element.getLocalName(), dataString, executionContext, new NodeFragment(element));
+            }
+        }
+
+        @Override
+        protected boolean isTextConsumer() {
+            return !isAttribute;
+        }
+    }
+
+    /**
+     * Binds the result of an expression, which may reference the attribute or element text value.
+     */
+    protected class ExpressionBindingStrategy extends BindingStrategy {
+        @Override
+        protected void visitBefore(Element element, ExecutionContext executionContext) {
+            if (isAttribute) {
+                if (beanExists(executionContext)) {
+                    String dataString = expressionHasDataVariable ? getAttributeValue(element) : null;
+                    bindExpressionValue(getPropertyName(element), dataString, executionContext, new NodeFragment(element));
+                }
+            } else if (expressionHasDataVariable) {
+                openTextValue(executionContext);
+            }
+        }
+
+        @Override
+        protected void visitAfter(Element element, ExecutionContext executionContext) {
+            if (!isAttribute) {
+                String dataString = expressionHasDataVariable ? getTextValue(executionContext) : null;
+                if (beanExists(executionContext)) {
+                    bindExpressionValue(getPropertyName(element), dataString, executionContext, new NodeFragment(element));
+                }
+            }
+        }
+
+        @Override
+        protected boolean isTextConsumer() {
+            return !isAttribute && expressionHasDataVariable;
+        }
+    }
 }
@@ -0,0 +1,67 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+/**
+ * Bean reset hook for recycled bean instances.
+ * <p/>
+ * A {@link BeanInstanceCreator} configured with a recycle pool (see {@link BeanInstanceCreator#RECYCLE_POOL_SIZE})
+ * hands every bean it releases at the end of its fragment to the resetter before pooling the bean for the next
+ * fragment.  The resetter must return the bean to the state of a newly constructed instance.
+ * <p/>
+ * Implementations must have a public default constructor when configured by class name
+ * (see {@link BeanInstanceCreator#RECYCLE_RESETTER}) and must be thread safe, since one resetter is shared by
+ * all the executions of a Smooks instance.
+ *
+ * @param <T> The bean type.
+ */
+@FunctionalInterface
+public interface BeanResetter<T> {
+
+    /**
+     * Reset the bean.
+     *
+     * @param bean The released bean.
+     */
+    void reset(T bean);
+}
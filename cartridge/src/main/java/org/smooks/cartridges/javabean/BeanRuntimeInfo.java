@@ -44,12 +44,12 @@ package org.smooks.cartridges.javabean;
 
 import org.smooks.api.ApplicationContext;
 import org.smooks.api.SmooksConfigException;
+import org.smooks.api.bean.repository.BeanId;
 import org.smooks.support.ClassUtils;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -59,6 +59,12 @@ import java.util.Map;
  */
 public class BeanRuntimeInfo {
 
+    /**
+     * Registry key of the runtime info {@link Map} view.
+     *
+     * @deprecated Use {@link BeanRuntimeInfoRegistry#getInstance(ApplicationContext)}.
+     */
+    @Deprecated
     protected static final String CONTEXT_KEY = BeanRuntimeInfo.class.getName() + "#CONTEXT_KEY";
 
     /**
@@ -111,20 +117,23 @@ public class BeanRuntimeInfo {
     }
 
     public static void recordBeanRuntimeInfo(String beanId, BeanRuntimeInfo beanRuntimeInfo, ApplicationContext appContext) {
-        Map<String, BeanRuntimeInfo> runtimeInfoMap = getRuntimeInfoMap(appContext);
-        BeanRuntimeInfo existingBeanConfig = runtimeInfoMap.get(beanId);
-
-        if (existingBeanConfig != null && !beanRuntimeInfo.equals(existingBeanConfig)) {
-            throw new SmooksConfigException("Multiple configurations present with beanId='" + beanId + "', but the bean runtime infos are not equal i.e bean classes etc are different.  Use a different beanId and the 'setOnMethod' config if needed.");
-        }
-
-        runtimeInfoMap.put(beanId, beanRuntimeInfo);
+        BeanRuntimeInfoRegistry.getInstance(appContext).record(beanId, beanRuntimeInfo);
     }
 
     public static BeanRuntimeInfo getBeanRuntimeInfo(String beanId, ApplicationContext appContext) {
-        Map<String, BeanRuntimeInfo> runtimeInfoMap = getRuntimeInfoMap(appContext);
+        return BeanRuntimeInfoRegistry.getInstance(appContext).get(beanId);
+    }
 
-        return runtimeInfoMap.get(beanId);
+    /**
+     * Get the runtime info of a bean by its {@link BeanId} index.
+     *
+     * @param beanId     The bean id.
+     * @param appContext The application context.
+     * @return The runtime info, or null if none is recorded for the bean id.
+     * @see BeanRuntimeInfoRegistry
+     */
+    public static BeanRuntimeInfo getBeanRuntimeInfo(BeanId beanId, ApplicationContext appContext) {
+        return BeanRuntimeInfoRegistry.getInstance(appContext).get(beanId);
     }
 
     public void setClassification(Class<?> clazz) {
@@ -141,15 +150,17 @@ public class BeanRuntimeInfo {
     }
 
     public static BeanRuntimeInfo getBeanRuntimeInfo(String beanId, String beanClassName, ApplicationContext appContext) {
-        Map<String, BeanRuntimeInfo> runtimeInfoMap = getRuntimeInfoMap(appContext);
+        BeanRuntimeInfoRegistry registry = BeanRuntimeInfoRegistry.getInstance(appContext);
 
-        BeanRuntimeInfo beanRuntimeInfo = runtimeInfoMap.get(beanId);
+        synchronized (registry) {
+            BeanRuntimeInfo beanRuntimeInfo = registry.get(beanId);
 
-        if (beanRuntimeInfo == null) {
-            beanRuntimeInfo = new BeanRuntimeInfo(beanClassName);
-            recordBeanRuntimeInfo(beanId, beanRuntimeInfo, appContext);
+            if (beanRuntimeInfo == null) {
+                beanRuntimeInfo = new BeanRuntimeInfo(beanClassName);
+                registry.record(beanId, beanRuntimeInfo);
+            }
+            return beanRuntimeInfo;
         }
-        return beanRuntimeInfo;
     }
 
     /**
@@ -202,16 +213,18 @@ public class BeanRuntimeInfo {
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Get the runtime infos of the application context by bean id name.
+     * <p/>
+     * The map is a view of the {@link BeanRuntimeInfoRegistry}; writes to it go through to the registry.
+     *
+     * @param appContext The application context.
+     * @return The runtime info map.
+     * @deprecated Use {@link BeanRuntimeInfoRegistry}, which also indexes the runtime infos by {@link BeanId}.
+     */
+    @Deprecated
     protected static Map<String, BeanRuntimeInfo> getRuntimeInfoMap(ApplicationContext appContext) {
-        Map<String, BeanRuntimeInfo> runtimeInfoMap = (Map<String, BeanRuntimeInfo>) appContext.getRegistry().lookup(CONTEXT_KEY);
-
-        if (runtimeInfoMap == null) {
-            runtimeInfoMap = new HashMap<>();
-            appContext.getRegistry().registerObject(CONTEXT_KEY, runtimeInfoMap);
-        }
-
-        return runtimeInfoMap;
+        return BeanRuntimeInfoRegistry.getInstance(appContext).getRuntimeInfoMap();
     }
 
     public Class<?> getPopulateType() {
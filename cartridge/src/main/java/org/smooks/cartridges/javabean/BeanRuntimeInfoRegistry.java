@@ -0,0 +1,227 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ApplicationContext;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.api.bean.context.BeanIdStore;
+import org.smooks.api.bean.repository.BeanId;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link BeanRuntimeInfo} registry of an {@link ApplicationContext}.
+ * <p/>
+ * Runtime infos are recorded while the Smooks configuration is being built and are then looked up, by
+ * {@link BeanId#getIndex() bean id index}, from an array snapshot.  The snapshot is replaced (never modified)
+ * whenever a runtime info is recorded, so lookups are lock free and can safely be made from any number of
+ * concurrent executions.
+ * <p/>
+ * The registry is registered under its own key.  For code written against the original contract, a
+ * {@link Map} view of the runtime infos by bean id name is still registered under
+ * {@link BeanRuntimeInfo#CONTEXT_KEY} (and returned by {@link BeanRuntimeInfo#getRuntimeInfoMap(ApplicationContext)}).
+ * Writes to the view go through to the registry.
+ */
+public final class BeanRuntimeInfoRegistry {
+
+    static final String CONTEXT_KEY = BeanRuntimeInfoRegistry.class.getName() + "#CONTEXT_KEY";
+
+    private static final BeanRuntimeInfo[] EMPTY = new BeanRuntimeInfo[0];
+
+    private final BeanIdStore beanIdStore;
+    private final Map<String, BeanRuntimeInfo> runtimeInfoByName = new ConcurrentHashMap<>();
+    private final Map<String, BeanRuntimeInfo> runtimeInfoMap = new RuntimeInfoMap();
+    private volatile BeanRuntimeInfo[] runtimeInfoByIndex = EMPTY;
+
+    private BeanRuntimeInfoRegistry(BeanIdStore beanIdStore) {
+        this.beanIdStore = beanIdStore;
+    }
+
+    /**
+     * Get the registry of the supplied application context, creating it if needs be.
+     *
+     * @param appContext The application context.
+     * @return The registry.
+     */
+    public static BeanRuntimeInfoRegistry getInstance(ApplicationContext appContext) {
+        BeanRuntimeInfoRegistry registry = appContext.getRegistry().lookup(CONTEXT_KEY);
+
+        if (registry == null) {
+            synchronized (BeanRuntimeInfoRegistry.class) {
+                registry = appContext.getRegistry().lookup(CONTEXT_KEY);
+                if (registry == null) {
+                    registry = new BeanRuntimeInfoRegistry(appContext.getBeanIdStore());
+
+                    // Adopt runtime infos put in a plain map under the original key...
+                    Map<String, BeanRuntimeInfo> existingRuntimeInfoMap = appContext.getRegistry().lookup(BeanRuntimeInfo.CONTEXT_KEY);
+                    if (existingRuntimeInfoMap != null) {
+                        registry.runtimeInfoMap.putAll(existingRuntimeInfoMap);
+                        appContext.getRegistry().deRegisterObject(BeanRuntimeInfo.CONTEXT_KEY);
+                    }
+
+                    appContext.getRegistry().registerObject(BeanRuntimeInfo.CONTEXT_KEY, registry.runtimeInfoMap);
+                    appContext.getRegistry().registerObject(CONTEXT_KEY, registry);
+                }
+            }
+        }
+
+        return registry;
+    }
+
+    /**
+     * Record the runtime info of a bean.
+     *
+     * @param beanId          The bean id name.
+     * @param beanRuntimeInfo The runtime info.
+     * @throws SmooksConfigException A different runtime info is already recorded for the bean id.
+     */
+    public synchronized void record(String beanId, BeanRuntimeInfo beanRuntimeInfo) throws SmooksConfigException {
+        BeanRuntimeInfo existingBeanConfig = runtimeInfoByName.get(beanId);
+
+        if (existingBeanConfig != null && !beanRuntimeInfo.equals(existingBeanConfig)) {
+            throw new SmooksConfigException("Multiple configurations present with beanId='" + beanId + "', but the bean runtime infos are not equal i.e bean classes etc are different.  Use a different beanId and the 'setOnMethod' config if needed.");
+        }
+
+        put(beanId, beanRuntimeInfo);
+    }
+
+    /**
+     * Get the runtime info of a bean.
+     *
+     * @param beanId The bean id.
+     * @return The runtime info, or null if none is recorded for the bean id.
+     */
+    public BeanRuntimeInfo get(BeanId beanId) {
+        BeanRuntimeInfo[] runtimeInfos = runtimeInfoByIndex;
+        int index = beanId.getIndex();
+
+        return index < runtimeInfos.length ? runtimeInfos[index] : null;
+    }
+
+    /**
+     * Get the runtime info of a bean by its bean id name.
+     *
+     * @param beanId The bean id name.
+     * @return The runtime info, or null if none is recorded for the bean id.
+     */
+    public BeanRuntimeInfo get(String beanId) {
+        return beanId != null ? runtimeInfoByName.get(beanId) : null;
+    }
+
+    Map<String, BeanRuntimeInfo> getRuntimeInfoMap() {
+        return runtimeInfoMap;
+    }
+
+    private synchronized BeanRuntimeInfo put(String beanId, BeanRuntimeInfo beanRuntimeInfo) {
+        BeanRuntimeInfo previousBeanRuntimeInfo = runtimeInfoByName.put(beanId, beanRuntimeInfo);
+
+        BeanId registeredBeanId = beanIdStore.getBeanId(beanId);
+        if (registeredBeanId == null) {
+            registeredBeanId = beanIdStore.register(beanId);
+        }
+        setByIndex(registeredBeanId.getIndex(), beanRuntimeInfo);
+
+        return previousBeanRuntimeInfo;
+    }
+
+    private synchronized BeanRuntimeInfo remove(String beanId) {
+        BeanRuntimeInfo previousBeanRuntimeInfo = runtimeInfoByName.remove(beanId);
+
+        BeanId registeredBeanId = beanIdStore.getBeanId(beanId);
+        if (previousBeanRuntimeInfo != null && registeredBeanId != null) {
+            setByIndex(registeredBeanId.getIndex(), null);
+        }
+
+        return previousBeanRuntimeInfo;
+    }
+
+    private void setByIndex(int index, BeanRuntimeInfo beanRuntimeInfo) {
+        BeanRuntimeInfo[] newRuntimeInfoByIndex = Arrays.copyOf(runtimeInfoByIndex, Math.max(runtimeInfoByIndex.length, index + 1));
+        newRuntimeInfoByIndex[index] = beanRuntimeInfo;
+        runtimeInfoByIndex = newRuntimeInfoByIndex;
+    }
+
+    /**
+     * Map view of the runtime infos by bean id name, registered under {@link BeanRuntimeInfo#CONTEXT_KEY}.
+     * Like the plain map it replaces, puts overwrite without the equality check made by {@link #record}.
+     */
+    private final class RuntimeInfoMap extends AbstractMap<String, BeanRuntimeInfo> {
+
+        @Override
+        public BeanRuntimeInfo get(Object key) {
+            return runtimeInfoByName.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return runtimeInfoByName.containsKey(key);
+        }
+
+        @Override
+        public BeanRuntimeInfo put(String key, BeanRuntimeInfo value) {
+            return BeanRuntimeInfoRegistry.this.put(key, value);
+        }
+
+        @Override
+        public BeanRuntimeInfo remove(Object key) {
+            return key instanceof String ? BeanRuntimeInfoRegistry.this.remove((String) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            for (String beanId : runtimeInfoByName.keySet()) {
+                BeanRuntimeInfoRegistry.this.remove(beanId);
+            }
+        }
+
+        @Override
+        public Set<Entry<String, BeanRuntimeInfo>> entrySet() {
+            return Collections.unmodifiableMap(runtimeInfoByName).entrySet();
+        }
+    }
+}
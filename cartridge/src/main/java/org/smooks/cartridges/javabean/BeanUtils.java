@@ -74,14 +74,26 @@ public final class BeanUtils {
      * @return The bean setter method.
      */
     public static Method createSetterMethod(String setterName, Object bean, Class<?> setterParamType) {
-        Method beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, setterParamType);
+        return createSetterMethod(setterName, bean.getClass(), setterParamType);
+    }
+
+    /**
+     * Create the bean setter method instance for the supplied bean class.
+     *
+     * @param setterName      The setter method name.
+     * @param beanClass       The bean class.
+     * @param setterParamType The setter parameter type.
+     * @return The bean setter method, or null if the bean class doesn't have a matching setter.
+     */
+    public static Method createSetterMethod(String setterName, Class<?> beanClass, Class<?> setterParamType) {
+        Method beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, setterParamType);
 
         // Try it as a list...
         if (beanSetterMethod == null && List.class.isAssignableFrom(setterParamType)) {
             String setterNamePlural = setterName + "s";
 
             // Try it as a List using the plural name...
-            beanSetterMethod = ClassUtils.getSetterMethod(setterNamePlural, bean, setterParamType);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterNamePlural, beanClass, setterParamType);
             if (beanSetterMethod == null) {
                 // Try it as an array using the non-plural name...
             }
@@ -89,28 +101,28 @@ public final class BeanUtils {
 
         // Try it as a primitive...
         if (beanSetterMethod == null && Integer.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Integer.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Integer.TYPE);
         }
         if (beanSetterMethod == null && Long.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Long.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Long.TYPE);
         }
         if (beanSetterMethod == null && Float.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Float.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Float.TYPE);
         }
         if (beanSetterMethod == null && Double.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Double.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Double.TYPE);
         }
         if (beanSetterMethod == null && Character.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Character.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Character.TYPE);
         }
         if (beanSetterMethod == null && Short.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Short.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Short.TYPE);
         }
         if (beanSetterMethod == null && Byte.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Byte.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Byte.TYPE);
         }
         if (beanSetterMethod == null && Boolean.class.isAssignableFrom(setterParamType)) {
-            beanSetterMethod = ClassUtils.getSetterMethod(setterName, bean, Boolean.TYPE);
+            beanSetterMethod = ClassUtils.getSetterMethod(setterName, beanClass, Boolean.TYPE);
         }
 
         return beanSetterMethod;
@@ -149,8 +161,19 @@ public final class BeanUtils {
         AssertArgument.isNotNull(list, "list");
         AssertArgument.isNotNull(arrayClass, "arrayClass");
 
+        if (list instanceof ArrayBuilder && ((ArrayBuilder<?>) list).getComponentType() == arrayClass) {
+            return ((ArrayBuilder<?>) list).build();
+        }
+
         int length = list.size();
         Object arrayObj = Array.newInstance(arrayClass, list.size());
+        if (!arrayClass.isPrimitive()) {
+            try {
+                return list.toArray((Object[]) arrayObj);
+            } catch (ArrayStoreException e) {
+                // Fall through to the element by element copy, so as the failing element gets reported...
+            }
+        }
         for (int i = 0; i < length; i++) {
             try {
                 Array.set(arrayObj, i, list.get(i));
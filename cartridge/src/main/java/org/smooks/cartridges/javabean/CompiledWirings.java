@@ -0,0 +1,154 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.TypedKey;
+import org.smooks.api.bean.context.BeanContext;
+import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
+import org.smooks.api.bean.lifecycle.BeanLifecycle;
+import org.smooks.api.bean.repository.BeanId;
+import org.smooks.cartridges.javabean.observers.BeanContextObserverIndex;
+import org.smooks.cartridges.javabean.observers.BeanLifecycleSubscriber;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Per {@link ExecutionContext} state of the {@link WiringPlan} wirings.
+ * <p/>
+ * A populator whose wired bean doesn't exist yet is armed against the wired bean's id, and is triggered when
+ * the wired bean is added.  It stays armed until its parent bean is removed, at which point the wired bean is
+ * removed too.  This is the same lifecycle as that of a {@link org.smooks.cartridges.javabean.observers.BeanWiringObserver},
+ * but handled by a single subscriber registered once per execution.
+ */
+final class CompiledWirings implements BeanLifecycleSubscriber {
+
+    private static final TypedKey<CompiledWirings> COMPILED_WIRINGS_KEY = TypedKey.of();
+    private static final BeanInstancePopulator[] NO_POPULATORS = new BeanInstancePopulator[0];
+
+    private final WiringPlan wiringPlan;
+    private final BeanContext beanContext;
+    private final List<List<BeanInstancePopulator>> armedByWiredBean = new ArrayList<>();
+
+    private CompiledWirings(WiringPlan wiringPlan, BeanContext beanContext) {
+        this.wiringPlan = wiringPlan;
+        this.beanContext = beanContext;
+    }
+
+    static CompiledWirings get(ExecutionContext executionContext, WiringPlan wiringPlan) {
+        BeanContext beanContext = executionContext.getBeanContext();
+        CompiledWirings compiledWirings = executionContext.get(COMPILED_WIRINGS_KEY);
+
+        if (compiledWirings == null || compiledWirings.beanContext != beanContext) {
+            compiledWirings = new CompiledWirings(wiringPlan, beanContext);
+            BeanContextObserverIndex.get(executionContext).addSubscriber(compiledWirings);
+            executionContext.put(COMPILED_WIRINGS_KEY, compiledWirings);
+        }
+
+        return compiledWirings;
+    }
+
+    void arm(BeanInstancePopulator populator) {
+        int index = populator.wireBeanId.getIndex();
+        while (armedByWiredBean.size() <= index) {
+            armedByWiredBean.add(null);
+        }
+
+        List<BeanInstancePopulator> armed = armedByWiredBean.get(index);
+        if (armed == null) {
+            armed = new ArrayList<>();
+            armedByWiredBean.set(index, armed);
+        }
+        armed.add(populator);
+    }
+
+    @Override
+    public BeanContextObserverIndex.Subscription[] getSubscriptions() {
+        return wiringPlan.getSubscriptions();
+    }
+
+    @Override
+    public void onBeanLifecycleEvent(BeanContextLifecycleEvent event) {
+        BeanId beanId = event.getBeanId();
+
+        if (event.getLifecycle() == BeanLifecycle.ADD) {
+            // Populators armed while the wired bean is being added only see the next add...
+            BeanInstancePopulator[] populators = getArmed(beanId).toArray(NO_POPULATORS);
+            if (populators.length > 0) {
+                ExecutionContext executionContext = event.getExecutionContext();
+                for (BeanInstancePopulator populator : populators) {
+                    populator.populateAndSetPropertyValue(event.getBean(), executionContext.getBeanContext(), beanId, executionContext, event.getSource());
+                }
+            }
+        } else if (event.getLifecycle() == BeanLifecycle.REMOVE) {
+            for (BeanId wiredBeanId : wiringPlan.getWiredBeans(beanId)) {
+                int disarmed = 0;
+                for (Iterator<BeanInstancePopulator> armed = getArmed(wiredBeanId).iterator(); armed.hasNext(); ) {
+                    if (armed.next().beanId == beanId) {
+                        armed.remove();
+                        disarmed++;
+                    }
+                }
+                // The lifecycle of the wired bean is associated with the lifecycle of the parent bean, which has
+                // been removed...
+                for (int i = 0; i < disarmed; i++) {
+                    event.getExecutionContext().getBeanContext().removeBean(wiredBeanId, event.getSource());
+                }
+            }
+        }
+    }
+
+    private List<BeanInstancePopulator> getArmed(BeanId wiredBeanId) {
+        int index = wiredBeanId.getIndex();
+        if (index < armedByWiredBean.size()) {
+            List<BeanInstancePopulator> armed = armedByWiredBean.get(index);
+            if (armed != null) {
+                return armed;
+            }
+        }
+        return Collections.emptyList();
+    }
+}
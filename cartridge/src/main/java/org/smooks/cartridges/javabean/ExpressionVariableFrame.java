@@ -0,0 +1,262 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.mvel2.DataConversion;
+import org.mvel2.MVEL;
+import org.mvel2.integration.VariableResolver;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.integration.impl.BaseVariableResolverFactory;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.TypedKey;
+import org.smooks.api.bean.context.BeanContext;
+import org.smooks.api.bean.repository.BeanId;
+import org.smooks.api.expression.ExpressionEvaluationException;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reusable MVEL variable frame for a compiled {@link BeanInstancePopulator} expression binding.
+ * <p/>
+ * The variables referenced by the expression are fixed when the binding is configured.  Each of them is given a
+ * slot: the data value ({@link BeanInstancePopulator#EXPRESSION_VALUE_VARIABLE_NAME}) is held on the frame and bean
+ * variables are read straight from the {@link BeanContext} by {@link BeanId}, so evaluating the expression neither
+ * allocates a variable map nor looks beans up by name.  Names outside the frame (e.g. variables assigned by the
+ * expression itself) are resolved through a map factory that is only created when needed.
+ * <p/>
+ * Stored on the {@link ExecutionContext} under a key owned by the populator, so a frame is only ever used by one thread.
+ */
+final class ExpressionVariableFrame extends BaseVariableResolverFactory {
+
+    private static final int VALUE_SLOT = -1;
+
+    private final String[] beanNames;
+    private final BeanId[] beanIds;
+    private final boolean hasValueVariable;
+    private final SlotResolver valueResolver;
+    private final SlotResolver[] beanResolvers;
+
+    private BeanContext beanContext;
+    private Object value;
+
+    private ExpressionVariableFrame(String[] beanNames, BeanId[] beanIds, boolean hasValueVariable) {
+        this.beanNames = beanNames;
+        this.beanIds = beanIds;
+        this.hasValueVariable = hasValueVariable;
+        valueResolver = new SlotResolver(BeanInstancePopulator.EXPRESSION_VALUE_VARIABLE_NAME, VALUE_SLOT);
+        beanResolvers = new SlotResolver[beanNames.length];
+        for (int i = 0; i < beanNames.length; i++) {
+            beanResolvers[i] = new SlotResolver(beanNames[i], i);
+        }
+    }
+
+    static ExpressionVariableFrame get(ExecutionContext executionContext, TypedKey<ExpressionVariableFrame> key, String[] beanNames, BeanId[] beanIds, boolean hasValueVariable) {
+        ExpressionVariableFrame frame = executionContext.get(key);
+        if (frame == null) {
+            frame = new ExpressionVariableFrame(beanNames, beanIds, hasValueVariable);
+            executionContext.put(key, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Evaluate a compiled expression against this frame.
+     *
+     * @param expression  The expression source (for error reporting).
+     * @param compiled    The compiled expression.
+     * @param toType      The type the result is to be converted to, or null.
+     * @param beanContext The bean context of the current execution.
+     * @param value       The value of the data variable.
+     * @return The expression result.
+     * @throws ExpressionEvaluationException Error evaluating the expression.
+     */
+    Object evaluate(String expression, Serializable compiled, Class<?> toType, BeanContext beanContext, Object value) throws ExpressionEvaluationException {
+        this.beanContext = beanContext;
+        this.value = value;
+        nextFactory = null;
+        Map<String, Object> beanMap = beanContext.getBeanMap();
+        try {
+            Object result = MVEL.executeExpression(compiled, beanMap, this);
+            return toType != null ? DataConversion.convert(result, toType) : result;
+        } catch (Exception e) {
+            throw new ExpressionEvaluationException("Error evaluating MVEL expression '" + expression + "' against object type '" + beanMap.getClass().getName() + "'. Common issues include:"
+                    + "\n\t\t1. Referencing a variable that is not bound into the context. In this case use the 'isdef' operator to check if the variable is bound in the context."
+                    + "\n\t\t2. Invalid expression reference to a List/Array based variable token.  Example List/Array referencing expression token: 'order.orderItems[0].productId'.", e);
+        } finally {
+            this.beanContext = null;
+            this.value = null;
+            nextFactory = null;
+        }
+    }
+
+    private SlotResolver getSlotResolver(String name) {
+        if (hasValueVariable && BeanInstancePopulator.EXPRESSION_VALUE_VARIABLE_NAME.equals(name)) {
+            return valueResolver;
+        }
+        for (int i = 0; i < beanNames.length; i++) {
+            if (beanNames[i].equals(name)) {
+                return beanResolvers[i];
+            }
+        }
+        return null;
+    }
+
+    private VariableResolverFactory localVariables() {
+        if (nextFactory == null) {
+            nextFactory = new MapVariableResolverFactory(new HashMap<>());
+        }
+        return nextFactory;
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value) {
+        SlotResolver resolver = getSlotResolver(name);
+        if (resolver != null) {
+            resolver.setValue(value);
+            return resolver;
+        }
+        return localVariables().createVariable(name, value);
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value, Class<?> type) {
+        SlotResolver resolver = getSlotResolver(name);
+        if (resolver != null) {
+            resolver.setValue(value);
+            return resolver;
+        }
+        return localVariables().createVariable(name, value, type);
+    }
+
+    @Override
+    public VariableResolver getVariableResolver(String name) {
+        SlotResolver resolver = getSlotResolver(name);
+        if (resolver != null) {
+            // Bean slots resolve to null for an absent bean, just like a lookup in the bean map...
+            return resolver;
+        }
+        return super.getVariableResolver(name);
+    }
+
+    @Override
+    public boolean isTarget(String name) {
+        return getSlotResolver(name) != null;
+    }
+
+    @Override
+    public boolean isResolveable(String name) {
+        SlotResolver resolver = getSlotResolver(name);
+        if (resolver != null) {
+            return resolver.slot == VALUE_SLOT || beanContext.containsBean(beanIds[resolver.slot]);
+        }
+        return nextFactory != null && nextFactory.isResolveable(name);
+    }
+
+    @Override
+    public Set<String> getKnownVariables() {
+        Set<String> knownVariables = new HashSet<>();
+        if (hasValueVariable) {
+            knownVariables.add(BeanInstancePopulator.EXPRESSION_VALUE_VARIABLE_NAME);
+        }
+        for (int i = 0; i < beanNames.length; i++) {
+            if (beanContext != null && beanContext.containsBean(beanIds[i])) {
+                knownVariables.add(beanNames[i]);
+            }
+        }
+        if (nextFactory != null) {
+            knownVariables.addAll(nextFactory.getKnownVariables());
+        }
+        return knownVariables;
+    }
+
+    private final class SlotResolver implements VariableResolver {
+
+        private final String name;
+        private final int slot;
+
+        private SlotResolver(String name, int slot) {
+            this.name = name;
+            this.slot = slot;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class getType() {
+            return Object.class;
+        }
+
+        @Override
+        public void setStaticType(Class type) {
+        }
+
+        @Override
+        public int getFlags() {
+            return 0;
+        }
+
+        @Override
+        public Object getValue() {
+            return slot == VALUE_SLOT ? value : beanContext.getBean(beanIds[slot]);
+        }
+
+        @Override
+        public void setValue(Object value) {
+            if (slot == VALUE_SLOT) {
+                ExpressionVariableFrame.this.value = value;
+            } else if (value == null) {
+                beanContext.removeBean(beanIds[slot], null);
+            } else {
+                beanContext.addBean(beanIds[slot], value);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.TypedKey;
+
+/**
+ * Element text buffer for a visitor that binds element text.
+ * <p/>
+ * Stored on the {@link ExecutionContext} under a key owned by the visitor.  The visitor opens a buffer
+ * on visitBefore, appends the child text and closes the buffer on visitAfter.  Buffers are stacked by
+ * element depth (to support nested elements targeted by the same visitor) and are reused across elements,
+ * so accumulating text does not allocate anything other than the resulting String.
+ *
+ * @see BeanInstancePopulator
+ * @see ValueBinder
+ */
+final class FragmentTextBuffer {
+
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private StringBuilder[] buffers = new StringBuilder[4];
+    private int depth;
+
+    static FragmentTextBuffer get(ExecutionContext executionContext, TypedKey<FragmentTextBuffer> key) {
+        FragmentTextBuffer textBuffer = executionContext.get(key);
+        if (textBuffer == null) {
+            textBuffer = new FragmentTextBuffer();
+            executionContext.put(key, textBuffer);
+        }
+        return textBuffer;
+    }
+
+    void open() {
+        if (depth == buffers.length) {
+            StringBuilder[] newBuffers = new StringBuilder[depth * 2];
+            System.arraycopy(buffers, 0, newBuffers, 0, depth);
+            buffers = newBuffers;
+        }
+
+        StringBuilder buffer = buffers[depth];
+        if (buffer == null) {
+            buffers[depth] = new StringBuilder();
+        } else {
+            buffer.setLength(0);
+        }
+        depth++;
+    }
+
+    void append(String text) {
+        if (depth > 0) {
+            buffers[depth - 1].append(text);
+        }
+    }
+
+    /**
+     * Get the text accumulated in the current buffer.  Only valid until the buffer is closed.
+     *
+     * @return The current text.
+     */
+    CharSequence text() {
+        return depth > 0 ? buffers[depth - 1] : "";
+    }
+
+    /**
+     * Close the current buffer without creating a String from its text.
+     */
+    void discard() {
+        if (depth > 0) {
+            depth--;
+            if (buffers[depth].capacity() > MAX_RETAINED_CAPACITY) {
+                buffers[depth] = null;
+            }
+        }
+    }
+
+    String close() {
+        if (depth == 0) {
+            return "";
+        }
+
+        depth--;
+        StringBuilder buffer = buffers[depth];
+        String text = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            // Don't hang onto the memory of an unusually large text node...
+            buffers[depth] = null;
+        }
+
+        return text;
+    }
+}
@@ -0,0 +1,188 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.mvel2.DataConversion;
+import org.mvel2.MVEL;
+import org.smooks.api.SmooksException;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.cartridges.javabean.accessor.PropertySetters;
+import org.smooks.support.ClassUtils;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of the {@link BeanInstanceCreator#INIT_VAL_EXPRESSION initValExpression} parameters of a bean.
+ * <p/>
+ * Only applies when every expression is an assignment of a literal to a bean property (which is what the
+ * <code>initVal</code> attribute of an expression binding produces for values such as <code>10</code>,
+ * <code>'abc'</code> or <code>true</code>).  The literals are evaluated and converted to the setter parameter type
+ * up front, exactly as MVEL would convert them on assignment, so initialising a bean is a plain setter call per
+ * property.  Anything else is left to MVEL.
+ */
+final class InitValAssignments implements Consumer<Object> {
+
+    private static final Pattern ASSIGNMENT_PATTERN = Pattern.compile("this\\.(\\w+)\\s*=\\s*\\((.*)\\)\\s*;?", Pattern.DOTALL);
+    private static final Pattern LITERAL_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?[lLdDfF]?|'[^'\\\\]*'|\"[^\"\\\\]*\"|true|false|null");
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class));
+
+    private final Class<?> beanType;
+    private final PropertySetter[] setters;
+    private final Object[] values;
+
+    private InitValAssignments(Class<?> beanType, PropertySetter[] setters, Object[] values) {
+        this.beanType = beanType;
+        this.setters = setters;
+        this.values = values;
+    }
+
+    /**
+     * Compile the initValExpressions of a bean.
+     *
+     * @param expressions       The initValExpressions.
+     * @param beanType          The bean type.
+     * @param generateAccessors True if the setters are to be generated, false if they are to use reflection.
+     * @return The compiled assignments, or null if the expressions are to be evaluated through MVEL.
+     */
+    static InitValAssignments compile(List<String> expressions, Class<?> beanType, boolean generateAccessors) {
+        List<PropertySetter> setters = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+
+        for (String expression : expressions) {
+            Matcher assignment = ASSIGNMENT_PATTERN.matcher(expression.trim());
+            if (!assignment.matches()) {
+                return null;
+            }
+
+            String literal = assignment.group(2).trim();
+            if (!LITERAL_PATTERN.matcher(literal).matches()) {
+                return null;
+            }
+
+            Method setterMethod = getSetterMethod(beanType, assignment.group(1));
+            if (setterMethod == null) {
+                return null;
+            }
+
+            Object value;
+            try {
+                value = toSetterValue(MVEL.eval(literal), setterMethod.getParameterTypes()[0]);
+            } catch (RuntimeException e) {
+                return null;
+            }
+            if (value == null ? setterMethod.getParameterTypes()[0].isPrimitive() : !IMMUTABLE_TYPES.contains(value.getClass())) {
+                // The value is shared by all bean instances...
+                return null;
+            }
+
+            setters.add(PropertySetters.create(setterMethod, generateAccessors));
+            values.add(value);
+        }
+
+        return new InitValAssignments(beanType, setters.toArray(new PropertySetter[0]), values.toArray());
+    }
+
+    private static Method getSetterMethod(Class<?> beanType, String property) {
+        String setterName = ClassUtils.toSetterName(property);
+        Method setterMethod = null;
+
+        for (Method method : beanType.getMethods()) {
+            if (method.getName().equals(setterName) && method.getParameterTypes().length == 1 && !Modifier.isStatic(method.getModifiers())) {
+                if (setterMethod != null) {
+                    // Overloaded. Leave it to MVEL to pick one...
+                    return null;
+                }
+                setterMethod = method;
+            }
+        }
+
+        return setterMethod;
+    }
+
+    private static Object toSetterValue(Object value, Class<?> parameterType) {
+        if (value == null || MethodType.methodType(parameterType).wrap().returnType().isInstance(value)) {
+            return value;
+        }
+        return DataConversion.convert(value, parameterType);
+    }
+
+    /**
+     * Can the assignments be applied to the supplied bean.
+     *
+     * @param bean The bean.
+     * @return True if the bean is of the type the assignments were compiled for, otherwise false.
+     */
+    boolean accepts(Object bean) {
+        return beanType.isInstance(bean);
+    }
+
+    @Override
+    public void accept(Object bean) {
+        for (int i = 0; i < setters.length; i++) {
+            try {
+                setters[i].set(bean, values[i]);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new SmooksException("Error invoking bean setter method [" + setters[i].getMethod() + "] on bean instance class type [" + bean.getClass() + "].", e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + Arrays.toString(setters);
+    }
+}
@@ -0,0 +1,125 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.api.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Record of the bean expressions of an {@link ApplicationContext} that could not be compiled and are interpreted
+ * through MVEL for every bean instance, i.e. the beans on the slow path.
+ * <p/>
+ * Covers the {@link BeanInstanceCreator#INIT_VAL_EXPRESSION initValExpressions} and the <code>mvel:</code> bean
+ * factory expressions.
+ */
+public final class InterpretedExpressionRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterpretedExpressionRegistry.class);
+
+    private static final String CONTEXT_KEY = InterpretedExpressionRegistry.class.getName() + "#CONTEXT_KEY";
+
+    private final Map<String, List<String>> expressionsByBeanId = new TreeMap<>();
+
+    private InterpretedExpressionRegistry() {
+    }
+
+    /**
+     * Get the registry of the supplied application context, creating it if needs be.
+     *
+     * @param appContext The application context.
+     * @return The registry.
+     */
+    public static InterpretedExpressionRegistry getInstance(ApplicationContext appContext) {
+        InterpretedExpressionRegistry registry = (InterpretedExpressionRegistry) appContext.getRegistry().lookup(CONTEXT_KEY);
+
+        if (registry == null) {
+            synchronized (InterpretedExpressionRegistry.class) {
+                registry = (InterpretedExpressionRegistry) appContext.getRegistry().lookup(CONTEXT_KEY);
+                if (registry == null) {
+                    registry = new InterpretedExpressionRegistry();
+                    appContext.getRegistry().registerObject(CONTEXT_KEY, registry);
+                }
+            }
+        }
+
+        return registry;
+    }
+
+    /**
+     * Record an interpreted expression of a bean.
+     *
+     * @param beanId     The bean id name.
+     * @param expression The expression.
+     * @return True if the expression wasn't already recorded for the bean, otherwise false.
+     */
+    public synchronized boolean record(String beanId, String expression) {
+        List<String> expressions = expressionsByBeanId.computeIfAbsent(beanId, key -> new ArrayList<>());
+        if (expressions.contains(expression)) {
+            return false;
+        }
+
+        expressions.add(expression);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Bean [" + beanId + "] expression '" + expression + "' cannot be compiled.  It will be interpreted by MVEL.");
+        }
+        return true;
+    }
+
+    /**
+     * Get the interpreted expressions, by bean id name.
+     *
+     * @return A snapshot of the interpreted expressions.
+     */
+    public synchronized Map<String, List<String>> getInterpretedExpressions() {
+        Map<String, List<String>> snapshot = new TreeMap<>();
+        expressionsByBeanId.forEach((beanId, expressions) -> snapshot.put(beanId, Collections.unmodifiableList(new ArrayList<>(expressions))));
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
@@ -0,0 +1,153 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ApplicationContext;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.engine.lookup.GlobalParamsLookup;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executor of an {@link ApplicationContext} running its {@link BeanInstanceCreator#PARALLEL_BEANS parallel bean}
+ * bindings.
+ * <p/>
+ * The bindings don't run on the JVM wide {@link ForkJoinPool#commonPool() common pool}, so a blocking setter or
+ * decoder doesn't starve unrelated work of the host application.  By default they run on a dedicated pool of
+ * {@link #THREADS} threads, created on first use and shut down when the application context is closed.  An
+ * application can supply an executor of its own instead, through {@link #register(ApplicationContext, Executor)}.
+ */
+public final class ParallelBindingPool {
+
+    /**
+     * Global parameter for the number of threads binding the parallel beans.  Defaults to the number of available
+     * processors.
+     */
+    public static final String THREADS = "org.smooks.cartridges.javabean.parallel.threads";
+
+    private static final String CONTEXT_KEY = ParallelBindingPool.class.getName() + "#CONTEXT_KEY";
+
+    private final Executor executor;
+    private final ForkJoinPool ownedPool;
+
+    private ParallelBindingPool(Executor executor, ForkJoinPool ownedPool) {
+        this.executor = executor;
+        this.ownedPool = ownedPool;
+    }
+
+    /**
+     * Run the parallel bindings of the supplied application context on an executor of the application.  Must be
+     * called before the first execution context is created.  The executor isn't shut down when the application
+     * context is closed.
+     *
+     * @param appContext The application context.
+     * @param executor   The executor.
+     * @return The pool.
+     */
+    public static ParallelBindingPool register(ApplicationContext appContext, Executor executor) {
+        synchronized (ParallelBindingPool.class) {
+            if (appContext.getRegistry().lookup(CONTEXT_KEY) != null) {
+                throw new SmooksConfigException("The parallel bean bindings executor is already in use.  It must be registered before the first execution.");
+            }
+            ParallelBindingPool parallelBindingPool = new ParallelBindingPool(executor, null);
+            appContext.getRegistry().registerObject(CONTEXT_KEY, parallelBindingPool);
+
+            return parallelBindingPool;
+        }
+    }
+
+    /**
+     * Get the pool of the supplied application context, creating it if needs be.
+     *
+     * @param appContext The application context.
+     * @return The pool.
+     */
+    public static ParallelBindingPool getInstance(ApplicationContext appContext) {
+        ParallelBindingPool parallelBindingPool = (ParallelBindingPool) appContext.getRegistry().lookup(CONTEXT_KEY);
+
+        if (parallelBindingPool == null) {
+            synchronized (ParallelBindingPool.class) {
+                parallelBindingPool = (ParallelBindingPool) appContext.getRegistry().lookup(CONTEXT_KEY);
+                if (parallelBindingPool == null) {
+                    String threadsParam = appContext.getRegistry().lookup(new GlobalParamsLookup(appContext.getRegistry())).getParameterValue(THREADS, String.class, String.valueOf(Runtime.getRuntime().availableProcessors()));
+                    int threads;
+                    try {
+                        threads = Integer.parseInt(threadsParam.trim());
+                    } catch (NumberFormatException e) {
+                        throw new SmooksConfigException("Invalid '" + THREADS + "' global parameter value '" + threadsParam + "'.  Must be a number greater than zero.", e);
+                    }
+                    if (threads < 1) {
+                        throw new SmooksConfigException("Invalid '" + THREADS + "' global parameter value '" + threadsParam + "'.  Must be a number greater than zero.");
+                    }
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    parallelBindingPool = new ParallelBindingPool(pool, pool);
+                    appContext.getRegistry().registerObject(CONTEXT_KEY, parallelBindingPool);
+                }
+            }
+        }
+
+        return parallelBindingPool;
+    }
+
+    /**
+     * Get the executor running the bindings.
+     *
+     * @return The executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Shut the dedicated pool down.  Called when the application context is closed.
+     */
+    @PreDestroy
+    public void close() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.SmooksException;
+import org.smooks.api.TypedKey;
+import org.smooks.api.bean.repository.BeanId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Per {@link ExecutionContext} state of the bean bindings run in parallel.
+ * <p/>
+ * The decode and set work of the bindings of a {@link BeanInstanceCreator#PARALLEL_BEANS parallel bean} instance
+ * is collected into a batch while the bean's fragment is filtered, and the batch is handed to the bean's executor
+ * (by default the {@link ParallelBindingPool}) once the fragment ends.  The bean instance itself is created and
+ * wired on the filtering thread, so it holds its place (i.e. document order) in the parent bean.  The batches are
+ * awaited when the fragment of the parent bean ends, and again at the end of the execution.  A batch is only
+ * collected for a bean instance created inside the fragment of one of its parent beans, i.e. a parent fragment
+ * that is known to end after the bean's fragment.  No more than a bounded number of batches are pending at any one
+ * time, the oldest batch being awaited before a new one is handed over.
+ * <p/>
+ * If a batch fails, the bindings of the other pending batches are skipped and the batches drained before the failure
+ * is rethrown, so no binding outlives the failure.
+ */
+final class ParallelBindings {
+
+    private static final TypedKey<ParallelBindings> PARALLEL_BINDINGS_KEY = TypedKey.of();
+
+    private final int maxPending;
+    private final Map<Object, List<Runnable>> openBatches = new IdentityHashMap<>();
+    private final ArrayDeque<Future<?>> pending = new ArrayDeque<>();
+    private final Map<BeanId, Integer> openParentFragments = new HashMap<>();
+    private volatile boolean failed;
+
+    private ParallelBindings(int maxPending) {
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    static ParallelBindings get(ExecutionContext executionContext, int maxPending) {
+        ParallelBindings parallelBindings = executionContext.get(PARALLEL_BINDINGS_KEY);
+
+        if (parallelBindings == null) {
+            parallelBindings = new ParallelBindings(maxPending);
+            executionContext.put(PARALLEL_BINDINGS_KEY, parallelBindings);
+        }
+
+        return parallelBindings;
+    }
+
+    /**
+     * Get the batch collecting the bindings of a bean instance.
+     *
+     * @param executionContext The execution context.
+     * @param bean             The bean instance.
+     * @return The batch, or null if the bean instance doesn't have an open batch and is to be bound straight away.
+     */
+    static List<Runnable> getBatch(ExecutionContext executionContext, Object bean) {
+        ParallelBindings parallelBindings = executionContext.get(PARALLEL_BINDINGS_KEY);
+        return parallelBindings != null ? parallelBindings.openBatches.get(bean) : null;
+    }
+
+    /**
+     * Await all the pending batches of the execution.
+     *
+     * @param executionContext The execution context.
+     */
+    static void join(ExecutionContext executionContext) {
+        ParallelBindings parallelBindings = executionContext.get(PARALLEL_BINDINGS_KEY);
+        if (parallelBindings != null) {
+            parallelBindings.join();
+        }
+    }
+
+    /**
+     * Is a bean listed in the {@link BeanInstanceCreator#PARALLEL_BEANS} parameter.
+     *
+     * @param parallelBeans The comma separated list of bean id names.
+     * @param beanIdName    The bean id name.
+     * @return True if the bean is listed, otherwise false.
+     */
+    static boolean isListed(String parallelBeans, String beanIdName) {
+        for (String parallelBean : parallelBeans.split(",")) {
+            if (parallelBean.trim().equals(beanIdName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Open the batch of a bean instance, if it is created inside the fragment of one of its parent beans.
+     *
+     * @param bean          The bean instance.
+     * @param parentBeanIds The ids of the beans the bean is wired into.
+     */
+    void open(Object bean, Set<BeanId> parentBeanIds) {
+        for (BeanId parentBeanId : parentBeanIds) {
+            if (openParentFragments.containsKey(parentBeanId)) {
+                openBatches.put(bean, new ArrayList<>());
+                return;
+            }
+        }
+    }
+
+    void enterParentFragment(BeanId parentBeanId) {
+        openParentFragments.merge(parentBeanId, 1, Integer::sum);
+    }
+
+    void exitParentFragment(BeanId parentBeanId) {
+        openParentFragments.computeIfPresent(parentBeanId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    void submit(Object bean, Executor executor) {
+        List<Runnable> batch = openBatches.remove(bean);
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        while (pending.size() >= maxPending) {
+            await(pending.poll());
+        }
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            for (Runnable binding : batch) {
+                if (failed) {
+                    return;
+                }
+                binding.run();
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            drain();
+            throw new SmooksException("The parallel bean bindings executor rejected the bindings.  Has the Smooks instance been closed?", e);
+        }
+        pending.add(task);
+    }
+
+    void join() {
+        // Batches of bean instances whose fragment didn't end (e.g. nested instances) are run here...
+        if (!openBatches.isEmpty()) {
+            List<List<Runnable>> batches = new ArrayList<>(openBatches.values());
+            openBatches.clear();
+            for (List<Runnable> batch : batches) {
+                batch.forEach(Runnable::run);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            await(pending.poll());
+        }
+    }
+
+    private void await(Future<?> batch) {
+        try {
+            batch.get();
+        } catch (InterruptedException e) {
+            drain();
+            Thread.currentThread().interrupt();
+            throw new SmooksException("Interrupted while awaiting the parallel bean bindings.", e);
+        } catch (ExecutionException e) {
+            drain();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new SmooksException("Parallel bean binding failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Skip the remaining bindings and wait for the pending batches to stop, so none of them is still setting
+     * properties once the failure is reported.
+     */
+    private void drain() {
+        failed = true;
+        openBatches.clear();
+
+        boolean interrupted = false;
+        while (!pending.isEmpty()) {
+            Future<?> batch = pending.poll();
+            while (true) {
+                try {
+                    batch.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        // Nothing is pending anymore, so the execution can go on binding (e.g. if it doesn't terminate on exception)...
+        failed = false;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.smooks.cartridges.javabean.accessor.PropertyGetter;
+import org.smooks.cartridges.javabean.accessor.PropertyGetters;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.cartridges.javabean.accessor.PropertySetters;
+import org.smooks.support.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Native implementation of the "+=" and "-=" expression bindings on a numeric bean property.
+ * <p/>
+ * Only applies to expressions of the form <code>+= new Integer(_VALUE)</code>, <code>-= Long.parseLong(_VALUE)</code>,
+ * <code>+= new java.math.BigDecimal(_VALUE)</code> etc, where the operand type matches the type of an int, long,
+ * double or BigDecimal property.  The current value is read through the property getter, the decoded value is added
+ * to (or subtracted from) it and the result is written back through the property setter.  Anything the accumulator
+ * can't handle exactly as MVEL would (a null current value, a value that fails to parse, an overflow) is left to the
+ * MVEL expression.
+ *
+ * @see BeanInstancePopulator
+ */
+final class PropertyAccumulator {
+
+    private static final Pattern ACCUMULATOR_PATTERN = Pattern.compile(
+            "([+-])=\\s*(?:new\\s+((?:java\\.lang\\.|java\\.math\\.)?\\w+)|((?:java\\.lang\\.)?\\w+)\\s*\\.\\s*(valueOf|parseInt|parseLong|parseDouble))"
+                    + "\\s*\\(\\s*" + BeanInstancePopulator.EXPRESSION_VALUE_VARIABLE_NAME + "\\s*\\)\\s*;?");
+
+    private enum Kind {
+        INT, LONG, DOUBLE, BIG_DECIMAL
+    }
+
+    private final Kind kind;
+    private final boolean subtract;
+    private final PropertyGetter getter;
+    private final PropertySetter setter;
+
+    private PropertyAccumulator(Kind kind, boolean subtract, PropertyGetter getter, PropertySetter setter) {
+        this.kind = kind;
+        this.subtract = subtract;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Create an accumulator for the supplied binding expression.
+     *
+     * @param expression        The binding expression, as configured (i.e. starting with "+=" or "-=").
+     * @param beanType          The bean type.
+     * @param property          The bean property.
+     * @param generateAccessors True if the getter and setter are to be generated, false if they are to use reflection.
+     * @return The accumulator, or null if the expression or property is not supported.
+     */
+    static PropertyAccumulator create(String expression, Class<?> beanType, String property, boolean generateAccessors) {
+        Matcher matcher = ACCUMULATOR_PATTERN.matcher(expression);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        Kind kind;
+        if (matcher.group(2) != null) {
+            kind = toKind(matcher.group(2), "java.lang.", "java.math.");
+        } else {
+            kind = toKind(matcher.group(3), "java.lang.");
+            if (kind == null || kind == Kind.BIG_DECIMAL || !isParseMethod(kind, matcher.group(4))) {
+                return null;
+            }
+        }
+        if (kind == null) {
+            return null;
+        }
+
+        Method getterMethod;
+        try {
+            getterMethod = beanType.getMethod(ClassUtils.toGetterName(property));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        Class<?> propertyType = getterMethod.getReturnType();
+        if (!isPropertyType(kind, propertyType)) {
+            return null;
+        }
+
+        Method setterMethod = ClassUtils.getSetterMethod(ClassUtils.toSetterName(property), beanType, propertyType);
+        if (setterMethod == null) {
+            return null;
+        }
+
+        return new PropertyAccumulator(kind, matcher.group(1).equals("-"), PropertyGetters.create(getterMethod, generateAccessors), PropertySetters.create(setterMethod, generateAccessors));
+    }
+
+    private static Kind toKind(String typeName, String... packages) {
+        String packageName = "";
+        for (String candidatePackage : packages) {
+            if (typeName.startsWith(candidatePackage)) {
+                packageName = candidatePackage;
+                typeName = typeName.substring(candidatePackage.length());
+                break;
+            }
+        }
+        if (typeName.equals("BigDecimal") != packageName.equals("java.math.")) {
+            // MVEL doesn't import java.math, so BigDecimal is only resolvable by its full name...
+            return null;
+        }
+
+        switch (typeName) {
+            case "Integer":
+                return Kind.INT;
+            case "Long":
+                return Kind.LONG;
+            case "Double":
+                return Kind.DOUBLE;
+            case "BigDecimal":
+                return Kind.BIG_DECIMAL;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isParseMethod(Kind kind, String methodName) {
+        if (methodName.equals("valueOf")) {
+            return true;
+        }
+        switch (kind) {
+            case INT:
+                return methodName.equals("parseInt");
+            case LONG:
+                return methodName.equals("parseLong");
+            default:
+                return methodName.equals("parseDouble");
+        }
+    }
+
+    private static boolean isPropertyType(Kind kind, Class<?> propertyType) {
+        switch (kind) {
+            case INT:
+                return propertyType == Integer.TYPE || propertyType == Integer.class;
+            case LONG:
+                return propertyType == Long.TYPE || propertyType == Long.class;
+            case DOUBLE:
+                return propertyType == Double.TYPE || propertyType == Double.class;
+            default:
+                return propertyType == BigDecimal.class;
+        }
+    }
+
+    /**
+     * Add the value to, or subtract it from, the bean property.
+     *
+     * @param bean       The bean.
+     * @param dataString The value.
+     * @return True if the property was updated, false if the binding is to be evaluated through its expression.
+     * @throws IllegalAccessException    The getter or setter method is not accessible.
+     * @throws InvocationTargetException The getter or setter method threw an exception.
+     */
+    boolean accumulate(Object bean, String dataString) throws IllegalAccessException, InvocationTargetException {
+        if (dataString == null || !getter.getMethod().getDeclaringClass().isInstance(bean)) {
+            return false;
+        }
+
+        Object current;
+        switch (kind) {
+            case INT:
+                int intValue;
+                try {
+                    intValue = Integer.parseInt(dataString);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                int intCurrent;
+                if (getter.getMethod().getReturnType().isPrimitive()) {
+                    intCurrent = getter.getInt(bean);
+                } else if ((current = getter.get(bean)) != null) {
+                    intCurrent = (Integer) current;
+                } else {
+                    return false;
+                }
+                long intResult = subtract ? (long) intCurrent - intValue : (long) intCurrent + intValue;
+                if (intResult != (int) intResult) {
+                    return false;
+                }
+                setter.setInt(bean, (int) intResult);
+                return true;
+            case LONG:
+                long longValue;
+                try {
+                    longValue = Long.parseLong(dataString);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                long longCurrent;
+                if (getter.getMethod().getReturnType().isPrimitive()) {
+                    longCurrent = getter.getLong(bean);
+                } else if ((current = getter.get(bean)) != null) {
+                    longCurrent = (Long) current;
+                } else {
+                    return false;
+                }
+                long longResult;
+                try {
+                    longResult = subtract ? Math.subtractExact(longCurrent, longValue) : Math.addExact(longCurrent, longValue);
+                } catch (ArithmeticException e) {
+                    return false;
+                }
+                setter.setLong(bean, longResult);
+                return true;
+            case DOUBLE:
+                double doubleValue;
+                try {
+                    doubleValue = Double.parseDouble(dataString);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                double doubleCurrent;
+                if (getter.getMethod().getReturnType().isPrimitive()) {
+                    doubleCurrent = getter.getDouble(bean);
+                } else if ((current = getter.get(bean)) != null) {
+                    doubleCurrent = (Double) current;
+                } else {
+                    return false;
+                }
+                setter.setDouble(bean, subtract ? doubleCurrent - doubleValue : doubleCurrent + doubleValue);
+                return true;
+            default:
+                BigDecimal decimalValue;
+                try {
+                    decimalValue = new BigDecimal(dataString);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                BigDecimal decimalCurrent = (BigDecimal) getter.get(bean);
+                if (decimalCurrent == null) {
+                    return false;
+                }
+                // MVEL does its BigDecimal arithmetic in the DECIMAL128 context...
+                setter.set(bean, subtract ? decimalCurrent.subtract(decimalValue, MathContext.DECIMAL128) : decimalCurrent.add(decimalValue, MathContext.DECIMAL128));
+                return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (subtract ? "-= " : "+= ") + kind + " [" + getter.getMethod() + ", " + setter.getMethod() + "]";
+    }
+}
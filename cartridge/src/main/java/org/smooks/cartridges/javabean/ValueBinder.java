@@ -48,6 +48,7 @@ import org.smooks.api.ApplicationContext;
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.SmooksConfigException;
 import org.smooks.api.SmooksException;
+import org.smooks.api.TypedKey;
 import org.smooks.api.bean.context.BeanContext;
 import org.smooks.api.bean.repository.BeanId;
 import org.smooks.api.converter.TypeConverter;
@@ -60,10 +61,11 @@ import org.smooks.api.resource.visitor.VisitBeforeReport;
 import org.smooks.api.resource.visitor.sax.ng.AfterVisitor;
 import org.smooks.api.resource.visitor.sax.ng.BeforeVisitor;
 import org.smooks.api.resource.visitor.sax.ng.ChildrenVisitor;
+import org.smooks.cartridges.javabean.converter.TypeConverters;
+import org.smooks.cartridges.javabean.metrics.BindingMetrics;
+import org.smooks.cartridges.javabean.metrics.BindingStats;
 import org.smooks.engine.delivery.fragment.NodeFragment;
 import org.smooks.engine.lookup.converter.NameTypeConverterFactoryLookup;
-import org.smooks.engine.memento.TextAccumulatorMemento;
-import org.smooks.engine.memento.TextAccumulatorVisitorMemento;
 import org.smooks.support.DomUtils;
 import org.w3c.dom.CharacterData;
 import org.w3c.dom.Element;
@@ -165,8 +167,16 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
 
     protected boolean isAttribute;
 
+    @Inject
+    @Named(BindingMetrics.ENABLED)
+    protected Boolean metricsEnabled = false;
+
     protected TypeConverter<? super String, ?> typeConverter;
 
+    protected BindingStats metrics;
+
+    protected final TypedKey<FragmentTextBuffer> textBufferKey = TypedKey.of();
+
     /**
      *
      */
@@ -250,6 +260,13 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
         this.typeConverter = typeConverter;
     }
 
+    /**
+     * @param metricsEnabled true if the {@link BindingMetrics} are to be recorded
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
     /**
      * Set the resource configuration on the bean populator.
      *
@@ -261,6 +278,10 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
 
         beanId = applicationContext.getBeanIdStore().register(beanIdName);
 
+        if (metricsEnabled) {
+            metrics = BindingMetrics.getInstance(applicationContext).getStats(beanIdName, null);
+        }
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Value Binder created for [{}]", beanIdName);
         }
@@ -270,16 +291,15 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
     public void visitBefore(Element element, ExecutionContext executionContext) throws SmooksException {
         if (isAttribute) {
             bindValue(DomUtils.getAttributeValue(element, valueAttributeName.orElse(null)), executionContext, new NodeFragment(element));
+        } else {
+            FragmentTextBuffer.get(executionContext, textBufferKey).open();
         }
     }
 
     @Override
     public void visitAfter(Element element, ExecutionContext executionContext) throws SmooksException {
         if (!isAttribute) {
-            NodeFragment nodeFragment = new NodeFragment(element);
-            TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorVisitorMemento(nodeFragment, this);
-            executionContext.getMementoCaretaker().restore(textAccumulatorMemento);
-            bindValue(textAccumulatorMemento.getText(), executionContext, nodeFragment);
+            bindValue(FragmentTextBuffer.get(executionContext, textBufferKey).close(), executionContext, new NodeFragment(element));
         }
     }
 
@@ -292,6 +312,9 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
             beanContext.removeBean(beanId, source);
         } else {
             beanContext.addBean(beanId, valueObj, source);
+            if (metrics != null) {
+                metrics.valueBound();
+            }
         }
     }
 
@@ -307,11 +330,21 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
             dataString = defaultValue.get();
         }
 
+        long start = metrics != null ? System.nanoTime() : 0L;
+        Object value;
         try {
-            return getTypeConverter(executionContext).convert(dataString);
+            value = getTypeConverter(executionContext).convert(dataString);
         } catch (TypeConverterException e) {
+            if (metrics != null) {
+                metrics.decodeFailed();
+            }
             throw new TypeConverterException("Failed to convert the value '" + dataString + "' for the bean id '" + beanIdName + "'.", e);
         }
+        if (metrics != null) {
+            metrics.converted(System.nanoTime() - start);
+        }
+
+        return value;
     }
 
     protected TypeConverter<? super String, ?> getTypeConverter(ExecutionContext executionContext) throws TypeConverterException {
@@ -320,11 +353,11 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
             List<?> decoders = executionContext.getContentDeliveryRuntime().getContentDeliveryConfig().getObjects("decoder:" + typeAlias);
 
             if (decoders == null || decoders.isEmpty()) {
-                typeConverter = applicationContext.getRegistry().lookup(new NameTypeConverterFactoryLookup<>(typeAlias)).createTypeConverter();
+                typeConverter = TypeConverters.threadSafeTypeConverter(applicationContext.getRegistry().lookup(new NameTypeConverterFactoryLookup<>(typeAlias)));
             } else if (!(decoders.get(0) instanceof TypeConverterFactory)) {
                 throw new TypeConverterException("Configured type converter factory '" + typeAlias + ":" + decoders.get(0).getClass().getName() + "' is not an instance of " + TypeConverterFactory.class.getName());
             } else {
-                typeConverter = ((TypeConverterFactory<String, ?>) decoders.get(0)).createTypeConverter();
+                typeConverter = TypeConverters.threadSafeTypeConverter((TypeConverterFactory<String, ?>) decoders.get(0));
             }
         }
         return typeConverter;
@@ -333,9 +366,7 @@ public class ValueBinder implements BeforeVisitor, AfterVisitor, ChildrenVisitor
     @Override
     public void visitChildText(CharacterData characterData, ExecutionContext executionContext) throws SmooksException {
         if (!isAttribute) {
-            TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorVisitorMemento(new NodeFragment(characterData.getParentNode()), this);
-            textAccumulatorMemento.accumulateText(characterData.getTextContent());
-            executionContext.getMementoCaretaker().capture(textAccumulatorMemento);
+            FragmentTextBuffer.get(executionContext, textBufferKey).append(characterData.getTextContent());
         }
     }
 
@@ -0,0 +1,195 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.api.ApplicationContext;
+import org.smooks.api.bean.context.BeanIdStore;
+import org.smooks.api.bean.lifecycle.BeanLifecycle;
+import org.smooks.api.bean.repository.BeanId;
+import org.smooks.cartridges.javabean.binding.model.Bean;
+import org.smooks.cartridges.javabean.binding.model.Binding;
+import org.smooks.cartridges.javabean.binding.model.ModelSet;
+import org.smooks.cartridges.javabean.binding.model.WiredBinding;
+import org.smooks.cartridges.javabean.observers.BeanContextObserverIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Static bean wiring plan of an {@link ApplicationContext}, derived from its {@link ModelSet}.
+ * <p/>
+ * The plan holds the <code>beanIdRef</code> wirings that are known to wire a bean created by a
+ * {@link BeanInstanceCreator} into the bean of another {@link BeanInstanceCreator}.  Array beans are left out
+ * because they are only wired once converted from a List.  The populators of the planned wirings can attach the
+ * wired bean to its parent through a single {@link CompiledWirings} subscriber per execution, instead of
+ * registering a {@link org.smooks.cartridges.javabean.observers.BeanWiringObserver} per parent bean instance.
+ * See {@link BeanInstancePopulator#COMPILED_WIRING}.
+ */
+public final class WiringPlan {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WiringPlan.class);
+
+    private static final String CONTEXT_KEY = WiringPlan.class.getName() + "#CONTEXT_KEY";
+
+    private final Map<BeanId, Set<BeanId>> wiredBeansByParent = new HashMap<>();
+    private final Map<BeanId, Set<BeanId>> parentBeansByWiredBean = new LinkedHashMap<>();
+    private final BeanContextObserverIndex.Subscription[] subscriptions;
+
+    private WiringPlan(ModelSet modelSet, BeanIdStore beanIdStore) {
+        if (modelSet != null) {
+            for (Bean model : modelSet.getModels().values()) {
+                for (Binding binding : model.getBindings()) {
+                    if (binding instanceof WiredBinding && isPlannable((WiredBinding) binding)) {
+                        BeanId parentBeanId = getBeanId(beanIdStore, model.getBeanId());
+                        BeanId wiredBeanId = getBeanId(beanIdStore, ((WiredBinding) binding).getWiredBeanId());
+
+                        wiredBeansByParent.computeIfAbsent(parentBeanId, key -> new LinkedHashSet<>()).add(wiredBeanId);
+                        parentBeansByWiredBean.computeIfAbsent(wiredBeanId, key -> new LinkedHashSet<>()).add(parentBeanId);
+                    }
+                }
+            }
+        }
+
+        List<BeanContextObserverIndex.Subscription> subscriptionList = new ArrayList<>();
+        for (BeanId wiredBeanId : parentBeansByWiredBean.keySet()) {
+            subscriptionList.add(BeanContextObserverIndex.Subscription.of(BeanLifecycle.ADD, wiredBeanId));
+        }
+        for (BeanId parentBeanId : wiredBeansByParent.keySet()) {
+            subscriptionList.add(BeanContextObserverIndex.Subscription.of(BeanLifecycle.REMOVE, parentBeanId));
+        }
+        subscriptions = subscriptionList.toArray(new BeanContextObserverIndex.Subscription[0]);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Bean wiring plan: " + wiredBeansByParent);
+        }
+    }
+
+    /**
+     * Get the wiring plan of the supplied application context, creating it if needs be.
+     * <p/>
+     * The plan is derived from the application context's {@link ModelSet}, so should only be requested once the
+     * content delivery configuration has been built.
+     *
+     * @param appContext The application context.
+     * @return The wiring plan.
+     */
+    public static WiringPlan getInstance(ApplicationContext appContext) {
+        WiringPlan wiringPlan = (WiringPlan) appContext.getRegistry().lookup(CONTEXT_KEY);
+
+        if (wiringPlan == null) {
+            synchronized (WiringPlan.class) {
+                wiringPlan = (WiringPlan) appContext.getRegistry().lookup(CONTEXT_KEY);
+                if (wiringPlan == null) {
+                    wiringPlan = new WiringPlan(ModelSet.get(appContext), appContext.getBeanIdStore());
+                    appContext.getRegistry().registerObject(CONTEXT_KEY, wiringPlan);
+                }
+            }
+        }
+
+        return wiringPlan;
+    }
+
+    /**
+     * Is the wiring of a bean into a parent bean covered by the plan.
+     *
+     * @param parentBeanId The parent bean id.
+     * @param wiredBeanId  The wired bean id.
+     * @return True if the wiring is covered by the plan, otherwise false.
+     */
+    public boolean isPlanned(BeanId parentBeanId, BeanId wiredBeanId) {
+        return getWiredBeans(parentBeanId).contains(wiredBeanId);
+    }
+
+    /**
+     * Get the ids of the beans the plan wires into a parent bean.
+     *
+     * @param parentBeanId The parent bean id.
+     * @return The wired bean ids.
+     */
+    public Set<BeanId> getWiredBeans(BeanId parentBeanId) {
+        return wiredBeansByParent.getOrDefault(parentBeanId, Collections.emptySet());
+    }
+
+    /**
+     * Does the plan wire a bean into a parent bean.
+     *
+     * @param wiredBeanId The wired bean id.
+     * @return True if the plan wires the bean into at least one parent bean, otherwise false.
+     */
+    public boolean isWired(BeanId wiredBeanId) {
+        return parentBeansByWiredBean.containsKey(wiredBeanId);
+    }
+
+    /**
+     * Get the ids of the parent beans the plan wires a bean into.
+     *
+     * @param wiredBeanId The wired bean id.
+     * @return The parent bean ids.
+     */
+    public Set<BeanId> getParentBeans(BeanId wiredBeanId) {
+        return parentBeansByWiredBean.getOrDefault(wiredBeanId, Collections.emptySet());
+    }
+
+    BeanContextObserverIndex.Subscription[] getSubscriptions() {
+        return subscriptions;
+    }
+
+    private static boolean isPlannable(WiredBinding binding) {
+        Bean wiredBean = binding.getWiredBean();
+
+        return binding.getWiredBeanId() != null && wiredBean != null && wiredBean.getCreator().getBeanRuntimeInfo().getClassification() != BeanRuntimeInfo.Classification.ARRAY_COLLECTION;
+    }
+
+    private static BeanId getBeanId(BeanIdStore beanIdStore, String beanIdName) {
+        BeanId beanId = beanIdStore.getBeanId(beanIdName);
+        return beanId != null ? beanId : beanIdStore.register(beanIdName);
+    }
+}
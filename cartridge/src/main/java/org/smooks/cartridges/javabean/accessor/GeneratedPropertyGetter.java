@@ -0,0 +1,140 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link PropertyGetter} that invokes the getter method through a {@link Function} generated by the
+ * {@link java.lang.invoke.LambdaMetafactory}.
+ * <p/>
+ * Beans that are not an instance of the declaring type are handed to the reflective getter so that
+ * argument errors behave exactly as they do with reflection.
+ * <p/>
+ * Getters returning an int, long or double also get a generated primitive function so as the primitive
+ * get methods don't box the value.
+ */
+class GeneratedPropertyGetter implements PropertyGetter {
+
+    private final Function<Object, Object> getter;
+    private final Object primitiveGetter;
+    private final Class<?> beanType;
+    private final PropertyGetter reflectiveGetter;
+
+    GeneratedPropertyGetter(Function<Object, Object> getter, Object primitiveGetter, Class<?> beanType, PropertyGetter reflectiveGetter) {
+        this.getter = getter;
+        this.primitiveGetter = primitiveGetter;
+        this.beanType = beanType;
+        this.reflectiveGetter = reflectiveGetter;
+    }
+
+    @Override
+    public Object get(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (!beanType.isInstance(bean)) {
+            return reflectiveGetter.get(bean);
+        }
+
+        try {
+            return getter.apply(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int getInt(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveGetter instanceof ToIntFunction) || !beanType.isInstance(bean)) {
+            return (Integer) get(bean);
+        }
+
+        try {
+            return ((ToIntFunction<Object>) primitiveGetter).applyAsInt(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long getLong(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveGetter instanceof ToLongFunction) || !beanType.isInstance(bean)) {
+            return (Long) get(bean);
+        }
+
+        try {
+            return ((ToLongFunction<Object>) primitiveGetter).applyAsLong(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public double getDouble(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveGetter instanceof ToDoubleFunction) || !beanType.isInstance(bean)) {
+            return (Double) get(bean);
+        }
+
+        try {
+            return ((ToDoubleFunction<Object>) primitiveGetter).applyAsDouble(bean);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public Method getMethod() {
+        return reflectiveGetter.getMethod();
+    }
+
+    @Override
+    public String toString() {
+        return "Generated[" + getMethod() + "]";
+    }
+}
@@ -0,0 +1,161 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link PropertySetter} that invokes the setter method through a {@link BiConsumer} generated by the
+ * {@link java.lang.invoke.LambdaMetafactory}.
+ * <p/>
+ * Beans and values that are not an instance of the declaring type and (boxed) setter parameter type
+ * respectively are handed to the reflective setter so that widening conversions and argument errors
+ * behave exactly as they do with reflection.
+ * <p/>
+ * Setters taking an int, long, double or boolean also get a generated primitive consumer so as the
+ * primitive set methods don't box the value.
+ */
+class GeneratedPropertySetter implements PropertySetter {
+
+    private final BiConsumer<Object, Object> setter;
+    private final Class<?> beanType;
+    private final Class<?> valueType;
+    private final PropertySetter reflectiveSetter;
+    private final Object primitiveSetter;
+
+    GeneratedPropertySetter(BiConsumer<Object, Object> setter, Object primitiveSetter, Class<?> beanType, Class<?> valueType, PropertySetter reflectiveSetter) {
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+        this.beanType = beanType;
+        this.valueType = valueType;
+        this.reflectiveSetter = reflectiveSetter;
+    }
+
+    @Override
+    public void set(Object bean, Object value) throws IllegalAccessException, InvocationTargetException {
+        if (!beanType.isInstance(bean) || !valueType.isInstance(value)) {
+            reflectiveSetter.set(bean, value);
+            return;
+        }
+
+        try {
+            setter.accept(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setInt(Object bean, int value) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveSetter instanceof ObjIntConsumer) || !beanType.isInstance(bean)) {
+            set(bean, value);
+            return;
+        }
+
+        try {
+            ((ObjIntConsumer<Object>) primitiveSetter).accept(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setLong(Object bean, long value) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveSetter instanceof ObjLongConsumer) || !beanType.isInstance(bean)) {
+            set(bean, value);
+            return;
+        }
+
+        try {
+            ((ObjLongConsumer<Object>) primitiveSetter).accept(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setDouble(Object bean, double value) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveSetter instanceof ObjDoubleConsumer) || !beanType.isInstance(bean)) {
+            set(bean, value);
+            return;
+        }
+
+        try {
+            ((ObjDoubleConsumer<Object>) primitiveSetter).accept(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object bean, boolean value) throws IllegalAccessException, InvocationTargetException {
+        if (!(primitiveSetter instanceof PropertySetters.ObjBooleanConsumer) || !beanType.isInstance(bean)) {
+            set(bean, value);
+            return;
+        }
+
+        try {
+            ((PropertySetters.ObjBooleanConsumer) primitiveSetter).accept(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public Method getMethod() {
+        return reflectiveSetter.getMethod();
+    }
+
+    @Override
+    public String toString() {
+        return "Generated[" + getMethod() + "]";
+    }
+}
@@ -0,0 +1,296 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.assertion.AssertArgument;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * {@link Instantiator} and {@link FactoryMethodInstantiator} factory methods.
+ * <p/>
+ * Instantiators are generated {@link Supplier Suppliers} (or {@link Function Functions} for factory methods) when the constructor or factory method, its declaring
+ * class and the type it creates are public and visible from this cartridge's class loader.  Otherwise, or if
+ * generation fails for whatever reason, the instantiator falls back to reflection.
+ *
+ * @see PropertySetters
+ */
+public final class Instantiators {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Instantiators.class);
+
+    private static final MethodType GET_TYPE = MethodType.methodType(Object.class);
+
+    private Instantiators() {
+
+    }
+
+    /**
+     * Create an {@link Instantiator} for the public default constructor of the supplied type.
+     *
+     * @param type     The type to be instantiated.
+     * @param generate True if the instantiator is to be generated, false if it is to use reflection.
+     * @return The instantiator.
+     * @throws NoSuchMethodException The type doesn't have a public default constructor.
+     */
+    public static Instantiator forConstructor(Class<?> type, boolean generate) throws NoSuchMethodException {
+        AssertArgument.isNotNull(type, "type");
+
+        Constructor<?> constructor = type.getConstructor();
+        if (generate && !Modifier.isAbstract(type.getModifiers()) && PropertySetters.isVisible(type)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                return new GeneratedInstantiator(generateSupplier(lookup, lookup.unreflectConstructor(constructor), MethodType.methodType(Supplier.class), type), constructor);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate instantiator for [" + constructor + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return new ReflectiveInstantiator(constructor::newInstance, constructor);
+    }
+
+    /**
+     * Create an {@link Instantiator} for the public <code>int</code> (capacity) constructor of the supplied type,
+     * e.g. {@link java.util.ArrayList#ArrayList(int)}.
+     *
+     * @param type     The type to be instantiated.
+     * @param capacity The argument passed to the constructor.
+     * @param generate True if the instantiator is to be generated, false if it is to use reflection.
+     * @return The instantiator.
+     * @throws NoSuchMethodException The type doesn't have a public <code>int</code> constructor.
+     */
+    @SuppressWarnings("unchecked")
+    public static Instantiator forConstructor(Class<?> type, int capacity, boolean generate) throws NoSuchMethodException {
+        AssertArgument.isNotNull(type, "type");
+
+        Constructor<?> constructor = type.getConstructor(Integer.TYPE);
+        if (generate && !Modifier.isAbstract(type.getModifiers()) && PropertySetters.isVisible(type)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(IntFunction.class), MethodType.methodType(Object.class, Integer.TYPE),
+                        lookup.unreflectConstructor(constructor), MethodType.methodType(type, Integer.TYPE));
+                IntFunction<Object> function = (IntFunction<Object>) callSite.getTarget().invoke();
+
+                return new GeneratedInstantiator(() -> function.apply(capacity), constructor);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate instantiator for [" + constructor + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return new ReflectiveInstantiator(() -> constructor.newInstance(capacity), constructor);
+    }
+
+    /**
+     * Create an {@link Instantiator} for a public static no-argument factory method.
+     *
+     * @param factoryMethod The static factory method.
+     * @param generate      True if the instantiator is to be generated, false if it is to use reflection.
+     * @return The instantiator.
+     */
+    public static Instantiator forStaticMethod(Method factoryMethod, boolean generate) {
+        AssertArgument.isNotNull(factoryMethod, "factoryMethod");
+        if (!Modifier.isStatic(factoryMethod.getModifiers())) {
+            throw new IllegalArgumentException("Factory method [" + factoryMethod + "] is not static.");
+        }
+
+        if (generate && isGeneratable(factoryMethod)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                return new GeneratedInstantiator(generateSupplier(lookup, lookup.unreflect(factoryMethod), MethodType.methodType(Supplier.class), factoryMethod.getReturnType()), factoryMethod);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate instantiator for [" + factoryMethod + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return new ReflectiveInstantiator(() -> factoryMethod.invoke(null), factoryMethod);
+    }
+
+    /**
+     * Create a {@link FactoryMethodInstantiator} for a public no-argument factory method on a factory object.
+     * <p/>
+     * The factory object is passed to every call rather than bound up front, so the same instantiator serves
+     * a factory object that is retrieved anew for every object creation.
+     *
+     * @param factoryMethod The factory method.
+     * @param generate      True if the instantiator is to be generated, false if it is to use reflection.
+     * @return The instantiator.
+     */
+    @SuppressWarnings("unchecked")
+    public static FactoryMethodInstantiator forFactoryMethod(Method factoryMethod, boolean generate) {
+        AssertArgument.isNotNull(factoryMethod, "factoryMethod");
+        if (Modifier.isStatic(factoryMethod.getModifiers())) {
+            throw new IllegalArgumentException("Factory method [" + factoryMethod + "] is static.");
+        }
+
+        if (generate && isGeneratable(factoryMethod)) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+                        lookup.unreflect(factoryMethod), MethodType.methodType(factoryMethod.getReturnType(), factoryMethod.getDeclaringClass()));
+
+                return new GeneratedFactoryMethodInstantiator((Function<Object, Object>) callSite.getTarget().invoke(), factoryMethod);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate instantiator for [" + factoryMethod + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return new ReflectiveFactoryMethodInstantiator(factoryMethod);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> generateSupplier(MethodHandles.Lookup lookup, MethodHandle implementation, MethodType invokedType, Class<?> createdType) throws Throwable {
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", invokedType, GET_TYPE, implementation, MethodType.methodType(createdType));
+        return (Supplier<Object>) callSite.getTarget().invoke();
+    }
+
+    private static boolean isGeneratable(Method factoryMethod) {
+        return factoryMethod.getParameterTypes().length == 0
+                && Modifier.isPublic(factoryMethod.getModifiers())
+                && !factoryMethod.getReturnType().isPrimitive()
+                && PropertySetters.isVisible(factoryMethod.getDeclaringClass())
+                && PropertySetters.isVisible(factoryMethod.getReturnType());
+    }
+
+    private static final class GeneratedInstantiator implements Instantiator {
+
+        private final Supplier<Object> supplier;
+        private final Object source;
+
+        private GeneratedInstantiator(Supplier<Object> supplier, Object source) {
+            this.supplier = supplier;
+            this.source = source;
+        }
+
+        @Override
+        public Object newInstance() throws InvocationTargetException {
+            try {
+                return supplier.get();
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Generated[" + source + "]";
+        }
+    }
+
+    private static final class ReflectiveInstantiator implements Instantiator {
+
+        private final Instantiator instantiator;
+        private final Object source;
+
+        private ReflectiveInstantiator(Instantiator instantiator, Object source) {
+            this.instantiator = instantiator;
+            this.source = source;
+        }
+
+        @Override
+        public Object newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            return instantiator.newInstance();
+        }
+
+        @Override
+        public String toString() {
+            return "Reflective[" + source + "]";
+        }
+    }
+
+    private static final class GeneratedFactoryMethodInstantiator implements FactoryMethodInstantiator {
+
+        private final Function<Object, Object> function;
+        private final Method factoryMethod;
+
+        private GeneratedFactoryMethodInstantiator(Function<Object, Object> function, Method factoryMethod) {
+            this.function = function;
+            this.factoryMethod = factoryMethod;
+        }
+
+        @Override
+        public Object newInstance(Object factory) throws InvocationTargetException {
+            try {
+                return function.apply(factory);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Generated[" + factoryMethod + "]";
+        }
+    }
+
+    private static final class ReflectiveFactoryMethodInstantiator implements FactoryMethodInstantiator {
+
+        private final Method factoryMethod;
+
+        private ReflectiveFactoryMethodInstantiator(Method factoryMethod) {
+            this.factoryMethod = factoryMethod;
+        }
+
+        @Override
+        public Object newInstance(Object factory) throws IllegalAccessException, InvocationTargetException {
+            return factoryMethod.invoke(factory);
+        }
+
+        @Override
+        public String toString() {
+            return "Reflective[" + factoryMethod + "]";
+        }
+    }
+}
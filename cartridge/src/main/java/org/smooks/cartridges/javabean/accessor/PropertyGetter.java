@@ -0,0 +1,111 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Property getter.
+ * <p/>
+ * Reads a value from a bean through the bean's getter {@link Method}.  Implementations follow the
+ * {@link Method#invoke(Object, Object...)} contract, so exceptions thrown by the getter itself are
+ * wrapped in an {@link InvocationTargetException}.
+ *
+ * @see PropertyGetters
+ */
+public interface PropertyGetter {
+
+    /**
+     * Get the value from the bean.
+     *
+     * @param bean The source bean.
+     * @return The property value.
+     * @throws IllegalAccessException    The getter method is not accessible.
+     * @throws InvocationTargetException The getter method threw an exception.
+     */
+    Object get(Object bean) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Get an int value from the bean.  Implementations backed by an int getter avoid boxing the value.
+     *
+     * @param bean The source bean.
+     * @return The property value.
+     * @throws IllegalAccessException    The getter method is not accessible.
+     * @throws InvocationTargetException The getter method threw an exception.
+     */
+    default int getInt(Object bean) throws IllegalAccessException, InvocationTargetException {
+        return (Integer) get(bean);
+    }
+
+    /**
+     * Get a long value from the bean.  Implementations backed by a long getter avoid boxing the value.
+     *
+     * @param bean The source bean.
+     * @return The property value.
+     * @throws IllegalAccessException    The getter method is not accessible.
+     * @throws InvocationTargetException The getter method threw an exception.
+     */
+    default long getLong(Object bean) throws IllegalAccessException, InvocationTargetException {
+        return (Long) get(bean);
+    }
+
+    /**
+     * Get a double value from the bean.  Implementations backed by a double getter avoid boxing the value.
+     *
+     * @param bean The source bean.
+     * @return The property value.
+     * @throws IllegalAccessException    The getter method is not accessible.
+     * @throws InvocationTargetException The getter method threw an exception.
+     */
+    default double getDouble(Object bean) throws IllegalAccessException, InvocationTargetException {
+        return (Double) get(bean);
+    }
+
+    /**
+     * Get the getter method behind this property getter.
+     *
+     * @return The getter method.
+     */
+    Method getMethod();
+}
@@ -0,0 +1,144 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.assertion.AssertArgument;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link PropertyGetter} factory methods.
+ * <p/>
+ * Getters are generated with the {@link LambdaMetafactory} under the same conditions as {@link PropertySetters}
+ * generates setters, and fall back to reflection otherwise.
+ */
+public final class PropertyGetters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyGetters.class);
+
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private PropertyGetters() {
+
+    }
+
+    /**
+     * Create a {@link PropertyGetter} for the supplied getter method.
+     *
+     * @param getterMethod The getter method.
+     * @param generate     True if the getter is to be generated, false if it is to use reflection.
+     * @return The property getter.
+     */
+    public static PropertyGetter create(Method getterMethod, boolean generate) {
+        AssertArgument.isNotNull(getterMethod, "getterMethod");
+
+        PropertyGetter reflectiveGetter = new ReflectivePropertyGetter(getterMethod);
+        if (generate && isGeneratable(getterMethod)) {
+            try {
+                return generate(getterMethod, reflectiveGetter);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate property getter for [" + getterMethod + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return reflectiveGetter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropertyGetter generate(Method getterMethod, PropertyGetter reflectiveGetter) throws Throwable {
+        Class<?> beanType = getterMethod.getDeclaringClass();
+        Class<?> returnType = getterMethod.getReturnType();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle getterHandle = lookup.unreflect(getterMethod);
+
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", FUNCTION_TYPE, APPLY_TYPE, getterHandle,
+                MethodType.methodType(returnType, beanType).wrap());
+        Function<Object, Object> getter = (Function<Object, Object>) callSite.getTarget().invoke();
+
+        return new GeneratedPropertyGetter(getter, generatePrimitiveGetter(lookup, getterHandle, beanType, returnType), beanType, reflectiveGetter);
+    }
+
+    private static Object generatePrimitiveGetter(MethodHandles.Lookup lookup, MethodHandle getterHandle, Class<?> beanType, Class<?> returnType) throws Throwable {
+        Class<?> functionType;
+        String methodName;
+        if (returnType == Integer.TYPE) {
+            functionType = ToIntFunction.class;
+            methodName = "applyAsInt";
+        } else if (returnType == Long.TYPE) {
+            functionType = ToLongFunction.class;
+            methodName = "applyAsLong";
+        } else if (returnType == Double.TYPE) {
+            functionType = ToDoubleFunction.class;
+            methodName = "applyAsDouble";
+        } else {
+            return null;
+        }
+
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionType), MethodType.methodType(returnType, Object.class), getterHandle,
+                MethodType.methodType(returnType, beanType));
+
+        return callSite.getTarget().invoke();
+    }
+
+    private static boolean isGeneratable(Method getterMethod) {
+        return getterMethod.getParameterTypes().length == 0
+                && getterMethod.getReturnType() != Void.TYPE
+                && Modifier.isPublic(getterMethod.getModifiers())
+                && !Modifier.isStatic(getterMethod.getModifiers())
+                && PropertySetters.isVisible(getterMethod.getDeclaringClass())
+                && PropertySetters.isVisible(getterMethod.getReturnType());
+    }
+}
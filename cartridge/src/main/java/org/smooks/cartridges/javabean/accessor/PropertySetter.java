@@ -0,0 +1,123 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Property setter.
+ * <p/>
+ * Sets a value on a bean through the bean's setter {@link Method}.  Implementations follow the
+ * {@link Method#invoke(Object, Object...)} contract, so exceptions thrown by the setter itself are
+ * wrapped in an {@link InvocationTargetException}.
+ *
+ * @see PropertySetters
+ */
+public interface PropertySetter {
+
+    /**
+     * Set the value on the bean.
+     *
+     * @param bean  The target bean.
+     * @param value The value to be set.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    void set(Object bean, Object value) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Set an int value on the bean.  Implementations backed by an int setter avoid boxing the value.
+     *
+     * @param bean  The target bean.
+     * @param value The value to be set.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    default void setInt(Object bean, int value) throws IllegalAccessException, InvocationTargetException {
+        set(bean, value);
+    }
+
+    /**
+     * Set a long value on the bean.  Implementations backed by a long setter avoid boxing the value.
+     *
+     * @param bean  The target bean.
+     * @param value The value to be set.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    default void setLong(Object bean, long value) throws IllegalAccessException, InvocationTargetException {
+        set(bean, value);
+    }
+
+    /**
+     * Set a double value on the bean.  Implementations backed by a double setter avoid boxing the value.
+     *
+     * @param bean  The target bean.
+     * @param value The value to be set.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    default void setDouble(Object bean, double value) throws IllegalAccessException, InvocationTargetException {
+        set(bean, value);
+    }
+
+    /**
+     * Set a boolean value on the bean.
+     *
+     * @param bean  The target bean.
+     * @param value The value to be set.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    default void setBoolean(Object bean, boolean value) throws IllegalAccessException, InvocationTargetException {
+        set(bean, value);
+    }
+
+    /**
+     * Get the setter method behind this property setter.
+     *
+     * @return The setter method.
+     */
+    Method getMethod();
+}
@@ -0,0 +1,196 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.assertion.AssertArgument;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link PropertySetter} factory methods.
+ * <p/>
+ * Setters are generated with the {@link LambdaMetafactory} when the setter method, its declaring class and its
+ * parameter type are public and visible from this cartridge's class loader.  Otherwise, or if generation fails for
+ * whatever reason, the setter falls back to reflection.
+ */
+public final class PropertySetters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertySetters.class);
+
+    private static final MethodType BI_CONSUMER_TYPE = MethodType.methodType(BiConsumer.class);
+    private static final MethodType ACCEPT_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private PropertySetters() {
+
+    }
+
+    /**
+     * Create a {@link PropertySetter} for the supplied setter method.
+     *
+     * @param setterMethod The setter method.
+     * @param generate     True if the setter is to be generated, false if it is to use reflection.
+     * @return The property setter.
+     */
+    public static PropertySetter create(Method setterMethod, boolean generate) {
+        AssertArgument.isNotNull(setterMethod, "setterMethod");
+
+        PropertySetter reflectiveSetter = new ReflectivePropertySetter(setterMethod);
+        if (generate && isGeneratable(setterMethod)) {
+            try {
+                return generate(setterMethod, reflectiveSetter);
+            } catch (Throwable t) {
+                LOGGER.debug("Failed to generate property setter for [" + setterMethod + "]. Falling back to reflection.", t);
+            }
+        }
+
+        return reflectiveSetter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropertySetter generate(Method setterMethod, PropertySetter reflectiveSetter) throws Throwable {
+        Class<?> beanType = setterMethod.getDeclaringClass();
+        Class<?> valueType = box(setterMethod.getParameterTypes()[0]);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle setterHandle = lookup.unreflect(setterMethod);
+
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", BI_CONSUMER_TYPE, ACCEPT_TYPE, setterHandle,
+                MethodType.methodType(void.class, beanType, valueType));
+        BiConsumer<Object, Object> setter = (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+
+        return new GeneratedPropertySetter(setter, generatePrimitiveSetter(lookup, setterHandle, beanType, setterMethod.getParameterTypes()[0]), beanType, valueType, reflectiveSetter);
+    }
+
+    private static Object generatePrimitiveSetter(MethodHandles.Lookup lookup, MethodHandle setterHandle, Class<?> beanType, Class<?> parameterType) throws Throwable {
+        Class<?> consumerType;
+        if (parameterType == Integer.TYPE) {
+            consumerType = ObjIntConsumer.class;
+        } else if (parameterType == Long.TYPE) {
+            consumerType = ObjLongConsumer.class;
+        } else if (parameterType == Double.TYPE) {
+            consumerType = ObjDoubleConsumer.class;
+        } else if (parameterType == Boolean.TYPE) {
+            consumerType = ObjBooleanConsumer.class;
+        } else {
+            return null;
+        }
+
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(consumerType), MethodType.methodType(void.class, Object.class, parameterType), setterHandle,
+                MethodType.methodType(void.class, beanType, parameterType));
+
+        return callSite.getTarget().invoke();
+    }
+
+    private static boolean isGeneratable(Method setterMethod) {
+        return setterMethod.getParameterTypes().length == 1
+                && Modifier.isPublic(setterMethod.getModifiers())
+                && !Modifier.isStatic(setterMethod.getModifiers())
+                && isVisible(setterMethod.getDeclaringClass())
+                && isVisible(setterMethod.getParameterTypes()[0]);
+    }
+
+    static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> enclosingType = type; enclosingType != null; enclosingType = enclosingType.getDeclaringClass()) {
+            if (!Modifier.isPublic(enclosingType.getModifiers())) {
+                return false;
+            }
+        }
+
+        // The generated class is linked against this cartridge's class loader, so the type must resolve
+        // to the same class from there...
+        try {
+            return Class.forName(type.getName(), false, PropertySetters.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Boolean counterpart of {@link ObjIntConsumer}, which the JDK doesn't have.
+     */
+    @FunctionalInterface
+    interface ObjBooleanConsumer {
+        void accept(Object bean, boolean value);
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == Integer.TYPE) {
+            return Integer.class;
+        } else if (type == Long.TYPE) {
+            return Long.class;
+        } else if (type == Double.TYPE) {
+            return Double.class;
+        } else if (type == Boolean.TYPE) {
+            return Boolean.class;
+        } else if (type == Float.TYPE) {
+            return Float.class;
+        } else if (type == Short.TYPE) {
+            return Short.class;
+        } else if (type == Byte.TYPE) {
+            return Byte.class;
+        } else if (type == Character.TYPE) {
+            return Character.class;
+        } else {
+            return Void.class;
+        }
+    }
+}
@@ -45,6 +45,7 @@ package org.smooks.cartridges.javabean.binding;
 import org.smooks.assertion.AssertArgument;
 import org.smooks.cartridges.javabean.binding.model.get.Getter;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -56,13 +57,23 @@ public class SerializationContext {
 
     public static final String ROOT_OBJ = SerializationContext.class.getName() + "#ROOT_OBJ";
 
+    /**
+     * The context object slot of the {@link #ROOT_OBJ root object}.
+     */
+    public static final int ROOT_OBJ_SLOT = 0;
+
+    private static final Object CLOSED_SCOPE = new Object();
+
     protected Object rootObject;
     protected Map<String, Object> contextObjects = new LinkedHashMap<>();
     protected int currentDepth;
+    protected Object[] scopeValues = new Object[0];
+    protected Object[] slotObjects = new Object[4];
 
     public SerializationContext(Object rootObject, String rootObjectBeanId) {
         AssertArgument.isNotNull(rootObject, "rootObject");
         this.rootObject = rootObject;
+        slotObjects[ROOT_OBJ_SLOT] = rootObject;
         addObject(rootObjectBeanId, rootObject);
     }
 
@@ -86,10 +97,73 @@ public class SerializationContext {
         return contextObjects.remove(name);
     }
 
+    /**
+     * Set a context object by slot.
+     * <p/>
+     * Slots are an alternative to naming context objects for serializers that resolve the context object
+     * names to slot indexes up front, so as context objects are set and read without {@link Map} operations.
+     * Slot {@link #ROOT_OBJ_SLOT} holds the root object.  Objects set by slot are not visible by name.
+     *
+     * @param slot          The context object slot.
+     * @param contextObject The context object.
+     */
+    public void setObject(int slot, Object contextObject) {
+        if (slot >= slotObjects.length) {
+            slotObjects = Arrays.copyOf(slotObjects, Math.max(slot + 1, slotObjects.length * 2));
+        }
+        slotObjects[slot] = contextObject;
+    }
+
+    public void clearObject(int slot) {
+        if (slot < slotObjects.length) {
+            slotObjects[slot] = null;
+        }
+    }
+
+    /**
+     * Open a value scope.
+     * <p/>
+     * A scope holds a value already read during serialization (e.g. a parent bean), so as nodes
+     * nested inside the scope can read their values from it instead of from the context object.
+     *
+     * @param scope The scope index.
+     * @param value The scope value.  May be null.
+     */
+    public void openScope(int scope, Object value) {
+        if (scope >= scopeValues.length) {
+            int length = scopeValues.length;
+            scopeValues = Arrays.copyOf(scopeValues, Math.max(scope + 1, length * 2));
+            Arrays.fill(scopeValues, length, scopeValues.length, CLOSED_SCOPE);
+        }
+        scopeValues[scope] = value;
+    }
+
+    public void closeScope(int scope) {
+        scopeValues[scope] = CLOSED_SCOPE;
+    }
+
+    public boolean isScopeOpen(int scope) {
+        return scope < scopeValues.length && scopeValues[scope] != CLOSED_SCOPE;
+    }
+
+    public Object getScopeValue(int scope) {
+        return scopeValues[scope];
+    }
+
     public Object getValue(Getter getter) {
         return getter.get(rootObject);
     }
 
+    public Object getValue(int contextObjectSlot, Getter getter) {
+        Object contextObject = (contextObjectSlot < slotObjects.length ? slotObjects[contextObjectSlot] : null);
+
+        if (contextObject == null) {
+            throw new IllegalStateException("Unknown context object slot '" + contextObjectSlot + "'.");
+        }
+
+        return getter.get(contextObject);
+    }
+
     public Object getValue(String contextObjectName, Getter getter) {
         if (ROOT_OBJ.equals(contextObjectName)) {
             return getter.get(rootObject);
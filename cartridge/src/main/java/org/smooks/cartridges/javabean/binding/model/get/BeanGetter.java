@@ -42,6 +42,8 @@
  */
 package org.smooks.cartridges.javabean.binding.model.get;
 
+import org.smooks.cartridges.javabean.accessor.PropertyGetter;
+import org.smooks.cartridges.javabean.accessor.PropertyGetters;
 import org.smooks.cartridges.javabean.binding.BeanSerializationException;
 import org.smooks.support.ClassUtils;
 
@@ -50,23 +52,37 @@ import java.lang.reflect.Method;
 
 /**
  * Bean getter method.
+ * <p/>
+ * The getter method is invoked through reflection until the getter is {@link #compile() compiled}.
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
 public class BeanGetter<T extends Object> implements Getter<T> {
 
     protected final Method getterMethod;
+    protected PropertyGetter propertyGetter;
 
     public BeanGetter(Class<?> beanClass, String property) {
         getterMethod = ClassUtils.getGetterMethodByProperty(property, beanClass, null);
         if (getterMethod == null) {
             throw new IllegalStateException("Failed to get getter method for property '" + property + "' on bean type '" + beanClass.getName() + "'.");
         }
+        propertyGetter = PropertyGetters.create(getterMethod, false);
+    }
+
+    /**
+     * Replace the reflective getter with a generated {@link PropertyGetter}.
+     *
+     * @return <code>this</code> instance.
+     */
+    public BeanGetter<T> compile() {
+        propertyGetter = PropertyGetters.create(getterMethod, true);
+        return this;
     }
 
     public Object get(final T contextObject) throws BeanSerializationException {
         try {
-            return getterMethod.invoke(contextObject);
+            return propertyGetter.get(contextObject);
         } catch (IllegalArgumentException | IllegalAccessException e) {
             throw new BeanSerializationException("Error invoking bean getter method '" + getterMethod.getName() + "' on bean type '" + contextObject.getClass().getName() + "'.", e);
         } catch (InvocationTargetException e) {
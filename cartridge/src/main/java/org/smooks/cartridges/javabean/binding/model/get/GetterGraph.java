@@ -63,25 +63,97 @@ public class GetterGraph<T> implements Getter<T> {
 
     protected String contextObjectName = SerializationContext.ROOT_OBJ;
     protected List<Getter> graph = new ArrayList<>();
+    protected Getter[] compiledGraph;
 
     public Object get(final T contextObject) throws BeanSerializationException {
         AssertArgument.isNotNull(contextObject, "contextObject");
 
         Object value = contextObject;
 
-        for (Getter getter : graph) {
-            value = getter.get(value);
-            if (value == null) {
-                return null;
+        if (compiledGraph != null) {
+            for (Getter getter : compiledGraph) {
+                value = getter.get(value);
+                if (value == null) {
+                    return null;
+                }
+            }
+        } else {
+            for (Getter getter : graph) {
+                value = getter.get(value);
+                if (value == null) {
+                    return null;
+                }
             }
         }
 
         return value;
     }
 
+    /**
+     * Compile the graph into a flat array of getters, generating the {@link BeanGetter} accessors.
+     * <p/>
+     * Adding to the graph after it has been compiled discards the compiled graph.
+     *
+     * @return <code>this</code> instance.
+     */
+    public GetterGraph<T> compile() {
+        Getter[] getters = graph.toArray(new Getter[0]);
+
+        for (Getter getter : getters) {
+            if (getter instanceof BeanGetter) {
+                ((BeanGetter) getter).compile();
+            } else if (getter instanceof GetterGraph) {
+                ((GetterGraph) getter).compile();
+            }
+        }
+        compiledGraph = getters;
+
+        return this;
+    }
+
+    /**
+     * Is the supplied graph a leading part of this graph i.e. does this graph read its value through the
+     * value read by the supplied graph.
+     *
+     * @param prefix The prefix graph.
+     * @return True if this graph starts with the supplied graph, otherwise false.
+     */
+    public boolean startsWith(GetterGraph<?> prefix) {
+        if (!contextObjectName.equals(prefix.contextObjectName) || prefix.graph.size() > graph.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.graph.size(); i++) {
+            if (!isSameGetter(graph.get(i), prefix.graph.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Create a compiled graph from the getters that follow the first <code>fromIndex</code> getters of
+     * this graph.  The new graph reads its value from the value read by the leading getters.
+     *
+     * @param fromIndex The index of the first getter in the new graph.
+     * @return The trailing graph.
+     */
+    public GetterGraph<Object> tail(int fromIndex) {
+        GetterGraph<Object> tail = new GetterGraph<>();
+
+        tail.graph.addAll(graph.subList(fromIndex, graph.size()));
+
+        return tail.compile();
+    }
+
+    public int size() {
+        return graph.size();
+    }
+
     protected GetterGraph add(Getter getter) {
         // Insert the getter at the start of the graph list...
         graph.add(0, getter);
+        compiledGraph = null;
         return this;
     }
 
@@ -117,6 +189,20 @@ public class GetterGraph<T> implements Getter<T> {
         }
     }
 
+    private static boolean isSameGetter(Getter getter, Getter otherGetter) {
+        if (getter == otherGetter) {
+            return true;
+        } else if (getter.getClass() != otherGetter.getClass()) {
+            return false;
+        } else if (getter.getClass() == BeanGetter.class) {
+            return ((BeanGetter) getter).getterMethod.equals(((BeanGetter) otherGetter).getterMethod);
+        } else if (getter.getClass() == MapGetter.class) {
+            return ((MapGetter) getter).property.equals(((MapGetter) otherGetter).property);
+        }
+
+        return false;
+    }
+
     public String getContextObjectName() {
         return contextObjectName;
     }
@@ -0,0 +1,267 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.binding.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link Writer} that encodes straight into a UTF-8 byte buffer, which is drained to an {@link OutputStream}
+ * or a {@link WritableByteChannel}.
+ * <p/>
+ * Serialization nodes write their pre-encoded names through {@link #writeBytes(byte[])} and escape their
+ * text and attribute values straight into the buffer, so no {@link String} to <code>char[]</code> copies are
+ * made and no {@link java.nio.charset.CharsetEncoder} is involved.
+ * <p/>
+ * Closing the writer flushes it, but does not close the underlying stream or channel.
+ *
+ * @see XMLBinding#toXML(Object, OutputStream)
+ * @see XMLBinding#toXML(Object, WritableByteChannel)
+ */
+final class Utf8XMLWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] LT = {'&', 'l', 't', ';'};
+    private static final byte[] GT = {'&', 'g', 't', ';'};
+    private static final byte[] AMP = {'&', 'a', 'm', 'p', ';'};
+    private static final byte[] QUOT = {'&', 'q', 'u', 'o', 't', ';'};
+    private static final byte[] APOS = {'&', 'a', 'p', 'o', 's', ';'};
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private char highSurrogate;
+
+    Utf8XMLWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.channel = null;
+    }
+
+    Utf8XMLWriter(WritableByteChannel channel) {
+        this.outputStream = null;
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] characters, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeChar(characters[i]);
+        }
+    }
+
+    @Override
+    public void write(String string, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeChar(string.charAt(i));
+        }
+    }
+
+    /**
+     * Write pre-encoded bytes.
+     *
+     * @param bytes The UTF-8 bytes.
+     * @throws IOException Error draining the buffer.
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        flushHighSurrogate();
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                drain(bytes, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Write an element text value, escaping the same characters as
+     * {@link org.smooks.support.XmlUtils#encodeTextValue(char[], int, int, Writer)}.
+     *
+     * @param value The text value.
+     * @throws IOException Error draining the buffer.
+     */
+    void writeText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    writeBytes(LT);
+                    break;
+                case '>':
+                    writeBytes(GT);
+                    break;
+                case '&':
+                    writeBytes(AMP);
+                    break;
+                default:
+                    writeChar(c);
+            }
+        }
+    }
+
+    /**
+     * Write an attribute value, escaping the same characters as
+     * {@link org.smooks.support.XmlUtils#encodeAttributeValue(char[], int, int, Writer)}.
+     *
+     * @param value The attribute value.
+     * @throws IOException Error draining the buffer.
+     */
+    void writeAttributeValue(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    writeBytes(LT);
+                    break;
+                case '>':
+                    writeBytes(GT);
+                    break;
+                case '&':
+                    writeBytes(AMP);
+                    break;
+                case '"':
+                    writeBytes(QUOT);
+                    break;
+                case '\'':
+                    writeBytes(APOS);
+                    break;
+                default:
+                    writeChar(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushHighSurrogate();
+        drain();
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writeChar(char c) throws IOException {
+        if (buffer.length - position < 4) {
+            drain();
+        }
+
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            // Unpaired high surrogate...
+            buffer[position++] = '?';
+            writeChar(c);
+            return;
+        }
+
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            // Unpaired low surrogate...
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void flushHighSurrogate() throws IOException {
+        if (highSurrogate != 0) {
+            // Unpaired high surrogate, as no low surrogate can follow it anymore...
+            if (position == buffer.length) {
+                drain();
+            }
+            highSurrogate = 0;
+            buffer[position++] = '?';
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            drain(buffer, position);
+            position = 0;
+        }
+    }
+
+    private void drain(byte[] bytes, int length) throws IOException {
+        if (outputStream != null) {
+            outputStream.write(bytes, 0, length);
+        } else {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        }
+    }
+}
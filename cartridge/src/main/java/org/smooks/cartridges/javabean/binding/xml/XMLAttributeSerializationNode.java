@@ -49,6 +49,8 @@ import org.smooks.support.XmlUtils;
 import javax.xml.namespace.QName;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
+import java.util.Map;
 
 /**
  * XML Attribute Serialization Node.
@@ -58,6 +60,7 @@ import java.io.Writer;
 public class XMLAttributeSerializationNode extends XMLSerializationNode {
 
     protected Bean model;
+    protected byte[] nameBytes;
 
     public XMLAttributeSerializationNode(QName qName) {
         super(qName);
@@ -65,9 +68,16 @@ public class XMLAttributeSerializationNode extends XMLSerializationNode {
 
     @Override
     public void serialize(Writer outputStream, SerializationContext context) throws IOException {
-        String value = getValue(context);
+        writeAttribute(outputStream, getValue(context));
+    }
 
-        if (value != null) {
+    protected void writeAttribute(Writer outputStream, String value) throws IOException {
+        if (value != null && nameBytes != null && outputStream instanceof Utf8XMLWriter) {
+            Utf8XMLWriter utf8Writer = (Utf8XMLWriter) outputStream;
+            utf8Writer.writeBytes(nameBytes);
+            utf8Writer.writeAttributeValue(value);
+            utf8Writer.write('"');
+        } else if (value != null) {
             outputStream.write(" ");
             writeName(outputStream);
             outputStream.write("=\"");
@@ -77,6 +87,12 @@ public class XMLAttributeSerializationNode extends XMLSerializationNode {
         }
     }
 
+    @Override
+    protected void compile(List<XMLElementSerializationNode> scopes, Map<String, Integer> contextSlots) {
+        super.compile(scopes, contextSlots);
+        nameBytes = encodeName(" ", "=\"");
+    }
+
     @Override
     protected Object clone() {
         XMLAttributeSerializationNode clone = new XMLAttributeSerializationNode(qName);
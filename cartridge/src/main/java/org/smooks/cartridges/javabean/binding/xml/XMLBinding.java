@@ -78,12 +78,15 @@ import javax.xml.namespace.QName;
 import javax.xml.transform.Source;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Method;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -157,6 +160,7 @@ public class XMLBinding extends AbstractBinding {
         graphs = createExpandedXMLOutputGraphs(getUserDefinedResourceList());
         createRootSerializers(graphs);
         mergeBeanModelsIntoXMLGraphs();
+        compileSerializers();
 
         return this;
     }
@@ -214,6 +218,57 @@ public class XMLBinding extends AbstractBinding {
         AssertArgument.isNotNull(object, "object");
         assertInitialized();
 
+        serialize(object, outputWriter);
+
+        return outputWriter;
+    }
+
+    /**
+     * Write the supplied Object instance to XML, UTF-8 encoded.
+     * <p/>
+     * The XML is encoded straight into bytes i.e. without going through a {@link Writer} and
+     * {@link java.nio.charset.CharsetEncoder}.  The output stream is flushed, but not closed.
+     *
+     * @param object       The Object instance.
+     * @param outputStream The output stream.
+     * @param <O>          The OutputStream type.
+     * @return The supplied {@link OutputStream} instance.
+     * @throws BeanSerializationException Error serializing the bean.
+     * @throws IOException                Error writing to the supplied OutputStream instance.
+     */
+    public <O extends OutputStream> O toXML(Object object, O outputStream) throws BeanSerializationException, IOException {
+        AssertArgument.isNotNull(object, "object");
+        AssertArgument.isNotNull(outputStream, "outputStream");
+        assertInitialized();
+
+        serialize(object, new Utf8XMLWriter(outputStream));
+
+        return outputStream;
+    }
+
+    /**
+     * Write the supplied Object instance to XML, UTF-8 encoded.
+     * <p/>
+     * As with {@link #toXML(Object, OutputStream)}, but writing to a channel.  The channel is not closed.
+     *
+     * @param object  The Object instance.
+     * @param channel The output channel.
+     * @param <C>     The WritableByteChannel type.
+     * @return The supplied {@link WritableByteChannel} instance.
+     * @throws BeanSerializationException Error serializing the bean.
+     * @throws IOException                Error writing to the supplied WritableByteChannel instance.
+     */
+    public <C extends WritableByteChannel> C toXML(Object object, C channel) throws BeanSerializationException, IOException {
+        AssertArgument.isNotNull(object, "object");
+        AssertArgument.isNotNull(channel, "channel");
+        assertInitialized();
+
+        serialize(object, new Utf8XMLWriter(channel));
+
+        return channel;
+    }
+
+    protected void serialize(Object object, Writer outputWriter) throws BeanSerializationException, IOException {
         Class<?> objectClass = object.getClass();
         RootNodeSerializer rootNodeSerializer = serializers.get(objectClass);
         if (rootNodeSerializer == null) {
@@ -226,8 +281,6 @@ public class XMLBinding extends AbstractBinding {
         XMLElementSerializationNode serializer = rootNodeSerializer.serializer;
         serializer.serialize(outputWriter, new SerializationContext(object, rootNodeSerializer.beanId));
         outputWriter.flush();
-
-        return outputWriter;
     }
 
     /**
@@ -267,6 +320,15 @@ public class XMLBinding extends AbstractBinding {
         }
     }
 
+    protected void compileSerializers() {
+        for (RootNodeSerializer rootNodeSerializer : serializers.values()) {
+            Map<String, Integer> contextSlots = new HashMap<>();
+
+            contextSlots.put(SerializationContext.ROOT_OBJ, SerializationContext.ROOT_OBJ_SLOT);
+            rootNodeSerializer.serializer.compile(new ArrayList<>(), contextSlots);
+        }
+    }
+
     protected void merge(XMLElementSerializationNode serializer, Bean bean) {
         boolean isCollection = bean.isCollection();
 
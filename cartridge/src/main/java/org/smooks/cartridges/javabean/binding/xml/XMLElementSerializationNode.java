@@ -45,7 +45,6 @@ package org.smooks.cartridges.javabean.binding.xml;
 import org.smooks.api.resource.config.xpath.SelectorPath;
 import org.smooks.api.resource.config.xpath.SelectorStep;
 import org.smooks.cartridges.javabean.binding.SerializationContext;
-import org.smooks.cartridges.javabean.binding.model.get.Getter;
 import org.smooks.cartridges.javabean.binding.model.get.GetterGraph;
 import org.smooks.engine.resource.config.xpath.step.AttributeSelectorStep;
 import org.smooks.engine.resource.config.xpath.step.ElementSelectorStep;
@@ -57,7 +56,10 @@ import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Abstract XML Serialization Node.
@@ -68,6 +70,10 @@ public class XMLElementSerializationNode extends XMLSerializationNode {
 
     protected final List<XMLAttributeSerializationNode> attributes = new ArrayList<>();
     protected final List<XMLElementSerializationNode> elements = new ArrayList<>();
+    protected int scope = -1;
+    protected int collectionItemSlot = -1;
+    protected byte[] startTagBytes;
+    protected byte[] endTagBytes;
 
     public XMLElementSerializationNode(QName qName) {
         super(qName);
@@ -83,26 +89,69 @@ public class XMLElementSerializationNode extends XMLSerializationNode {
 
     @Override
     public void serialize(Writer outputStream, SerializationContext context) throws IOException {
+        writeElement(outputStream, context, getRawValue(context), null);
+    }
+
+    /**
+     * Serialize the element on a new line if any part of the element has data (see {@link #hasData(SerializationContext)}).
+     * <p/>
+     * Unlike a {@link #hasData(SerializationContext)} check followed by a call to {@link #serialize(Writer, SerializationContext)},
+     * the element and attribute values are only read once.  The attribute values are only read ahead of writing
+     * the element start tag when the element itself has no value.
+     *
+     * @param outputStream The output writer.
+     * @param context      The serialization context.
+     * @throws IOException Error writing to the output writer.
+     */
+    protected void serializeIfHasData(Writer outputStream, SerializationContext context) throws IOException {
+        Object value = getRawValue(context);
+        Object[] attributeValues = null;
+
+        if (nodeGetter != null && value == null) {
+            // Only write the element if one of the attributes has data...
+            attributeValues = getAttributeValues(context);
+            if (attributeValues == null) {
+                return;
+            }
+        }
+
+        outputStream.write("\n");
+        writeElement(outputStream, context, value, attributeValues);
+    }
+
+    protected void writeElement(Writer outputStream, SerializationContext context, Object value, Object[] attributeValues) throws IOException {
+        if (scope != -1) {
+            // Share the element value with all the nodes nested inside it...
+            context.openScope(scope, value);
+            try {
+                writeElementContent(outputStream, context, value, attributeValues);
+            } finally {
+                context.closeScope(scope);
+            }
+        } else {
+            writeElementContent(outputStream, context, value, attributeValues);
+        }
+    }
 
+    protected void writeElementContent(Writer outputStream, SerializationContext context, Object rawValue, Object[] attributeValues) throws IOException {
         // Write the start of the element...
         indent(outputStream, context);
-        outputStream.write("<");
-        writeName(outputStream);
+        writeStartTag(outputStream);
 
         // Write the attributes...
-        writeAttributes(outputStream, context);
+        if (attributeValues != null) {
+            writeAttributes(outputStream, attributeValues);
+        } else {
+            writeAttributes(outputStream, context);
+        }
 
         if (elements.isEmpty()) {
-            String value = getValue(context);
+            String value = toStringValue(rawValue);
 
             if (value != null) {
-                char[] characters = value.toCharArray();
-
-                outputStream.write(">");
-                XmlUtils.encodeTextValue(characters, 0, characters.length, outputStream);
-                outputStream.write("</");
-                writeName(outputStream);
                 outputStream.write(">");
+                writeText(outputStream, value);
+                writeEndTag(outputStream);
             } else {
                 outputStream.write("/>");
             }
@@ -115,61 +164,137 @@ public class XMLElementSerializationNode extends XMLSerializationNode {
             // Write the end of the element...
             outputStream.write("\n");
             indent(outputStream, context);
+            writeEndTag(outputStream);
+        }
+    }
+
+    protected void writeStartTag(Writer outputStream) throws IOException {
+        if (startTagBytes != null && outputStream instanceof Utf8XMLWriter) {
+            ((Utf8XMLWriter) outputStream).writeBytes(startTagBytes);
+        } else {
+            outputStream.write("<");
+            writeName(outputStream);
+        }
+    }
+
+    protected void writeEndTag(Writer outputStream) throws IOException {
+        if (endTagBytes != null && outputStream instanceof Utf8XMLWriter) {
+            ((Utf8XMLWriter) outputStream).writeBytes(endTagBytes);
+        } else {
             outputStream.write("</");
             writeName(outputStream);
             outputStream.write(">");
         }
     }
 
+    protected void writeText(Writer outputStream, String value) throws IOException {
+        if (outputStream instanceof Utf8XMLWriter) {
+            ((Utf8XMLWriter) outputStream).writeText(value);
+        } else {
+            char[] characters = value.toCharArray();
+            XmlUtils.encodeTextValue(characters, 0, characters.length, outputStream);
+        }
+    }
+
     protected void writeAttributes(Writer outputStream, SerializationContext context) throws IOException {
         for (XMLAttributeSerializationNode attribute : attributes) {
             attribute.serialize(outputStream, context);
         }
     }
 
+    protected void writeAttributes(Writer outputStream, Object[] attributeValues) throws IOException {
+        for (int i = 0; i < attributeValues.length; i++) {
+            XMLAttributeSerializationNode attribute = attributes.get(i);
+            attribute.writeAttribute(outputStream, attribute.toStringValue(attributeValues[i]));
+        }
+    }
+
+    /**
+     * Read the attribute values.
+     *
+     * @param context The serialization context.
+     * @return The attribute values, or null if none of the attributes has data.
+     */
+    protected Object[] getAttributeValues(SerializationContext context) {
+        Object[] attributeValues = new Object[attributes.size()];
+        boolean hasData = false;
+
+        for (int i = 0; i < attributeValues.length; i++) {
+            XMLAttributeSerializationNode attribute = attributes.get(i);
+            attributeValues[i] = attribute.getRawValue(context);
+            hasData |= (attribute.nodeGetter == null || attributeValues[i] != null);
+        }
+
+        return (hasData ? attributeValues : null);
+    }
+
     protected void writeElements(Writer outputStream, SerializationContext context) throws IOException {
         context.incDepth();
         for (XMLElementSerializationNode element : elements) {
             if (element.isCollection) {
                 NodeGetter collectionNodeGetter = element.getCollectionGetter();
-                Getter collectionGetter = collectionNodeGetter.getter;
-                Object collectionObject;
-                List<?> collection = null;
-
-                if (collectionGetter instanceof GetterGraph) {
-                    collectionObject = context.getValue(((GetterGraph) collectionGetter).getContextObjectName(), collectionGetter);
-                } else {
-                    collectionObject = context.getValue(collectionGetter);
-                }
-
-                if (collectionObject instanceof List) {
-                    collection = (List<?>) collectionObject;
-                } else if (collectionObject instanceof Object[]) {
-                    collection = Arrays.asList((Object[]) collectionObject);
-                }
+                Object collectionObject = collectionNodeGetter.getValue(context);
 
-                if (collection != null && !collection.isEmpty()) {
-                    try {
-                        for (Object collectionItem : collection) {
-                            context.addObject(collectionNodeGetter.contextObjectName, collectionItem);
-                            outputStream.write("\n");
-                            element.serialize(outputStream, context);
+                try {
+                    if (collectionObject instanceof Object[]) {
+                        for (Object collectionItem : (Object[]) collectionObject) {
+                            element.serializeCollectionItem(outputStream, context, collectionItem);
                         }
-                    } finally {
-                        // Be sure to clear this from the context...
+                    } else {
+                        Iterator<?> collectionIterator = toIterator(collectionObject);
+                        if (collectionIterator != null) {
+                            while (collectionIterator.hasNext()) {
+                                element.serializeCollectionItem(outputStream, context, collectionIterator.next());
+                            }
+                        }
+                    }
+                } finally {
+                    // Be sure to clear this from the context...
+                    if (element.collectionItemSlot != -1) {
+                        context.clearObject(element.collectionItemSlot);
+                    } else {
                         context.removeObject(collectionNodeGetter.contextObjectName);
                     }
                 }
             } else {
-                if (element.hasData(context)) {
-                    outputStream.write("\n");
-                    element.serialize(outputStream, context);
-                }
+                element.serializeIfHasData(outputStream, context);
             }
         }
         context.decDepth();
     }
 
+    protected void serializeCollectionItem(Writer outputStream, SerializationContext context, Object collectionItem) throws IOException {
+        if (collectionItemSlot != -1) {
+            context.setObject(collectionItemSlot, collectionItem);
+        } else {
+            context.addObject(collectionGetter.contextObjectName, collectionItem);
+        }
+        outputStream.write("\n");
+        serialize(outputStream, context);
+    }
+
+    /**
+     * Get an iterator over the items of a collection node value.
+     * <p/>
+     * The items are pulled one at a time, so as large {@link Iterable}, {@link Stream} and {@link Iterator}
+     * sources (e.g. backed by a database cursor) are serialized without being copied into memory.
+     * An {@link Iterator} or {@link Stream} value can only be serialized once.
+     *
+     * @param collectionObject The collection node value.
+     * @return The item iterator, or null if the value is not an {@link Iterable}, {@link Stream} or {@link Iterator}.
+     */
+    protected static Iterator<?> toIterator(Object collectionObject) {
+        if (collectionObject instanceof Iterable) {
+            return ((Iterable<?>) collectionObject).iterator();
+        } else if (collectionObject instanceof Stream) {
+            return ((Stream<?>) collectionObject).iterator();
+        } else if (collectionObject instanceof Iterator) {
+            return (Iterator<?>) collectionObject;
+        } else {
+            return null;
+        }
+    }
+
     @Override
     protected boolean hasData(SerializationContext context) {
         // If any part of the element has data...
@@ -185,6 +310,40 @@ public class XMLElementSerializationNode extends XMLSerializationNode {
         return false;
     }
 
+    @Override
+    protected void compile(List<XMLElementSerializationNode> scopes, Map<String, Integer> contextSlots) {
+        if (isCollection) {
+            // Give the collection items a context object slot, so as the items are set and read without map operations...
+            String itemName = collectionGetter.contextObjectName;
+            Integer slot = contextSlots.get(itemName);
+            if (slot == null) {
+                slot = contextSlots.size();
+                contextSlots.put(itemName, slot);
+            }
+            collectionItemSlot = slot;
+        }
+
+        super.compile(scopes, contextSlots);
+        startTagBytes = encodeName("<", "");
+        endTagBytes = encodeName("</", ">");
+
+        // Elements with child elements and a getter graph become a scope for the nodes nested inside them...
+        boolean isScope = !elements.isEmpty() && nodeGetter != null && nodeGetter.getter instanceof GetterGraph;
+        if (isScope) {
+            scope = scopes.size();
+            scopes.add(this);
+        }
+        for (XMLAttributeSerializationNode attribute : attributes) {
+            attribute.compile(scopes, contextSlots);
+        }
+        for (XMLElementSerializationNode element : elements) {
+            element.compile(scopes, contextSlots);
+        }
+        if (isScope) {
+            scopes.remove(scopes.size() - 1);
+        }
+    }
+
     protected static final char[] INDENT_BUF = new char[512];
 
     static {
@@ -51,7 +51,10 @@ import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Abstract XML Serialization Node.
@@ -100,22 +103,43 @@ public abstract class XMLSerializationNode {
 
     protected String getValue(SerializationContext context) {
         if (nodeGetter != null) {
-            Object value = context.getValue(nodeGetter.contextObjectName, nodeGetter.getter);
+            return toStringValue(nodeGetter.getValue(context));
+        } else {
+            return null;
+        }
+    }
 
+    /**
+     * Get the node value as read by the node getter i.e. before applying the default value and the type converter.
+     *
+     * @param context The serialization context.
+     * @return The node value, or null if the node has no getter.
+     */
+    protected Object getRawValue(SerializationContext context) {
+        return (nodeGetter != null ? nodeGetter.getValue(context) : null);
+    }
+
+    /**
+     * Convert a value read by the node getter to the String written to the XML.
+     *
+     * @param value The value read by the node getter.  May be null.
+     * @return The String value, or null if the node has no getter or if there is no value and no default value.
+     */
+    protected String toStringValue(Object value) {
+        if (nodeGetter == null) {
+            return null;
+        }
+        if (value == null) {
+            value = defaultVal;
             if (value == null) {
-                value = defaultVal;
-                if (value == null) {
-                    return null;
-                }
+                return null;
             }
+        }
 
-            if (typeConverter != null) {
-                return ((TypeConverter<Object, String>) typeConverter).convert(value);
-            } else {
-                return value.toString();
-            }
+        if (typeConverter != null) {
+            return ((TypeConverter<Object, String>) typeConverter).convert(value);
         } else {
-            return null;
+            return value.toString();
         }
     }
 
@@ -139,6 +163,21 @@ public abstract class XMLSerializationNode {
         return collectionGetter;
     }
 
+    /**
+     * Compile the node getters and pre-encode the node name for {@link Utf8XMLWriter} output.
+     *
+     * @param scopes       The enclosing scope elements, outermost first.
+     * @param contextSlots The {@link SerializationContext} object slots, by context object name.
+     */
+    protected void compile(List<XMLElementSerializationNode> scopes, Map<String, Integer> contextSlots) {
+        if (nodeGetter != null) {
+            nodeGetter.compile(scopes, contextSlots);
+        }
+        if (collectionGetter != null) {
+            collectionGetter.compile(scopes, contextSlots);
+        }
+    }
+
     protected void writeName(Writer outputStream) throws IOException {
         String prefix = qName.getPrefix();
         String localPart = qName.getLocalPart();
@@ -150,6 +189,18 @@ public abstract class XMLSerializationNode {
         outputStream.write(localPart);
     }
 
+    protected byte[] encodeName(String before, String after) {
+        String prefix = qName.getPrefix();
+        StringBuilder name = new StringBuilder(before);
+
+        if (prefix != null && !prefix.equals(XMLConstants.DEFAULT_NS_PREFIX)) {
+            name.append(prefix).append(':');
+        }
+        name.append(qName.getLocalPart()).append(after);
+
+        return name.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
     public static <T extends XMLSerializationNode> T getNode(QName qName, Collection<T> nodeList) {
         for (T node : nodeList) {
             if (node.getQName().equals(qName)) {
@@ -172,12 +223,15 @@ public abstract class XMLSerializationNode {
     }
 
     protected boolean hasData(SerializationContext context) {
-        return nodeGetter == null || context.getValue(nodeGetter.contextObjectName, nodeGetter.getter) != null;
+        return nodeGetter == null || nodeGetter.getValue(context) != null;
     }
 
     protected static class NodeGetter {
         protected String contextObjectName;
         protected Getter getter;
+        protected int scope = -1;
+        protected Getter scopeGetter;
+        protected int contextSlot = -1;
 
         public NodeGetter(Getter getter) {
             this.contextObjectName = SerializationContext.ROOT_OBJ;
@@ -188,5 +242,39 @@ public abstract class XMLSerializationNode {
             this.contextObjectName = contextObjectName;
             this.getter = getter;
         }
+
+        protected Object getValue(SerializationContext context) {
+            if (scope != -1 && context.isScopeOpen(scope)) {
+                Object scopeValue = context.getScopeValue(scope);
+                return (scopeValue != null ? scopeGetter.get(scopeValue) : null);
+            } else if (contextSlot != -1) {
+                return context.getValue(contextSlot, getter);
+            } else if (getter instanceof GetterGraph) {
+                return context.getValue(((GetterGraph) getter).getContextObjectName(), getter);
+            } else {
+                return context.getValue(getter);
+            }
+        }
+
+        protected void compile(List<XMLElementSerializationNode> scopes, Map<String, Integer> contextSlots) {
+            if (getter instanceof GetterGraph) {
+                GetterGraph getterGraph = ((GetterGraph) getter).compile();
+                Integer slot = contextSlots.get(getterGraph.getContextObjectName());
+
+                if (slot != null) {
+                    contextSlot = slot;
+                }
+
+                // Read the value through the innermost enclosing scope that already reads part of the graph...
+                for (int i = scopes.size() - 1; i >= 0; i--) {
+                    GetterGraph scopeGraph = (GetterGraph) scopes.get(i).nodeGetter.getter;
+                    if (getterGraph.size() > scopeGraph.size() && getterGraph.startsWith(scopeGraph)) {
+                        scope = i;
+                        scopeGetter = getterGraph.tail(scopeGraph.size());
+                        break;
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,88 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.converter;
+
+import org.smooks.api.converter.TypeConverter;
+import org.smooks.assertion.AssertArgument;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum constant {@link TypeConverter}.
+ * <p/>
+ * Converts a constant name to the enum constant, like {@link Enum#valueOf(Class, String)}, but from a name to
+ * constant map built once for the enum type.
+ */
+public class EnumConstantTypeConverter implements TypeConverter<String, Object>, StatelessTypeConverter {
+
+    private final Class<?> enumType;
+    private final Map<String, Object> enumConstants = new HashMap<>();
+
+    public EnumConstantTypeConverter(Class<?> enumType) {
+        AssertArgument.isNotNull(enumType, "enumType");
+        if (!enumType.isEnum()) {
+            throw new IllegalArgumentException("'" + enumType.getName() + "' is not an enum type.");
+        }
+
+        this.enumType = enumType;
+        for (Object enumConstant : enumType.getEnumConstants()) {
+            enumConstants.put(((Enum<?>) enumConstant).name(), enumConstant);
+        }
+    }
+
+    @Override
+    public Object convert(String value) {
+        Object enumConstant = enumConstants.get(value);
+
+        if (enumConstant == null) {
+            // Same exceptions as Enum.valueOf...
+            if (value == null) {
+                throw new NullPointerException("Name is null");
+            }
+            throw new IllegalArgumentException("No enum constant " + enumType.getCanonicalName() + "." + value);
+        }
+
+        return enumConstant;
+    }
+}
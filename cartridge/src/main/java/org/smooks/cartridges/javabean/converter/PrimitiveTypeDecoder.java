@@ -0,0 +1,284 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.converter;
+
+import org.smooks.api.converter.TypeConverter;
+import org.smooks.api.converter.TypeConverterFactory;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.engine.converter.BooleanConverterFactory;
+import org.smooks.engine.converter.NumberTypeConverter;
+import org.smooks.engine.converter.StringToDoubleConverterFactory;
+import org.smooks.engine.converter.StringToIntegerConverterFactory;
+import org.smooks.engine.converter.StringToLongConverterFactory;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Decodes text straight into a primitive value and sets it through a {@link PropertySetter}, without boxing.
+ * <p/>
+ * Only used in place of the default Integer, Long, Double and Boolean type converters (i.e. not configured with a
+ * number format or locale).  Decoding gives the same result as those converters.  Text that the decoder doesn't
+ * handle (e.g. exponents, non-ASCII digits, or invalid values) is left to the type converter, so as the result
+ * (or error) stays exactly the same.
+ */
+public enum PrimitiveTypeDecoder {
+
+    INT(Integer.TYPE, Integer.class) {
+        @Override
+        public boolean decodeAndSet(CharSequence text, Object bean, PropertySetter propertySetter) throws IllegalAccessException, InvocationTargetException {
+            int start = trimStart(text);
+            long value = parseLong(text, start, trimEnd(text, start), 10);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return false;
+            }
+
+            propertySetter.setInt(bean, (int) value);
+            return true;
+        }
+    },
+    LONG(Long.TYPE, Long.class) {
+        @Override
+        public boolean decodeAndSet(CharSequence text, Object bean, PropertySetter propertySetter) throws IllegalAccessException, InvocationTargetException {
+            int start = trimStart(text);
+            long value = parseLong(text, start, trimEnd(text, start), 18);
+            if (value == NOT_DECODED) {
+                return false;
+            }
+
+            propertySetter.setLong(bean, value);
+            return true;
+        }
+    },
+    DOUBLE(Double.TYPE, Double.class) {
+        @Override
+        public boolean decodeAndSet(CharSequence text, Object bean, PropertySetter propertySetter) throws IllegalAccessException, InvocationTargetException {
+            int start = trimStart(text);
+            int end = trimEnd(text, start);
+            boolean negative = false;
+
+            if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+                negative = text.charAt(start) == '-';
+                start++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (c == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    return false;
+                }
+            }
+
+            // Up to 15 digits, the mantissa and the power of ten are both exact doubles, so a single
+            // (correctly rounded) division gives the same value as Double.parseDouble...
+            if (digits == 0 || digits > 15) {
+                return false;
+            }
+
+            double value = mantissa;
+            if (fractionDigits > 0) {
+                value = value / POWERS_OF_TEN[fractionDigits];
+            }
+            propertySetter.setDouble(bean, negative ? -value : value);
+            return true;
+        }
+    },
+    BOOLEAN(Boolean.TYPE, Boolean.class) {
+        @Override
+        public boolean decodeAndSet(CharSequence text, Object bean, PropertySetter propertySetter) throws IllegalAccessException, InvocationTargetException {
+            int start = trimStart(text);
+            int end = trimEnd(text, start);
+
+            for (int i = start; i < end; i++) {
+                if (text.charAt(i) > 127) {
+                    return false;
+                }
+            }
+
+            // Anything that's not a "true" value decodes to false...
+            boolean value = false;
+            for (String trueValue : TRUE_VALUES) {
+                if (regionEqualsIgnoreCase(text, start, end, trueValue)) {
+                    value = true;
+                    break;
+                }
+            }
+
+            propertySetter.setBoolean(bean, value);
+            return true;
+        }
+    };
+
+    private static final long NOT_DECODED = Long.MIN_VALUE;
+    private static final String[] TRUE_VALUES = {"y", "yes", "true", "1"};
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private final Class<?> type;
+    private final Class<?> boxedType;
+
+    PrimitiveTypeDecoder(Class<?> type, Class<?> boxedType) {
+        this.type = type;
+        this.boxedType = boxedType;
+    }
+
+    /**
+     * Get the primitive type.
+     *
+     * @return The primitive type.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Get the boxed type, as produced by the type converter this decoder stands in for.
+     *
+     * @return The boxed type.
+     */
+    public Class<?> getBoxedType() {
+        return boxedType;
+    }
+
+    /**
+     * Decode the text and set the value on the bean.
+     *
+     * @param text           The text to be decoded.
+     * @param bean           The target bean.
+     * @param propertySetter The bean property setter.
+     * @return True if the value was decoded and set, false if the text is to be decoded by the type converter.
+     * @throws IllegalAccessException    The setter method is not accessible.
+     * @throws InvocationTargetException The setter method threw an exception.
+     */
+    public abstract boolean decodeAndSet(CharSequence text, Object bean, PropertySetter propertySetter) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Get the decoder that can stand in for the type converter created by the supplied factory.
+     *
+     * @param typeConverterFactory The type converter factory.
+     * @return The decoder, or null if the type converter is not a default Integer, Long, Double or Boolean converter.
+     */
+    public static PrimitiveTypeDecoder forTypeConverterFactory(TypeConverterFactory<?, ?> typeConverterFactory) {
+        if (typeConverterFactory instanceof BooleanConverterFactory) {
+            return BOOLEAN;
+        }
+
+        PrimitiveTypeDecoder primitiveTypeDecoder;
+        if (typeConverterFactory instanceof StringToIntegerConverterFactory) {
+            primitiveTypeDecoder = INT;
+        } else if (typeConverterFactory instanceof StringToLongConverterFactory) {
+            primitiveTypeDecoder = LONG;
+        } else if (typeConverterFactory instanceof StringToDoubleConverterFactory) {
+            primitiveTypeDecoder = DOUBLE;
+        } else {
+            return null;
+        }
+
+        TypeConverter<?, ?> typeConverter = typeConverterFactory.createTypeConverter();
+        if (typeConverter instanceof NumberTypeConverter && ((NumberTypeConverter<?, ?>) typeConverter).getNumberFormat() == null) {
+            return primitiveTypeDecoder;
+        }
+
+        return null;
+    }
+
+    private static int trimStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static long parseLong(CharSequence text, int start, int end, int maxDigits) {
+        boolean negative = false;
+
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+        if (start == end || end - start > maxDigits) {
+            return NOT_DECODED;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_DECODED;
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static boolean regionEqualsIgnoreCase(CharSequence text, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.converter;
+
+import org.smooks.api.converter.TypeConverter;
+import org.smooks.api.converter.TypeConverterFactory;
+import org.smooks.assertion.AssertArgument;
+import org.smooks.engine.converter.BooleanConverterFactory;
+import org.smooks.engine.converter.NumberTypeConverter;
+import org.smooks.engine.converter.StringConverterFactory;
+
+/**
+ * {@link TypeConverter} utility methods.
+ */
+public final class TypeConverters {
+
+    private TypeConverters() {
+
+    }
+
+    /**
+     * Create a {@link TypeConverter} that can safely be used by concurrent threads.
+     * <p/>
+     * Stateless converters are shared.  Other converters are created on demand, once per thread.
+     *
+     * @param typeConverterFactory The factory for creating the converter.
+     * @return A thread-safe converter.
+     */
+    @SuppressWarnings("unchecked")
+    public static TypeConverter<? super String, ?> threadSafeTypeConverter(TypeConverterFactory<? super String, ?> typeConverterFactory) {
+        AssertArgument.isNotNull(typeConverterFactory, "typeConverterFactory");
+
+        TypeConverter<? super String, ?> typeConverter = typeConverterFactory.createTypeConverter();
+        if (isStateless(typeConverterFactory, typeConverter)) {
+            return typeConverter;
+        } else {
+            return new ThreadLocalTypeConverter((TypeConverterFactory<String, ?>) typeConverterFactory, (TypeConverter<String, ?>) typeConverter);
+        }
+    }
+
+    /**
+     * Is the supplied converter stateless.
+     *
+     * @param typeConverterFactory The factory that created the converter.
+     * @param typeConverter        The converter.
+     * @return True if the converter can be shared by concurrent threads, otherwise false.
+     */
+    public static boolean isStateless(TypeConverterFactory<?, ?> typeConverterFactory, TypeConverter<?, ?> typeConverter) {
+        if (typeConverter instanceof StatelessTypeConverter) {
+            return true;
+        } else if (typeConverterFactory instanceof StringConverterFactory || typeConverterFactory instanceof BooleanConverterFactory) {
+            // Both create non-capturing lambdas...
+            return true;
+        } else if (typeConverter instanceof NumberTypeConverter) {
+            // Number converters are only stateful when they're using a NumberFormat...
+            return ((NumberTypeConverter<?, ?>) typeConverter).getNumberFormat() == null;
+        }
+
+        return false;
+    }
+
+    private static class ThreadLocalTypeConverter implements TypeConverter<String, Object> {
+
+        private final ThreadLocal<TypeConverter<String, ?>> typeConverter;
+
+        private ThreadLocalTypeConverter(TypeConverterFactory<String, ?> typeConverterFactory, TypeConverter<String, ?> initialTypeConverter) {
+            typeConverter = ThreadLocal.withInitial(() -> (TypeConverter<String, ?>) typeConverterFactory.createTypeConverter());
+            typeConverter.set(initialTypeConverter);
+        }
+
+        @Override
+        public Object convert(String value) {
+            return typeConverter.get().convert(value);
+        }
+    }
+}
@@ -58,12 +58,20 @@ public abstract class AbstractCachingFactoryDefinitionParser implements FactoryD
 
     protected final ConcurrentHashMap<String, Factory<?>> factoryCache = new ConcurrentHashMap<>();
 
+    protected final ConcurrentHashMap<String, Factory<?>> reflectiveFactoryCache = new ConcurrentHashMap<>();
+
     public Factory<?> parse(String factoryDefinition) {
+        return parse(factoryDefinition, true);
+    }
+
+    @Override
+    public Factory<?> parse(String factoryDefinition, boolean generateAccessors) {
+        ConcurrentHashMap<String, Factory<?>> factoryCache = generateAccessors ? this.factoryCache : reflectiveFactoryCache;
         Factory<?> factory = factoryCache.get(factoryDefinition);
 
         if (factory == null) {
 
-            factory = createFactory(factoryDefinition);
+            factory = createFactory(factoryDefinition, generateAccessors);
 
             if (factory == null) {
                 throw new NullPointerException("Null was returned by the createFactory method.");
@@ -81,4 +89,18 @@ public abstract class AbstractCachingFactoryDefinitionParser implements FactoryD
 
     protected abstract Factory<?> createFactory(String factoryDefinition);
 
+    /**
+     * Creates the factory, generating its accessors or not.
+     * <p>
+     * By default the generateAccessors flag is ignored.
+     *
+     * @param factoryDefinition The factory definition
+     * @param generateAccessors True if the factory may create the objects through generated accessors, false if it
+     *                          is to use reflection.
+     * @return The factory.
+     */
+    protected Factory<?> createFactory(String factoryDefinition, boolean generateAccessors) {
+        return createFactory(factoryDefinition);
+    }
+
 }
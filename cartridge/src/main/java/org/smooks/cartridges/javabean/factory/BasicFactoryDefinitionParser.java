@@ -43,6 +43,9 @@
 package org.smooks.cartridges.javabean.factory;
 
 import org.smooks.api.ExecutionContext;
+import org.smooks.cartridges.javabean.accessor.FactoryMethodInstantiator;
+import org.smooks.cartridges.javabean.accessor.Instantiator;
+import org.smooks.cartridges.javabean.accessor.Instantiators;
 import org.smooks.support.ClassUtils;
 
 import java.lang.reflect.InvocationTargetException;
@@ -77,6 +80,16 @@ public class BasicFactoryDefinitionParser extends
      */
     @Override
     protected Factory<?> createFactory(String factoryDefinition) {
+        return createFactory(factoryDefinition, true);
+    }
+
+    /**
+     * Parses the factory definition and creates a {@link StaticMethodFactory}
+     * or {@link FactoryInstanceFactory} accordingly, generating their instantiators
+     * or not.
+     */
+    @Override
+    protected Factory<?> createFactory(String factoryDefinition, boolean generateAccessors) {
         String[] defParts = factoryDefinition.split("#");
         if (defParts.length == 2) {
             String className = defParts[0];
@@ -85,13 +98,13 @@ public class BasicFactoryDefinitionParser extends
                 String[] methodParts = methodDef.split("\\.");
 
                 if (methodParts.length == 1) {
-                    return createStaticMethodFactory(factoryDefinition, className, methodDef);
+                    return createStaticMethodFactory(factoryDefinition, className, methodDef, generateAccessors);
                 } else if (methodParts.length == 2) {
 
                     String staticGetInstanceMethodDef = methodParts[0];
                     String factoryMethodDef = methodParts[1];
 
-                    return createFactoryInstanceFactory(factoryDefinition, className, staticGetInstanceMethodDef, factoryMethodDef);
+                    return createFactoryInstanceFactory(factoryDefinition, className, staticGetInstanceMethodDef, factoryMethodDef, generateAccessors);
 
                 } else {
                     throw createInvalidDefinitionException(factoryDefinition);
@@ -119,6 +132,22 @@ public class BasicFactoryDefinitionParser extends
      * @throws NoSuchMethodException
      */
     protected Factory<?> createStaticMethodFactory(String factoryDefinition, String className, String methodDef) throws ClassNotFoundException, SecurityException, NoSuchMethodException {
+        return createStaticMethodFactory(factoryDefinition, className, methodDef, true);
+    }
+
+    /**
+     * Creates a StaticMethodFactory object.
+     *
+     * @param factoryDefinition
+     * @param className
+     * @param methodDef
+     * @param generateAccessors True if the factory method instantiator is to be generated, false if it is to use reflection.
+     * @return
+     * @throws ClassNotFoundException
+     * @throws SecurityException
+     * @throws NoSuchMethodException
+     */
+    protected Factory<?> createStaticMethodFactory(String factoryDefinition, String className, String methodDef, boolean generateAccessors) throws ClassNotFoundException, SecurityException, NoSuchMethodException {
         Class<?> factoryClass = ClassUtils.forName(className, this.getClass());
         Method factoryMethod = factoryClass.getMethod(methodDef);
 
@@ -126,7 +155,7 @@ public class BasicFactoryDefinitionParser extends
             throw new NoSuchMethodException("No static method with the name '" + methodDef + "' can be found on the class '" + className + "' while processing the factory definition '" + factoryDefinition + "'.");
         }
 
-        return new StaticMethodFactory(factoryDefinition, factoryMethod);
+        return new StaticMethodFactory(factoryDefinition, factoryMethod, generateAccessors);
     }
 
     /**
@@ -142,6 +171,23 @@ public class BasicFactoryDefinitionParser extends
      * @throws NoSuchMethodException
      */
     protected Factory<?> createFactoryInstanceFactory(String factoryDefinition, String className, String staticGetInstanceMethodDef, String factoryMethodDef) throws ClassNotFoundException, SecurityException, NoSuchMethodException {
+        return createFactoryInstanceFactory(factoryDefinition, className, staticGetInstanceMethodDef, factoryMethodDef, true);
+    }
+
+    /**
+     * Creates a FactoryInstanceFactory object.
+     *
+     * @param factoryDefinition
+     * @param className
+     * @param staticGetInstanceMethodDef
+     * @param factoryMethodDef
+     * @param generateAccessors True if the method instantiators are to be generated, false if they are to use reflection.
+     * @return
+     * @throws ClassNotFoundException
+     * @throws SecurityException
+     * @throws NoSuchMethodException
+     */
+    protected Factory<?> createFactoryInstanceFactory(String factoryDefinition, String className, String staticGetInstanceMethodDef, String factoryMethodDef, boolean generateAccessors) throws ClassNotFoundException, SecurityException, NoSuchMethodException {
         Class<?> factoryClass = ClassUtils.forName(className, this.getClass());
         Method getInstanceMethod = factoryClass.getMethod(staticGetInstanceMethodDef);
         Class<?> factoryType = getInstanceMethod.getReturnType();
@@ -151,7 +197,7 @@ public class BasicFactoryDefinitionParser extends
             throw new NoSuchMethodException("No static method with the name '" + staticGetInstanceMethodDef + "' can be found on the class '" + className + "'.");
         }
 
-        return new FactoryInstanceFactory(factoryDefinition, getInstanceMethod, factoryMethod);
+        return new FactoryInstanceFactory(factoryDefinition, getInstanceMethod, factoryMethod, false, generateAccessors);
     }
 
 
@@ -174,30 +220,40 @@ public class BasicFactoryDefinitionParser extends
 
         protected final Method factoryMethod;
 
+        protected final Instantiator instantiator;
+
         public StaticMethodFactory(String factoryDefinition, Method factoryMethod) {
+            this(factoryDefinition, factoryMethod, true);
+        }
+
+        public StaticMethodFactory(String factoryDefinition, Method factoryMethod, boolean generateAccessors) {
             this.factoryDefinition = factoryDefinition;
             this.factoryMethod = factoryMethod;
+            this.instantiator = Instantiators.forStaticMethod(factoryMethod, generateAccessors);
         }
 
         public Object create(ExecutionContext executionContext) {
             try {
-                return factoryMethod.invoke(null);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new FactoryException("Could not invoke the static factory method '" + toClassDefinition(factoryMethod) + "' defined by the factory definition '" + factoryDefinition + "'");
+                return instantiator.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new FactoryException("Could not invoke the static factory method '" + toClassDefinition(factoryMethod) + "' defined by the factory definition '" + factoryDefinition + "'", e);
             }
         }
 
         @Override
         public String toString() {
-            return String.format("%s[factoryDefinition=%s,factoryMethod=%s]", this, factoryDefinition, factoryMethod);
+            return String.format("%s[factoryDefinition=%s,factoryMethod=%s]", getClass().getSimpleName(), factoryDefinition, factoryMethod);
         }
     }
 
     /**
      * The FactoryInstanceFactory uses a static method to retrieve the factory object and
      * then calls the factory method on the factory object to create the target objects.
+     * <p/>
+     * By default the factory object is retrieved on every create. A factory returned by
+     * {@link #withCachedFactoryInstance()} retrieves it once and reuses it.
      */
-    protected static class FactoryInstanceFactory implements Factory<Object> {
+    protected static class FactoryInstanceFactory implements CacheableFactory<Object> {
 
         protected final String factoryDefinition;
 
@@ -205,37 +261,78 @@ public class BasicFactoryDefinitionParser extends
 
         protected final Method factoryMethod;
 
+        protected final boolean cacheFactoryInstance;
+
+        protected final boolean generateAccessors;
+
+        protected final Instantiator getInstanceInstantiator;
+
+        protected final FactoryMethodInstantiator factoryMethodInstantiator;
+
+        private volatile Object cachedFactoryObj;
+
         public FactoryInstanceFactory(String factoryDefinition, Method getInstanceMethod, Method factoryMethod) {
+            this(factoryDefinition, getInstanceMethod, factoryMethod, false);
+        }
+
+        public FactoryInstanceFactory(String factoryDefinition, Method getInstanceMethod, Method factoryMethod, boolean cacheFactoryInstance) {
+            this(factoryDefinition, getInstanceMethod, factoryMethod, cacheFactoryInstance, true);
+        }
+
+        public FactoryInstanceFactory(String factoryDefinition, Method getInstanceMethod, Method factoryMethod, boolean cacheFactoryInstance, boolean generateAccessors) {
             this.factoryDefinition = factoryDefinition;
             this.getInstanceMethod = getInstanceMethod;
             this.factoryMethod = factoryMethod;
+            this.cacheFactoryInstance = cacheFactoryInstance;
+            this.generateAccessors = generateAccessors;
+            this.getInstanceInstantiator = Instantiators.forStaticMethod(getInstanceMethod, generateAccessors);
+            this.factoryMethodInstantiator = Instantiators.forFactoryMethod(factoryMethod, generateAccessors);
         }
 
         public Object create(ExecutionContext executionContext) {
-            Object factoryObj;
+            Object factoryObj = cachedFactoryObj;
+            if (factoryObj == null) {
+                factoryObj = getFactoryObject();
+                if (cacheFactoryInstance) {
+                    cachedFactoryObj = factoryObj;
+                }
+            }
 
             try {
-                factoryObj = getInstanceMethod.invoke(null);
+                return factoryMethodInstantiator.newInstance(factoryObj);
             } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new FactoryException("Could not invoke the static method '" + toClassDefinition(getInstanceMethod) + "' to retrieve the factory defined by the factory definition '" + factoryDefinition + "'");
+                throw new FactoryException("Could not invoke the method '" + toClassDefinition(factoryMethod) + "' on the factory object '" + factoryObj + "'. This factory is defined by the factory definition '" + factoryDefinition + "'", e);
             }
+        }
 
-            if (factoryObj == null) {
-                throw new NullPointerException("The static method '" + toClassDefinition(getInstanceMethod) + "' returned null, which is not allowed");
+        @Override
+        public Factory<Object> withCachedFactoryInstance() {
+            if (cacheFactoryInstance) {
+                return this;
             }
+            return new FactoryInstanceFactory(factoryDefinition, getInstanceMethod, factoryMethod, true, generateAccessors);
+        }
+
+        private Object getFactoryObject() {
+            Object factoryObj;
 
             try {
-                return factoryMethod.invoke(factoryObj);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new FactoryException("Could not invoke the method '" + toClassDefinition(factoryMethod) + "' on the factory object '" + factoryObj + "'. This factory is defined by the factory definition '" + factoryDefinition + "'");
+                factoryObj = getInstanceInstantiator.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new FactoryException("Could not invoke the static method '" + toClassDefinition(getInstanceMethod) + "' to retrieve the factory defined by the factory definition '" + factoryDefinition + "'", e);
+            }
+
+            if (factoryObj == null) {
+                throw new NullPointerException("The static method '" + toClassDefinition(getInstanceMethod) + "' returned null, which is not allowed");
             }
+
+            return factoryObj;
         }
 
         @Override
         public String toString() {
-            return String.format("%s[factoryDefinition=%s,factoryMethod=%s]", this, factoryDefinition, factoryMethod);
+            return String.format("%s[factoryDefinition=%s,factoryMethod=%s,cacheFactoryInstance=%s]", getClass().getSimpleName(), factoryDefinition, factoryMethod, cacheFactoryInstance);
         }
-
     }
 
 }
@@ -79,6 +79,24 @@ public interface FactoryDefinitionParser {
      */
     Factory<?> parse(String factoryDefinition);
 
+    /**
+     * Parses the factory definition string and creates a factory object
+     * that can create the object according to the definition.
+     * <p>
+     * By default the generateAccessors flag is ignored, i.e. it's up to the parser whether
+     * its factories create objects through generated accessors or through reflection.
+     *
+     * @param factoryDefinition The factory definition
+     * @param generateAccessors True if the factory may create the objects through generated accessors, false if it
+     *                          is to use reflection.
+     * @return The Factory object that creates the target object according to the definition.
+     * @throws InvalidFactoryDefinitionException If the factoryDefinition is invalid
+     * @throws FactoryException                  If something went wrong while creating the factory
+     */
+    default Factory<?> parse(String factoryDefinition, boolean generateAccessors) {
+        return parse(factoryDefinition);
+    }
+
 
     @SuppressWarnings("unchecked")
     class FactoryDefinitionParserFactory {
@@ -42,18 +42,36 @@
  */
 package org.smooks.cartridges.javabean.factory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.smooks.api.ExecutionContext;
 import org.smooks.cartridges.javabean.BeanMapExpressionEvaluator;
+import org.smooks.cartridges.javabean.accessor.Instantiator;
+import org.smooks.cartridges.javabean.accessor.Instantiators;
+import org.smooks.support.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * The MVELFactory uses MVEL to create the objects using a MVEL expression.
+ * <p/>
+ * A plain constructor call (e.g. <code>new java.util.ArrayList()</code>) is compiled into an {@link Instantiator}
+ * instead of being evaluated by MVEL for every object.  See {@link #isCompiled()}.
  *
  * @author <a href="mailto:maurice.zeijen@smies.com">maurice.zeijen@smies.com</a>
  */
 public class MVELFactory<T> implements Factory<T> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MVELFactory.class);
+
+    private static final Pattern CONSTRUCTOR_CALL_PATTERN = Pattern.compile("new\\s+((?:\\w+\\.)+\\w+)\\s*\\(\\s*\\)\\s*;?");
+
     protected BeanMapExpressionEvaluator expressionEvaluator;
 
+    protected Instantiator instantiator;
+
     /**
      *
      */
@@ -61,18 +79,66 @@ public class MVELFactory<T> implements Factory<T> {
     }
 
     public MVELFactory(String expression) {
+        this(expression, true);
+    }
+
+    /**
+     * @param expression        The factory expression.
+     * @param generateAccessors True if a compiled constructor call is to be generated, false if it is to use
+     *                          reflection.
+     */
+    public MVELFactory(String expression, boolean generateAccessors) {
         expressionEvaluator = new BeanMapExpressionEvaluator(expression);
+        instantiator = compile(expressionEvaluator.getExpression(), generateAccessors);
+    }
+
+    private static Instantiator compile(String expression, boolean generateAccessors) {
+        Matcher constructorCall = CONSTRUCTOR_CALL_PATTERN.matcher(expression);
+        if (!constructorCall.matches()) {
+            return null;
+        }
+
+        try {
+            return Instantiators.forConstructor(ClassUtils.forName(constructorCall.group(1), MVELFactory.class), generateAccessors);
+        } catch (ClassNotFoundException | NoSuchMethodException | RuntimeException e) {
+            LOGGER.debug("Failed to compile MVEL factory expression '" + expression + "'. It will be interpreted by MVEL.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Is the factory expression compiled, or is it interpreted by MVEL for every object.
+     *
+     * @return True if the expression is compiled, otherwise false.
+     */
+    public boolean isCompiled() {
+        return instantiator != null;
+    }
+
+    /**
+     * Get the factory expression.
+     *
+     * @return The factory expression.
+     */
+    public String getExpression() {
+        return expressionEvaluator != null ? expressionEvaluator.getExpression() : null;
     }
 
     /* (non-Javadoc)
      * @see org.smooks.cartridges.javabean.factory.Factory#create()
      */
 
+    @SuppressWarnings("unchecked")
     public T create(ExecutionContext executionContext) {
-        @SuppressWarnings("unchecked")
-        T result = (T) expressionEvaluator.getValue(executionContext);
+        if (instantiator != null) {
+            try {
+                return (T) instantiator.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new FactoryException("Failed to create an object using expression '" + expressionEvaluator.getExpression() + "'.", e);
+            }
+        }
 
-        return result;
+        return (T) expressionEvaluator.getValue(executionContext);
     }
 
     /* (non-Javadoc)
@@ -80,7 +146,8 @@ public class MVELFactory<T> implements Factory<T> {
      */
     @Override
     public String toString() {
-        return String.format("%s[expressionEvaluator=%s]", this, expressionEvaluator);
+        // MVELExpressionEvaluator.toString() formats itself, so use the expression...
+        return String.format("%s[expression=%s, instantiator=%s]", getClass().getSimpleName(), expressionEvaluator != null ? expressionEvaluator.getExpression() : null, instantiator);
     }
 
 }
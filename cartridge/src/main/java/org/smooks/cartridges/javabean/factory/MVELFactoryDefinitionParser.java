@@ -54,7 +54,12 @@ public class MVELFactoryDefinitionParser extends AbstractCachingFactoryDefinitio
 
     @Override
     protected Factory<?> createFactory(String factoryDefinition) {
-        return new MVELFactory<Object>(factoryDefinition);
+        return createFactory(factoryDefinition, true);
+    }
+
+    @Override
+    protected Factory<?> createFactory(String factoryDefinition, boolean generateAccessors) {
+        return new MVELFactory<Object>(factoryDefinition, generateAccessors);
     }
 
 }
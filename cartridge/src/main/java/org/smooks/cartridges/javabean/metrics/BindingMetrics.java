@@ -0,0 +1,178 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.metrics;
+
+import org.smooks.api.ApplicationContext;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.engine.lookup.GlobalParamsLookup;
+import org.smooks.support.ClassUtils;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Binding metrics of an {@link ApplicationContext}, i.e. the {@link BindingStats} of its bean creators, bean
+ * bindings and value binders, keyed by bean id and binding.
+ * <p/>
+ * Metrics are switched on per binding through the {@link #ENABLED} parameter (typically set as a global parameter).
+ * Bindings without metrics hold no {@link BindingStats} and so don't record anything.  The stats are exported through
+ * the {@link BindingMetricsExporter} configured by the {@link #EXPORTER} global parameter, which defaults to the
+ * {@link JmxBindingMetricsExporter}.
+ */
+public final class BindingMetrics {
+
+    /**
+     * Parameter for recording the binding metrics.  Defaults to false.
+     */
+    public static final String ENABLED = "org.smooks.cartridges.javabean.metrics.enabled";
+
+    /**
+     * Global parameter for the class name of the {@link BindingMetricsExporter}.  Defaults to the
+     * {@link JmxBindingMetricsExporter}.
+     */
+    public static final String EXPORTER = "org.smooks.cartridges.javabean.metrics.exporter";
+
+    private static final String CONTEXT_KEY = BindingMetrics.class.getName() + "#CONTEXT_KEY";
+
+    private final String name = Integer.toHexString(System.identityHashCode(this));
+    private final ConcurrentMap<String, BindingStats> statsByName = new ConcurrentHashMap<>();
+    private final BindingMetricsExporter exporter;
+    private volatile boolean closed;
+
+    private BindingMetrics(BindingMetricsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Get the metrics of the supplied application context, creating them if needs be.
+     *
+     * @param appContext The application context.
+     * @return The metrics.
+     */
+    public static BindingMetrics getInstance(ApplicationContext appContext) {
+        BindingMetrics metrics = (BindingMetrics) appContext.getRegistry().lookup(CONTEXT_KEY);
+
+        if (metrics == null) {
+            synchronized (BindingMetrics.class) {
+                metrics = (BindingMetrics) appContext.getRegistry().lookup(CONTEXT_KEY);
+                if (metrics == null) {
+                    metrics = new BindingMetrics(createExporter(appContext));
+                    appContext.getRegistry().registerObject(CONTEXT_KEY, metrics);
+                }
+            }
+        }
+
+        return metrics;
+    }
+
+    private static BindingMetricsExporter createExporter(ApplicationContext appContext) {
+        String className = appContext.getRegistry().lookup(new GlobalParamsLookup(appContext.getRegistry())).getParameterValue(EXPORTER, String.class, JmxBindingMetricsExporter.class.getName());
+
+        try {
+            return (BindingMetricsExporter) ClassUtils.forName(className.trim(), BindingMetrics.class).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new SmooksConfigException("The BindingMetricsExporter class '" + className + "' can't be found.", e);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new SmooksConfigException("The BindingMetricsExporter class '" + className + "' can't be instantiated.  It must implement " + BindingMetricsExporter.class.getName() + " and have a public argumentless constructor.", e);
+        }
+    }
+
+    /**
+     * Get the name identifying these metrics amongst the metrics of other application contexts.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the stats of a binding, creating and exporting them if needs be.
+     *
+     * @param beanId  The bean id name.
+     * @param binding The binding (e.g. the property name) or null for the bean itself.
+     * @return The stats.
+     */
+    public BindingStats getStats(String beanId, String binding) {
+        String statsName = BindingStats.toName(beanId, binding);
+        BindingStats stats = statsByName.get(statsName);
+
+        if (stats == null) {
+            BindingStats newStats = new BindingStats(beanId, binding);
+            stats = statsByName.putIfAbsent(statsName, newStats);
+            if (stats == null) {
+                stats = newStats;
+                if (!closed) {
+                    exporter.export(this, stats);
+                }
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * Get the stats of all the bindings, by binding name.
+     *
+     * @return A sorted snapshot of the stats.
+     */
+    public Map<String, BindingStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(statsByName));
+    }
+
+    /**
+     * Withdraw the exported stats.  Called when the application context is closed.
+     */
+    @PreDestroy
+    public void close() {
+        if (!closed) {
+            closed = true;
+            statsByName.values().forEach(stats -> exporter.unexport(this, stats));
+        }
+    }
+}
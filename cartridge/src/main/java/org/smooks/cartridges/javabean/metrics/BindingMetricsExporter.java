@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.metrics;
+
+/**
+ * Exports the {@link BindingStats} of a {@link BindingMetrics} to a monitoring system.
+ * <p/>
+ * The exporter is configured through the {@link BindingMetrics#EXPORTER} global parameter.  It must have a public
+ * argumentless constructor and must be thread safe.
+ */
+public interface BindingMetricsExporter {
+
+    /**
+     * Export the stats of a binding.  Called once per binding, when its stats are created.
+     *
+     * @param metrics The metrics the stats belong to.
+     * @param stats   The stats.
+     */
+    void export(BindingMetrics metrics, BindingStats stats);
+
+    /**
+     * Withdraw the stats of a binding.  Called when the application context is closed.
+     *
+     * @param metrics The metrics the stats belong to.
+     * @param stats   The stats.
+     */
+    void unexport(BindingMetrics metrics, BindingStats stats);
+}
@@ -0,0 +1,206 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers of a single binding, i.e. of a bean creator, a bean binding or a value binder.
+ * <p/>
+ * All recording methods are thread-safe and contention free, the counters being {@link LongAdder}s.
+ */
+public final class BindingStats implements BindingStatsMXBean {
+
+    private final String beanId;
+    private final String binding;
+    private final LongAdder beansCreated = new LongAdder();
+    private final LongAdder valuesBound = new LongAdder();
+    private final LongAdder decodeFailures = new LongAdder();
+    private final LongAdder expressionEvaluations = new LongAdder();
+    private final LongAdder expressionTime = new LongAdder();
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder converterTime = new LongAdder();
+    private final LongAdder observerNotifications = new LongAdder();
+    private final LongAdder wiredBeans = new LongAdder();
+    private final LongAdder interpretedExpressions = new LongAdder();
+
+    BindingStats(String beanId, String binding) {
+        this.beanId = beanId;
+        this.binding = binding;
+    }
+
+    static String toName(String beanId, String binding) {
+        return binding == null ? beanId : beanId + "#" + binding;
+    }
+
+    /**
+     * Get the name of the binding, i.e. the bean id optionally followed by "#" and the binding.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return toName(beanId, binding);
+    }
+
+    public void beanCreated() {
+        beansCreated.increment();
+    }
+
+    public void valueBound() {
+        valuesBound.increment();
+    }
+
+    public void decodeFailed() {
+        decodeFailures.increment();
+    }
+
+    public void expressionEvaluated(long nanos) {
+        expressionEvaluations.increment();
+        expressionTime.add(nanos);
+    }
+
+    public void converted(long nanos) {
+        conversions.increment();
+        converterTime.add(nanos);
+    }
+
+    public void observerNotified() {
+        observerNotifications.increment();
+    }
+
+    public void beanWired() {
+        wiredBeans.increment();
+    }
+
+    /**
+     * Record a bean expression that couldn't be compiled and is interpreted through MVEL for every bean instance.
+     * <p/>
+     * Recorded when the binding is created, so it isn't cleared by {@link #reset()}.
+     *
+     * @see org.smooks.cartridges.javabean.InterpretedExpressionRegistry
+     */
+    public void expressionInterpreted() {
+        interpretedExpressions.increment();
+    }
+
+    @Override
+    public String getBeanId() {
+        return beanId;
+    }
+
+    @Override
+    public String getBinding() {
+        return binding;
+    }
+
+    @Override
+    public long getBeansCreated() {
+        return beansCreated.sum();
+    }
+
+    @Override
+    public long getValuesBound() {
+        return valuesBound.sum();
+    }
+
+    @Override
+    public long getDecodeFailures() {
+        return decodeFailures.sum();
+    }
+
+    @Override
+    public long getExpressionEvaluations() {
+        return expressionEvaluations.sum();
+    }
+
+    @Override
+    public long getExpressionTime() {
+        return expressionTime.sum();
+    }
+
+    @Override
+    public long getConversions() {
+        return conversions.sum();
+    }
+
+    @Override
+    public long getConverterTime() {
+        return converterTime.sum();
+    }
+
+    @Override
+    public long getObserverNotifications() {
+        return observerNotifications.sum();
+    }
+
+    @Override
+    public long getWiredBeans() {
+        return wiredBeans.sum();
+    }
+
+    @Override
+    public long getInterpretedExpressions() {
+        return interpretedExpressions.sum();
+    }
+
+    @Override
+    public void reset() {
+        beansCreated.reset();
+        valuesBound.reset();
+        decodeFailures.reset();
+        expressionEvaluations.reset();
+        expressionTime.reset();
+        conversions.reset();
+        converterTime.reset();
+        observerNotifications.reset();
+        wiredBeans.reset();
+    }
+
+    @Override
+    public String toString() {
+        return getName() + "[beansCreated=" + getBeansCreated() + ", valuesBound=" + getValuesBound() + ", decodeFailures=" + getDecodeFailures()
+                + ", expressionEvaluations=" + getExpressionEvaluations() + ", expressionTime=" + getExpressionTime()
+                + ", conversions=" + getConversions() + ", converterTime=" + getConverterTime()
+                + ", observerNotifications=" + getObserverNotifications() + ", wiredBeans=" + getWiredBeans() + ", interpretedExpressions=" + getInterpretedExpressions() + "]";
+    }
+}
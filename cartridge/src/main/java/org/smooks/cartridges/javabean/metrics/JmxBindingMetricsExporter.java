@@ -0,0 +1,112 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers the {@link BindingStats} as MXBeans with the platform MBean server, under
+ * "<i>org.smooks.cartridges.javabean:type=BindingMetrics,context=&lt;context&gt;,beanId=&lt;beanId&gt;[,binding=&lt;binding&gt;]</i>".
+ */
+public class JmxBindingMetricsExporter implements BindingMetricsExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxBindingMetricsExporter.class);
+
+    public static final String DOMAIN = "org.smooks.cartridges.javabean";
+
+    private final MBeanServer mBeanServer;
+
+    public JmxBindingMetricsExporter() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxBindingMetricsExporter(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public void export(BindingMetrics metrics, BindingStats stats) {
+        try {
+            mBeanServer.registerMBean(stats, toObjectName(metrics, stats));
+        } catch (JMException e) {
+            LOGGER.warn("Failed to register the binding metrics of [" + stats.getName() + "] with the MBean server.", e);
+        }
+    }
+
+    @Override
+    public void unexport(BindingMetrics metrics, BindingStats stats) {
+        try {
+            mBeanServer.unregisterMBean(toObjectName(metrics, stats));
+        } catch (InstanceNotFoundException e) {
+            // Never registered...
+        } catch (JMException e) {
+            LOGGER.warn("Failed to unregister the binding metrics of [" + stats.getName() + "] from the MBean server.", e);
+        }
+    }
+
+    /**
+     * Get the name the stats of a binding are registered under.
+     *
+     * @param metrics The metrics the stats belong to.
+     * @param stats   The stats.
+     * @return The object name.
+     * @throws MalformedObjectNameException Invalid object name.
+     */
+    public static ObjectName toObjectName(BindingMetrics metrics, BindingStats stats) throws MalformedObjectNameException {
+        StringBuilder name = new StringBuilder(DOMAIN).append(":type=BindingMetrics");
+        name.append(",context=").append(ObjectName.quote(metrics.getName()));
+        name.append(",beanId=").append(ObjectName.quote(stats.getBeanId()));
+        if (stats.getBinding() != null) {
+            name.append(",binding=").append(ObjectName.quote(stats.getBinding()));
+        }
+        return new ObjectName(name.toString());
+    }
+}
@@ -0,0 +1,372 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.observers;
+
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.TypedKey;
+import org.smooks.api.bean.context.BeanContext;
+import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
+import org.smooks.api.bean.lifecycle.BeanContextLifecycleObserver;
+import org.smooks.api.bean.lifecycle.BeanLifecycle;
+import org.smooks.api.bean.repository.BeanId;
+import org.smooks.assertion.AssertArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the {@link BeanLifecycleSubscriber bean lifecycle subscribers} of an {@link ExecutionContext}.
+ * <p/>
+ * The index is registered as a single observer on the {@link BeanContext}.  Subscribers are filed by lifecycle and
+ * {@link BeanId#getIndex() bean id index}, with a separate bucket per lifecycle for subscribers watching any bean
+ * (i.e. watching by type or annotation), so an event is only passed to the subscribers interested in it rather than
+ * to every observer of the bean context.
+ * <p/>
+ * The index follows the bean context's notification contract: subscribers are notified in registration order, and
+ * subscribers added or removed while an event is being dispatched are only added or removed once the dispatch is
+ * complete.
+ */
+public final class BeanContextObserverIndex implements BeanContextLifecycleObserver {
+
+    private static final TypedKey<BeanContextObserverIndex> INDEX_KEY = TypedKey.of();
+    private static final int LIFECYCLE_COUNT = BeanLifecycle.values().length;
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
+    private final BeanContext beanContext;
+    private final BeanContextObserverIndex previous;
+    private final Map<BeanContextLifecycleObserver, ArrayDeque<Registration>> registrations = new HashMap<>();
+    private int registrationCount;
+    private final Bucket[] anyBeanBuckets = new Bucket[LIFECYCLE_COUNT];
+    private final Bucket[][] beanBuckets = new Bucket[LIFECYCLE_COUNT][];
+    private final List<Registration> pendingAdds = new ArrayList<>();
+    private final List<Registration> pendingRemoves = new ArrayList<>();
+    private long sequence;
+    private boolean dispatching;
+
+    private BeanContextObserverIndex(BeanContext beanContext, BeanContextObserverIndex previous) {
+        this.beanContext = beanContext;
+        this.previous = previous;
+        for (int i = 0; i < LIFECYCLE_COUNT; i++) {
+            anyBeanBuckets[i] = new Bucket();
+            beanBuckets[i] = new Bucket[0];
+        }
+    }
+
+    /**
+     * Get the index of the supplied execution context, creating it (and registering it on the execution context's
+     * bean context) if needs be.
+     *
+     * @param executionContext The execution context.
+     * @return The index.
+     */
+    public static BeanContextObserverIndex get(ExecutionContext executionContext) {
+        BeanContext beanContext = executionContext.getBeanContext();
+        BeanContextObserverIndex index = executionContext.get(INDEX_KEY);
+
+        if (index == null || index.beanContext != beanContext) {
+            // If the execution context has been given a new bean context, keep hold of the index of the previous
+            // bean context so as its subscribers can still be removed...
+            index = new BeanContextObserverIndex(beanContext, index);
+            beanContext.addObserver(index);
+            executionContext.put(INDEX_KEY, index);
+        }
+
+        return index;
+    }
+
+    /**
+     * Remove an observer from the execution context.
+     * <p/>
+     * The observer is removed from the execution context's index if it was registered there, otherwise it is
+     * removed from the bean context.
+     *
+     * @param executionContext The execution context.
+     * @param observer         The observer.
+     */
+    public static void removeObserver(ExecutionContext executionContext, BeanContextLifecycleObserver observer) {
+        for (BeanContextObserverIndex index = executionContext.get(INDEX_KEY); index != null; index = index.previous) {
+            if (index.removeSubscriber(observer)) {
+                return;
+            }
+        }
+        executionContext.getBeanContext().removeObserver(observer);
+    }
+
+    /**
+     * Add a subscriber.  The same subscriber may be added more than once, in which case it is notified once per
+     * registration, just like an observer added to the bean context more than once.
+     *
+     * @param subscriber The subscriber.
+     */
+    public void addSubscriber(BeanLifecycleSubscriber subscriber) {
+        AssertArgument.isNotNull(subscriber, "subscriber");
+
+        Registration registration = new Registration(subscriber, sequence++, subscriber.getSubscriptions());
+        registrations.computeIfAbsent(subscriber, key -> new ArrayDeque<>(1)).add(registration);
+        registrationCount++;
+        if (dispatching) {
+            pendingAdds.add(registration);
+        } else {
+            index(registration);
+        }
+    }
+
+    /**
+     * Remove a subscriber (the earliest registration of it, if it was added more than once).  The registration is
+     * looked up by subscriber, so removal only costs the update of the buckets the subscriber is filed in.
+     *
+     * @param observer The subscriber.
+     * @return True if the subscriber was registered, otherwise false.
+     */
+    public boolean removeSubscriber(BeanContextLifecycleObserver observer) {
+        ArrayDeque<Registration> subscriberRegistrations = registrations.get(observer);
+        if (subscriberRegistrations == null) {
+            return false;
+        }
+
+        Registration registration = subscriberRegistrations.poll();
+        if (subscriberRegistrations.isEmpty()) {
+            registrations.remove(observer);
+        }
+        registrationCount--;
+        if (dispatching) {
+            pendingRemoves.add(registration);
+        } else {
+            unindex(registration);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of registered subscribers.
+     *
+     * @return The number of subscribers.
+     */
+    public int size() {
+        return registrationCount;
+    }
+
+    @Override
+    public void onBeanLifecycleEvent(BeanContextLifecycleEvent event) {
+        int lifecycle = event.getLifecycle().ordinal();
+        Bucket anyBeanBucket = anyBeanBuckets[lifecycle];
+        Registration[] anyBeanRegistrations = anyBeanBucket.snapshot();
+        int anyBeanCount = anyBeanBucket.size;
+        Registration[] beanRegistrations = NO_REGISTRATIONS;
+        int beanCount = 0;
+        BeanId beanId = event.getBeanId();
+        if (beanId != null && beanId.getIndex() < beanBuckets[lifecycle].length) {
+            Bucket bucket = beanBuckets[lifecycle][beanId.getIndex()];
+            if (bucket != null) {
+                beanRegistrations = bucket.snapshot();
+                beanCount = bucket.size;
+            }
+        }
+
+        if (anyBeanCount == 0 && beanCount == 0) {
+            return;
+        }
+
+        dispatching = true;
+        try {
+            // Merge the two buckets so as subscribers are notified in registration order...
+            int anyBeanIndex = 0;
+            int beanIndex = 0;
+            while (anyBeanIndex < anyBeanCount || beanIndex < beanCount) {
+                Registration registration;
+                if (beanIndex == beanCount || (anyBeanIndex < anyBeanCount && anyBeanRegistrations[anyBeanIndex].sequence < beanRegistrations[beanIndex].sequence)) {
+                    registration = anyBeanRegistrations[anyBeanIndex++];
+                } else {
+                    registration = beanRegistrations[beanIndex++];
+                }
+                registration.subscriber.onBeanLifecycleEvent(event);
+            }
+        } finally {
+            dispatching = false;
+            for (Registration registration : pendingAdds) {
+                index(registration);
+            }
+            pendingAdds.clear();
+            for (Registration registration : pendingRemoves) {
+                unindex(registration);
+            }
+            pendingRemoves.clear();
+        }
+    }
+
+    private void index(Registration registration) {
+        for (Subscription subscription : registration.subscriptions) {
+            getBucket(subscription, true).add(registration);
+        }
+    }
+
+    private void unindex(Registration registration) {
+        registration.unindexed = true;
+        for (Subscription subscription : registration.subscriptions) {
+            Bucket bucket = getBucket(subscription, false);
+            if (bucket != null) {
+                bucket.unindexed();
+            }
+        }
+    }
+
+    private Bucket getBucket(Subscription subscription, boolean create) {
+        int lifecycle = subscription.lifecycle.ordinal();
+        if (subscription.beanId == null) {
+            return anyBeanBuckets[lifecycle];
+        }
+
+        int beanIndex = subscription.beanId.getIndex();
+        Bucket[] buckets = beanBuckets[lifecycle];
+        if (beanIndex >= buckets.length) {
+            if (!create) {
+                return null;
+            }
+            buckets = Arrays.copyOf(buckets, beanIndex + 1);
+            beanBuckets[lifecycle] = buckets;
+        }
+        if (buckets[beanIndex] == null && create) {
+            buckets[beanIndex] = new Bucket();
+        }
+
+        return buckets[beanIndex];
+    }
+
+    /**
+     * Bean lifecycle event a {@link BeanLifecycleSubscriber} is interested in.
+     */
+    public static final class Subscription {
+
+        private final BeanLifecycle lifecycle;
+        private final BeanId beanId;
+
+        private Subscription(BeanLifecycle lifecycle, BeanId beanId) {
+            this.lifecycle = lifecycle;
+            this.beanId = beanId;
+        }
+
+        /**
+         * Subscribe to a lifecycle event.
+         *
+         * @param lifecycle The lifecycle.
+         * @param beanId    The bean id, or null to subscribe to the lifecycle event of any bean.
+         * @return The subscription.
+         */
+        public static Subscription of(BeanLifecycle lifecycle, BeanId beanId) {
+            AssertArgument.isNotNull(lifecycle, "lifecycle");
+            return new Subscription(lifecycle, beanId);
+        }
+
+        public BeanLifecycle getLifecycle() {
+            return lifecycle;
+        }
+
+        public BeanId getBeanId() {
+            return beanId;
+        }
+
+        @Override
+        public String toString() {
+            return lifecycle + ":" + (beanId != null ? beanId.getName() : "*");
+        }
+    }
+
+    private static final class Registration {
+        private final BeanLifecycleSubscriber subscriber;
+        private final long sequence;
+        private final Subscription[] subscriptions;
+        private boolean unindexed;
+
+        private Registration(BeanLifecycleSubscriber subscriber, long sequence, Subscription[] subscriptions) {
+            this.subscriber = subscriber;
+            this.sequence = sequence;
+            this.subscriptions = subscriptions;
+        }
+    }
+
+    /**
+     * Registrations for one lifecycle/bean id pair, in registration order.
+     * <p/>
+     * Registrations are appended to a growable array and removals only count the registrations marked as unindexed.
+     * They are compacted out into a new array on the next {@link #snapshot()}, so removing many registrations costs a
+     * single pass over the bucket.  The first {@link #size} registrations of a snapshot never change, so a dispatch can
+     * iterate a snapshot without copying it.
+     */
+    private static final class Bucket {
+        private Registration[] registrations = NO_REGISTRATIONS;
+        private int size;
+        private int unindexedCount;
+
+        private Registration[] snapshot() {
+            if (unindexedCount > 0) {
+                Registration[] newRegistrations = new Registration[Math.max(size, 4)];
+                int newSize = 0;
+                for (int i = 0; i < size; i++) {
+                    if (!registrations[i].unindexed) {
+                        newRegistrations[newSize++] = registrations[i];
+                    }
+                }
+                registrations = newRegistrations;
+                size = newSize;
+                unindexedCount = 0;
+            }
+            return registrations;
+        }
+
+        private void add(Registration registration) {
+            if (size == registrations.length) {
+                registrations = Arrays.copyOf(registrations, Math.max(size * 2, 4));
+            }
+            registrations[size++] = registration;
+        }
+
+        private void unindexed() {
+            unindexedCount++;
+        }
+    }
+}
@@ -45,10 +45,10 @@ package org.smooks.cartridges.javabean.observers;
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.bean.context.BeanContext;
 import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
-import org.smooks.api.bean.lifecycle.BeanContextLifecycleObserver;
 import org.smooks.api.bean.lifecycle.BeanLifecycle;
 import org.smooks.api.bean.repository.BeanId;
 import org.smooks.cartridges.javabean.BeanInstancePopulator;
+import org.smooks.cartridges.javabean.metrics.BindingStats;
 
 import java.lang.annotation.Annotation;
 
@@ -57,13 +57,15 @@ import java.lang.annotation.Annotation;
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
-public class BeanWiringObserver implements BeanContextLifecycleObserver {
+public class BeanWiringObserver implements BeanLifecycleSubscriber {
 
     protected BeanId watchedBeanId;
     protected Class<?> watchedBeanType;
     protected Class<? extends Annotation> watchedBeanAnnotation;
     protected BeanId watchingBeanId;
     protected BeanInstancePopulator populator;
+    protected BindingStats metrics;
+    private volatile ClassValue<Boolean> matchCache;
 
     public BeanWiringObserver(BeanId watchingBean, BeanInstancePopulator populator) {
         this.watchingBeanId = watchingBean;
@@ -77,14 +79,29 @@ public class BeanWiringObserver implements BeanContextLifecycleObserver {
 
     public BeanWiringObserver watchedBeanType(Class watchedBeanType) {
         this.watchedBeanType = watchedBeanType;
+        this.matchCache = null;
         return this;
     }
 
     public BeanWiringObserver watchedBeanAnnotation(Class<? extends Annotation> watchedBeanAnnotation) {
         this.watchedBeanAnnotation = watchedBeanAnnotation;
+        this.matchCache = null;
         return this;
     }
 
+    public BeanWiringObserver metrics(BindingStats metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    @Override
+    public BeanContextObserverIndex.Subscription[] getSubscriptions() {
+        // Watching by type or annotation only means watching the ADD of any bean...
+        return new BeanContextObserverIndex.Subscription[]{
+                BeanContextObserverIndex.Subscription.of(BeanLifecycle.ADD, watchedBeanId),
+                BeanContextObserverIndex.Subscription.of(BeanLifecycle.REMOVE, watchingBeanId)};
+    }
+
     /* (non-Javadoc)
      * @see org.smooks.cartridges.javabean.lifecycle.BeanContextLifecycleObserver#onBeanLifecycleEvent(org.smooks.cartridges.javabean.lifecycle.BeanContextLifecycleEvent)
      */
@@ -92,22 +109,27 @@ public class BeanWiringObserver implements BeanContextLifecycleObserver {
         BeanId beanId = event.getBeanId();
         BeanLifecycle lifecycle = event.getLifecycle();
 
+        if (metrics != null) {
+            metrics.observerNotified();
+        }
+
         if (lifecycle == BeanLifecycle.ADD) {
             if (watchedBeanId != null && beanId != watchedBeanId) {
                 return;
             }
 
             Object bean = event.getBean();
-            if (!isMatchingBean(bean, watchedBeanType, watchedBeanAnnotation)) {
+            if (!isMatchingBean(bean)) {
                 return;
             }
 
             ExecutionContext executionContext = event.getExecutionContext();
             populator.populateAndSetPropertyValue(bean, executionContext.getBeanContext(), watchingBeanId, executionContext, event.getSource());
         } else if (beanId == watchingBeanId && lifecycle == BeanLifecycle.REMOVE) {
-            BeanContext beanContext = event.getExecutionContext().getBeanContext();
+            ExecutionContext executionContext = event.getExecutionContext();
+            BeanContext beanContext = executionContext.getBeanContext();
 
-            beanContext.removeObserver(this);
+            BeanContextObserverIndex.removeObserver(executionContext, this);
             // Need to remove the watched bean from the bean context too because it's lifecycle is associated
             // with the lifecycle of the watching bean, which has been removed...
             if (watchedBeanId != null) {
@@ -116,12 +138,52 @@ public class BeanWiringObserver implements BeanContextLifecycleObserver {
         }
     }
 
+    /**
+     * Is the supplied bean of the watched type and annotated with the watched annotation.
+     * <p/>
+     * The match result is cached per bean class, so repeated events for beans of the same class
+     * don't repeat the type and annotation lookups.
+     *
+     * @param bean The bean.
+     * @return True if the bean matches, otherwise false.
+     */
+    public boolean isMatchingBean(Object bean) {
+        if (watchedBeanType == null && watchedBeanAnnotation == null) {
+            return true;
+        }
+
+        ClassValue<Boolean> cache = matchCache;
+        if (cache == null) {
+            cache = new MatchCache(watchedBeanType, watchedBeanAnnotation);
+            matchCache = cache;
+        }
+
+        return cache.get(bean.getClass());
+    }
+
     public static boolean isMatchingBean(Object bean, Class<?> type, Class<? extends Annotation> annotation) {
-        Class<?> beanClass = bean.getClass();
+        return isMatchingClass(bean.getClass(), type, annotation);
+    }
 
+    private static boolean isMatchingClass(Class<?> beanClass, Class<?> type, Class<? extends Annotation> annotation) {
         if (type != null && !type.isAssignableFrom(beanClass)) {
             return false;
         }
         return annotation == null || beanClass.isAnnotationPresent(annotation);
     }
+
+    private static final class MatchCache extends ClassValue<Boolean> {
+        private final Class<?> type;
+        private final Class<? extends Annotation> annotation;
+
+        private MatchCache(Class<?> type, Class<? extends Annotation> annotation) {
+            this.type = type;
+            this.annotation = annotation;
+        }
+
+        @Override
+        protected Boolean computeValue(Class<?> beanClass) {
+            return isMatchingClass(beanClass, type, annotation);
+        }
+    }
 }
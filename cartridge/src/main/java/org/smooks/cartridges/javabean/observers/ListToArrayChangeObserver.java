@@ -44,7 +44,6 @@ package org.smooks.cartridges.javabean.observers;
 
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
-import org.smooks.api.bean.lifecycle.BeanContextLifecycleObserver;
 import org.smooks.api.bean.lifecycle.BeanLifecycle;
 import org.smooks.api.bean.repository.BeanId;
 import org.smooks.cartridges.javabean.BeanInstancePopulator;
@@ -58,7 +57,7 @@ import org.smooks.cartridges.javabean.BeanInstancePopulator;
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
-public class ListToArrayChangeObserver implements BeanContextLifecycleObserver {
+public class ListToArrayChangeObserver implements BeanLifecycleSubscriber {
 
     protected String property;
     protected BeanInstancePopulator populator;
@@ -70,6 +69,11 @@ public class ListToArrayChangeObserver implements BeanContextLifecycleObserver {
         this.populator = populator;
     }
 
+    @Override
+    public BeanContextObserverIndex.Subscription[] getSubscriptions() {
+        return new BeanContextObserverIndex.Subscription[]{BeanContextObserverIndex.Subscription.of(BeanLifecycle.CHANGE, watchedBean)};
+    }
+
     /* (non-Javadoc)
      * @see org.smooks.cartridges.javabean.lifecycle.BeanContextLifecycleObserver#onBeanLifecycleEvent(org.smooks.cartridges.javabean.lifecycle.BeanContextLifecycleEvent)
      */
@@ -80,7 +84,7 @@ public class ListToArrayChangeObserver implements BeanContextLifecycleObserver {
             // Set the array on the object, via the populator...
             populator.setPropertyValue(property, event.getBean(), executionContext, event.getSource());
             // Remove this observer...
-            executionContext.getBeanContext().removeObserver(this);
+            BeanContextObserverIndex.removeObserver(executionContext, this);
         }
     }
 }
@@ -0,0 +1,111 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.junit.jupiter.api.Test;
+import org.smooks.Smooks;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.io.payload.JavaResult;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanInstanceCreatorTestCase {
+
+    @Test
+    public void test_constructor_exception_propagates_unchanged_generated() {
+        assertConstructorExceptionPropagates(true);
+    }
+
+    @Test
+    public void test_constructor_exception_propagates_unchanged_reflective() {
+        assertConstructorExceptionPropagates(false);
+    }
+
+    private void assertConstructorExceptionPropagates(boolean generateAccessors) {
+        Smooks smooks = new Smooks();
+        Bean bean = new Bean(ThrowingBean.class, "throwingBean", "a", smooks.getApplicationContext().getRegistry());
+        bean.beanInstanceCreator.setGenerateAccessors(generateAccessors);
+        smooks.addVisitors(bean);
+
+        Throwable thrown = assertThrows(RuntimeException.class, () -> smooks.filterSource(new StreamSource(new StringReader("<a/>")), new JavaResult()));
+        Throwable cause = thrown;
+        while (cause != null && !(cause instanceof ThrowingBean.BeanConstructorException)) {
+            assertFalse(cause instanceof SmooksConfigException, "Constructor failure reported as a configuration error");
+            cause = cause.getCause();
+        }
+        assertNotNull(cause, "Constructor exception not propagated");
+    }
+
+    @Test
+    public void test_missing_default_constructor() {
+        Smooks smooks = new Smooks();
+        Bean bean = new Bean(NoDefaultConstructorBean.class, "noDefaultConstructorBean", "a", smooks.getApplicationContext().getRegistry());
+
+        Throwable cause = assertThrows(SmooksConfigException.class, () -> smooks.addVisitors(bean));
+        while (cause != null && !(cause.getCause() instanceof NoSuchMethodException)) {
+            cause = cause.getCause();
+        }
+        assertTrue(cause instanceof SmooksConfigException, "Missing default constructor not reported as a configuration error");
+        assertEquals("Invalid Smooks bean configuration.  Bean class " + NoDefaultConstructorBean.class.getName() + " doesn't have a public default constructor.", cause.getMessage());
+    }
+
+    public static class NoDefaultConstructorBean {
+
+        public NoDefaultConstructorBean(String value) {
+        }
+    }
+
+    public static class ThrowingBean {
+
+        public ThrowingBean() {
+            throw new BeanConstructorException();
+        }
+
+        public static class BeanConstructorException extends RuntimeException {
+
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.junit.jupiter.api.Test;
+import org.smooks.Smooks;
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.SmooksException;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.api.bean.lifecycle.BeanLifecycle;
+import org.smooks.io.payload.JavaResult;
+import org.smooks.support.ClassUtils;
+import org.xml.sax.SAXException;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanRecyclingTestCase {
+
+    @Test
+    public void test_recycled() {
+        List<OrderItem> resetItems = new ArrayList<>();
+        Smooks smooks = createSmooks(1, bean -> {
+            OrderItem orderItem = (OrderItem) bean;
+            orderItem.setProductId(0L);
+            orderItem.setQuantity(null);
+            orderItem.setPrice(null);
+            resetItems.add(orderItem);
+        });
+        List<OrderItem> orderItems = new ArrayList<>();
+        List<Long> productIds = new ArrayList<>();
+
+        ExecutionContext executionContext = smooks.createExecutionContext();
+        executionContext.getBeanContext().addObserver(event -> {
+            if (event.getBeanId().getName().equals("orderItem") && event.getLifecycle() == BeanLifecycle.END_FRAGMENT) {
+                OrderItem orderItem = (OrderItem) event.getBean();
+                orderItems.add(orderItem);
+                productIds.add(orderItem.getProductId());
+            }
+        });
+        JavaResult result = new JavaResult();
+        smooks.filterSource(executionContext, new StreamSource(getInput()), result);
+
+        assertEquals(2, orderItems.size());
+        assertSame(orderItems.get(0), orderItems.get(1));
+        assertEquals(111L, (long) productIds.get(0));
+        assertEquals(222L, (long) productIds.get(1));
+        assertEquals(2, resetItems.size());
+        assertNull(orderItems.get(1).getPrice());
+        assertNull(result.getBean("orderItem"));
+    }
+
+    @Test
+    public void test_recycling_requires_retain_false() {
+        Smooks smooks = new Smooks();
+        Bean orderItemBean = new Bean(OrderItem.class, "orderItem", "order-item", smooks.getApplicationContext().getRegistry());
+        orderItemBean.beanInstanceCreator.setRecycling(1, bean -> {
+        });
+
+        SmooksConfigException e = assertThrows(SmooksConfigException.class, () -> smooks.addVisitors(orderItemBean));
+        assertTrue(e.getCause().getMessage().contains("retain=false"));
+    }
+
+    @Test
+    public void test_recycling_rejects_wired_bean() {
+        Smooks smooks = new Smooks();
+        Bean orderItemsBean = new Bean(ArrayList.class, "orderItems", "order", smooks.getApplicationContext().getRegistry());
+        Bean orderItemBean = new Bean(OrderItem.class, "orderItem", "order-item", smooks.getApplicationContext().getRegistry())
+                .bindTo("productId", "order-item/product");
+        orderItemsBean.bindTo(orderItemBean);
+
+        orderItemBean.beanInstanceCreator.retain = false;
+        orderItemBean.beanInstanceCreator.setRecycling(1, bean -> {
+        });
+
+        SmooksConfigException e = assertThrows(SmooksConfigException.class, () -> smooks.addVisitors(orderItemsBean));
+        assertTrue(e.getMessage().contains("[orderItem] can't be recycled because it is wired into another bean"));
+    }
+
+    @Test
+    public void test_recycling_rejects_wired_bean_config() throws IOException, SAXException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("extendedconfig13/test_bean_20.xml"));
+
+        Throwable e = assertThrows(SmooksException.class, () -> smooks.filterSource(smooks.createExecutionContext(), new StreamSource(getInput()), new JavaResult()));
+        while (!(e instanceof SmooksConfigException)) {
+            e = e.getCause();
+        }
+        assertTrue(e.getMessage().contains("[orderItem] can't be recycled because it is wired into another bean"));
+    }
+
+    private Smooks createSmooks(int poolSize, BeanResetter<Object> beanResetter) {
+        Smooks smooks = new Smooks();
+        Bean orderItemBean = new Bean(OrderItem.class, "orderItem", "order-item", smooks.getApplicationContext().getRegistry())
+                .bindTo("productId", "order-item/product")
+                .bindTo("quantity", "order-item/quantity")
+                .bindTo("price", "order-item/price");
+
+        orderItemBean.beanInstanceCreator.retain = false;
+        orderItemBean.beanInstanceCreator.setRecycling(poolSize, beanResetter);
+        smooks.addVisitors(orderItemBean);
+
+        return smooks;
+    }
+
+    private InputStream getInput() {
+        return ClassUtils.getResourceAsStream("/org/smooks/cartridges/javabean/extendedconfig/order-01.xml", getClass());
+    }
+
+    public static class NoopResetter implements BeanResetter<Object> {
+
+        @Override
+        public void reset(Object bean) {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.junit.jupiter.api.Test;
+import org.smooks.Smooks;
+import org.smooks.api.ApplicationContext;
+import org.smooks.api.SmooksConfigException;
+import org.smooks.api.bean.repository.BeanId;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanRuntimeInfoRegistryTestCase {
+
+    @Test
+    public void test_lookup_by_index() {
+        ApplicationContext appContext = new Smooks().getApplicationContext();
+        BeanId orderId = appContext.getBeanIdStore().register("order");
+
+        BeanRuntimeInfo orderInfo = BeanRuntimeInfo.getBeanRuntimeInfo("order", Order.class.getName(), appContext);
+        BeanRuntimeInfo itemsInfo = BeanRuntimeInfo.getBeanRuntimeInfo("items", OrderItem[].class.getName(), appContext);
+        BeanId itemsId = appContext.getBeanIdStore().getBeanId("items");
+
+        assertNotNull(itemsId);
+        assertSame(orderInfo, BeanRuntimeInfo.getBeanRuntimeInfo(orderId, appContext));
+        assertSame(itemsInfo, BeanRuntimeInfoRegistry.getInstance(appContext).get(itemsId));
+        assertSame(itemsInfo, BeanRuntimeInfo.getBeanRuntimeInfo("items", appContext));
+        assertSame(orderInfo, BeanRuntimeInfo.getBeanRuntimeInfo("order", Header.class.getName(), appContext));
+        assertNull(BeanRuntimeInfo.getBeanRuntimeInfo(appContext.getBeanIdStore().register("unknown"), appContext));
+    }
+
+    @Test
+    public void test_conflicting_record() {
+        ApplicationContext appContext = new Smooks().getApplicationContext();
+
+        BeanRuntimeInfo.recordBeanRuntimeInfo("order", new BeanRuntimeInfo(Order.class), appContext);
+        BeanRuntimeInfo.recordBeanRuntimeInfo("order", new BeanRuntimeInfo(Order.class), appContext);
+        assertThrows(SmooksConfigException.class, () -> BeanRuntimeInfo.recordBeanRuntimeInfo("order", new BeanRuntimeInfo(Header.class), appContext));
+    }
+
+    @Test
+    public void test_runtime_info_map() {
+        ApplicationContext appContext = new Smooks().getApplicationContext();
+        BeanRuntimeInfo orderInfo = BeanRuntimeInfo.getBeanRuntimeInfo("order", Order.class.getName(), appContext);
+        BeanRuntimeInfo headerInfo = new BeanRuntimeInfo(Header.class);
+
+        Map<String, BeanRuntimeInfo> runtimeInfoMap = appContext.getRegistry().lookup(BeanRuntimeInfo.CONTEXT_KEY);
+        assertSame(runtimeInfoMap, BeanRuntimeInfo.getRuntimeInfoMap(appContext));
+        assertSame(orderInfo, runtimeInfoMap.get("order"));
+
+        runtimeInfoMap.put("header", headerInfo);
+        assertSame(headerInfo, BeanRuntimeInfo.getBeanRuntimeInfo(appContext.getBeanIdStore().getBeanId("header"), appContext));
+
+        runtimeInfoMap.remove("header");
+        assertNull(BeanRuntimeInfo.getBeanRuntimeInfo(appContext.getBeanIdStore().getBeanId("header"), appContext));
+        assertNull(BeanRuntimeInfo.getBeanRuntimeInfo("header", appContext));
+        assertEquals(1, runtimeInfoMap.size());
+    }
+
+    @Test
+    public void test_adopts_existing_runtime_info_map() {
+        ApplicationContext appContext = new Smooks().getApplicationContext();
+        BeanRuntimeInfo orderInfo = new BeanRuntimeInfo(Order.class);
+        Map<String, BeanRuntimeInfo> existingRuntimeInfoMap = new HashMap<>();
+        existingRuntimeInfoMap.put("order", orderInfo);
+        appContext.getRegistry().registerObject(BeanRuntimeInfo.CONTEXT_KEY, existingRuntimeInfoMap);
+
+        assertSame(orderInfo, BeanRuntimeInfo.getRuntimeInfoMap(appContext).get("order"));
+        assertSame(orderInfo, BeanRuntimeInfo.getBeanRuntimeInfo(appContext.getBeanIdStore().getBeanId("order"), appContext));
+    }
+}
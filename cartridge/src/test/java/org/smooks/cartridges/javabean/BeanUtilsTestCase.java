@@ -46,7 +46,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
@@ -77,4 +79,34 @@ public class BeanUtilsTestCase {
         assertEquals(2, array2[1]);
         assertEquals(3, array2[2]);
     }
+
+    @Test
+    public void test_convertListToArray_ArrayBuilder() {
+        ArrayBuilder<Object> objects = new ArrayBuilder<>(Number.class, 1);
+        objects.add(3);
+        objects.add(3f);
+        objects.add(3L);
+        Number[] array1 = (Number[]) BeanUtils.convertListToArray(objects, Number.class);
+        assertArrayEquals(new Number[]{3, 3f, 3L}, array1);
+
+        ArrayBuilder<Object> ints = new ArrayBuilder<>(Integer.TYPE);
+        for (int i = 0; i < 100; i++) {
+            ints.add(i);
+        }
+        ints.add((short) 100);
+        ints.remove(0);
+        ints.add(0, -1);
+        int[] array2 = (int[]) BeanUtils.convertListToArray(ints, Integer.TYPE);
+        assertEquals(101, array2.length);
+        assertEquals(-1, array2[0]);
+        assertEquals(99, array2[99]);
+        assertEquals(100, array2[100]);
+        assertEquals(Integer.valueOf(1), ints.get(1));
+
+        assertThrows(IllegalArgumentException.class, () -> ints.add("x"));
+        assertThrows(IllegalArgumentException.class, () -> ints.add(null));
+        assertThrows(IllegalArgumentException.class, () -> objects.add("x"));
+        assertEquals(101, ints.size());
+        assertEquals(3, objects.size());
+    }
 }
@@ -0,0 +1,161 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.junit.jupiter.api.Test;
+import org.mvel2.MVEL;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InitValAssignmentsTestCase {
+
+    @Test
+    public void test_same_values_as_mvel() {
+        String[] expressions = {
+                "this.count = (10);", "this.sum = (10);", "this.average = (10);", "this.name = (10);", "this.boxedCount = (10);",
+                "this.value = (10);", "this.value = (1.5);", "this.value = (10L);", "this.value = ('x');", "this.value = (\"xy\");",
+                "this.value = (-5);", "this.value = (3000000000);", "this.amount = (1.10);", "this.amount = ('1.10');", "this.initial = ('x');",
+                "this.flag = (true);", "this.flag = ('true');", "this.count = ('12');", "this.name = ('');", "this.name = (null);"
+        };
+
+        for (String expression : expressions) {
+            InitValAssignments assignments = InitValAssignments.compile(Collections.singletonList(expression), Properties.class, true);
+            assertNotNull(assignments, expression);
+
+            Properties compiled = new Properties();
+            Properties interpreted = new Properties();
+            assignments.accept(compiled);
+            MVEL.executeExpression(MVEL.compileExpression(expression), interpreted);
+
+            assertEquals(interpreted.toString(), compiled.toString(), expression);
+        }
+    }
+
+    @Test
+    public void test_assignment_list() {
+        InitValAssignments assignments = InitValAssignments.compile(Arrays.asList("this.count = (1);", "this.name = ('a');"), Properties.class, false);
+        Properties properties = new Properties();
+
+        assignments.accept(properties);
+
+        assertEquals(1, properties.count);
+        assertEquals("a", properties.name);
+        assertTrue(assignments.accepts(properties));
+        assertFalse(assignments.accepts("not a bean"));
+    }
+
+    @Test
+    public void test_left_to_mvel() {
+        assertNull(InitValAssignments.compile(Collections.singletonList("this.count = (1 + 1);"), Properties.class, true));
+        assertNull(InitValAssignments.compile(Collections.singletonList("this.value = (new java.util.Date());"), Properties.class, true));
+        assertNull(InitValAssignments.compile(Arrays.asList("this.count = (1);", "java.lang.System.gc();"), Properties.class, true));
+        assertNull(InitValAssignments.compile(Collections.singletonList("this.unknown = (1);"), Properties.class, true));
+        assertNull(InitValAssignments.compile(Collections.singletonList("this.count = (null);"), Properties.class, true));
+        // Would share a mutable value between bean instances...
+        assertNull(InitValAssignments.compile(Collections.singletonList("this.date = ('Wed Nov 15 13:45:28 EST 2006');"), Properties.class, true));
+    }
+
+    public static class Properties {
+        private int count;
+        private long sum;
+        private double average;
+        private String name;
+        private Integer boxedCount;
+        private Object value;
+        private BigDecimal amount;
+        private char initial;
+        private boolean flag;
+        private Date date;
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public void setSum(long sum) {
+            this.sum = sum;
+        }
+
+        public void setAverage(double average) {
+            this.average = average;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setBoxedCount(Integer boxedCount) {
+            this.boxedCount = boxedCount;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public void setInitial(char initial) {
+            this.initial = initial;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public void setDate(Date date) {
+            this.date = date;
+        }
+
+        @Override
+        public String toString() {
+            return count + "|" + sum + "|" + average + "|" + name + "|" + boxedCount + "|" + value + "|" + (value != null ? value.getClass() : null)
+                    + "|" + amount + "|" + (int) initial + "|" + flag + "|" + date;
+        }
+    }
+}
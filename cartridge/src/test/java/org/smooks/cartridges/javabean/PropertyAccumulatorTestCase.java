@@ -0,0 +1,256 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean;
+
+import org.junit.jupiter.api.Test;
+import org.mvel2.MVEL;
+import org.smooks.support.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyAccumulatorTestCase {
+
+    @Test
+    public void test_supported_expressions() {
+        assertNotNull(PropertyAccumulator.create("+= new Integer(_VALUE);", Totals.class, "count", true));
+        assertNotNull(PropertyAccumulator.create("-= Integer.parseInt(_VALUE)", Totals.class, "boxedCount", true));
+        assertNotNull(PropertyAccumulator.create("+= java.lang.Long.valueOf( _VALUE )", Totals.class, "sum", true));
+        assertNotNull(PropertyAccumulator.create("+= new Double(_VALUE)", Totals.class, "average", true));
+        assertNotNull(PropertyAccumulator.create("+= new java.math.BigDecimal(_VALUE)", Totals.class, "amount", true));
+    }
+
+    @Test
+    public void test_unsupported_expressions() {
+        // MVEL concatenates a String operand...
+        assertNull(PropertyAccumulator.create("+= _VALUE", Totals.class, "count", true));
+        // Operand type doesn't match the property type...
+        assertNull(PropertyAccumulator.create("+= new Integer(_VALUE)", Totals.class, "sum", true));
+        assertNull(PropertyAccumulator.create("+= Integer.parseLong(_VALUE)", Totals.class, "count", true));
+        // Not resolvable by MVEL...
+        assertNull(PropertyAccumulator.create("+= new BigDecimal(_VALUE)", Totals.class, "amount", true));
+        assertNull(PropertyAccumulator.create("+= new Integer(_VALUE) * 2", Totals.class, "count", true));
+        assertNull(PropertyAccumulator.create("+= new Integer(_VALUE)", Totals.class, "unknown", true));
+    }
+
+    @Test
+    public void test_accumulate() throws Exception {
+        Totals totals = new Totals();
+        totals.boxedCount = 10;
+        totals.amount = new BigDecimal("1.10");
+
+        assertTrue(PropertyAccumulator.create("+= new Integer(_VALUE)", Totals.class, "count", true).accumulate(totals, "3"));
+        assertTrue(PropertyAccumulator.create("-= new Integer(_VALUE)", Totals.class, "boxedCount", true).accumulate(totals, "4"));
+        assertTrue(PropertyAccumulator.create("+= new Long(_VALUE)", Totals.class, "sum", false).accumulate(totals, "5"));
+        assertTrue(PropertyAccumulator.create("+= new Double(_VALUE)", Totals.class, "average", true).accumulate(totals, "0.5"));
+        assertTrue(PropertyAccumulator.create("+= new java.math.BigDecimal(_VALUE)", Totals.class, "amount", true).accumulate(totals, "2"));
+
+        assertEquals(3, totals.count);
+        assertEquals(6, (int) totals.boxedCount);
+        assertEquals(5L, totals.sum);
+        assertEquals(0.5d, totals.average);
+        assertEquals(new BigDecimal("3.10"), totals.amount);
+    }
+
+    @Test
+    public void test_BigDecimal_precision_matches_MVEL() throws Exception {
+        Totals totals = new Totals();
+        totals.amount = new BigDecimal("12345678901234567890123456789012345678.5");
+        Map<String, Object> mvelVariables = new HashMap<>();
+        mvelVariables.put("amount", totals.amount);
+        mvelVariables.put("_VALUE", "0.25");
+
+        assertTrue(PropertyAccumulator.create("+= new java.math.BigDecimal(_VALUE)", Totals.class, "amount", true).accumulate(totals, "0.25"));
+        MVEL.eval("amount += new java.math.BigDecimal(_VALUE)", mvelVariables);
+
+        assertEquals(new BigDecimal("1.234567890123456789012345678901235E+37"), totals.amount);
+        assertEquals(mvelVariables.get("amount"), totals.amount);
+
+        assertTrue(PropertyAccumulator.create("-= new java.math.BigDecimal(_VALUE)", Totals.class, "amount", true).accumulate(totals, "0.25"));
+        MVEL.eval("amount -= new java.math.BigDecimal(_VALUE)", mvelVariables);
+
+        assertEquals(mvelVariables.get("amount"), totals.amount);
+    }
+
+    @Test
+    public void test_int_matches_MVEL() throws Exception {
+        assertAccumulateMatchesMVEL("+= new Integer(_VALUE)", "count", Integer.TYPE, "3", "-7", "2147483000");
+        assertAccumulateMatchesMVEL("-= Integer.parseInt(_VALUE)", "count", Integer.TYPE, "3", "-7", "2147483000");
+        assertAccumulateMatchesMVEL("+= Integer.valueOf(_VALUE)", "boxedCount", Integer.class, "3", "-7", "2147483000");
+        assertAccumulateMatchesMVEL("-= new Integer(_VALUE)", "boxedCount", Integer.class, "3", "-7", "2147483000");
+    }
+
+    @Test
+    public void test_long_matches_MVEL() throws Exception {
+        assertAccumulateMatchesMVEL("+= new Long(_VALUE)", "sum", Long.TYPE, "5", "-9", "9223372036854775000");
+        assertAccumulateMatchesMVEL("-= Long.parseLong(_VALUE)", "sum", Long.TYPE, "5", "-9", "9223372036854775000");
+        assertAccumulateMatchesMVEL("+= java.lang.Long.valueOf(_VALUE)", "boxedSum", Long.class, "5", "-9", "9223372036854775000");
+        assertAccumulateMatchesMVEL("-= new Long(_VALUE)", "boxedSum", Long.class, "5", "-9", "9223372036854775000");
+    }
+
+    @Test
+    public void test_double_matches_MVEL() throws Exception {
+        assertAccumulateMatchesMVEL("+= new Double(_VALUE)", "average", Double.TYPE, "0.1", "0.2", "0.3", "1e-7", "-2.675", "1.7976931348623157E308");
+        assertAccumulateMatchesMVEL("-= Double.parseDouble(_VALUE)", "average", Double.TYPE, "0.1", "0.2", "0.3", "1e-7", "-2.675");
+        assertAccumulateMatchesMVEL("+= Double.valueOf(_VALUE)", "boxedAverage", Double.class, "0.1", "0.2", "0.3", "1e-7", "-2.675");
+        assertAccumulateMatchesMVEL("-= new Double(_VALUE)", "boxedAverage", Double.class, "0.1", "0.2", "0.3", "1e-7", "-2.675");
+    }
+
+    /**
+     * Apply the values through the accumulator and through the MVEL expression the {@link BeanInstancePopulator}
+     * would otherwise evaluate, asserting the property ends up with the same value after each one.
+     */
+    private void assertAccumulateMatchesMVEL(String expression, String property, Class<?> propertyType, String... values) throws Exception {
+        Method getter = Totals.class.getMethod(ClassUtils.toGetterName(property));
+        Method setter = Totals.class.getMethod(ClassUtils.toSetterName(property), propertyType);
+        Totals nativeTotals = new Totals();
+        Totals mvelTotals = new Totals();
+        if (!propertyType.isPrimitive()) {
+            Object zero = MVEL.eval("0", propertyType);
+            setter.invoke(nativeTotals, zero);
+            setter.invoke(mvelTotals, zero);
+        }
+
+        PropertyAccumulator accumulator = PropertyAccumulator.create(expression, Totals.class, property, true);
+        assertNotNull(accumulator);
+        String mvelExpression = "totals." + property + " " + expression.charAt(0) + expression.substring(2);
+
+        for (String value : values) {
+            Map<String, Object> mvelVariables = new HashMap<>();
+            mvelVariables.put("totals", mvelTotals);
+            mvelVariables.put("_VALUE", value);
+
+            assertTrue(accumulator.accumulate(nativeTotals, value), expression + " " + value);
+            Object mvelResult = MVEL.eval(mvelExpression, mvelVariables, propertyType);
+            setter.invoke(mvelTotals, mvelResult);
+
+            assertEquals(mvelResult, getter.invoke(nativeTotals), expression + " " + value);
+        }
+    }
+
+    @Test
+    public void test_left_to_expression() throws Exception {
+        Totals totals = new Totals();
+        totals.count = Integer.MAX_VALUE;
+
+        PropertyAccumulator countAccumulator = PropertyAccumulator.create("+= new Integer(_VALUE)", Totals.class, "count", true);
+        assertFalse(countAccumulator.accumulate(totals, "1"));
+        assertFalse(countAccumulator.accumulate(totals, "x"));
+        assertFalse(countAccumulator.accumulate(totals, null));
+        assertFalse(countAccumulator.accumulate("not a bean", "1"));
+        assertFalse(PropertyAccumulator.create("+= new Integer(_VALUE)", Totals.class, "boxedCount", true).accumulate(totals, "1"));
+
+        assertEquals(Integer.MAX_VALUE, totals.count);
+        assertNull(totals.boxedCount);
+    }
+
+    public static class Totals {
+        private int count;
+        private Integer boxedCount;
+        private long sum;
+        private Long boxedSum;
+        private double average;
+        private Double boxedAverage;
+        private BigDecimal amount;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public Integer getBoxedCount() {
+            return boxedCount;
+        }
+
+        public void setBoxedCount(Integer boxedCount) {
+            this.boxedCount = boxedCount;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public void setSum(long sum) {
+            this.sum = sum;
+        }
+
+        public Long getBoxedSum() {
+            return boxedSum;
+        }
+
+        public void setBoxedSum(Long boxedSum) {
+            this.boxedSum = boxedSum;
+        }
+
+        public double getAverage() {
+            return average;
+        }
+
+        public void setAverage(double average) {
+            this.average = average;
+        }
+
+        public Double getBoxedAverage() {
+            return boxedAverage;
+        }
+
+        public void setBoxedAverage(Double boxedAverage) {
+            this.boxedAverage = boxedAverage;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstantiatorsTestCase {
+
+    @Test
+    public void test_generated_constructor() throws Exception {
+        Instantiator instantiator = Instantiators.forConstructor(TestBean.class, true);
+
+        assertTrue(instantiator.toString().startsWith("Generated"));
+        Object bean1 = instantiator.newInstance();
+        Object bean2 = instantiator.newInstance();
+        assertTrue(bean1 instanceof TestBean);
+        assertNotSame(bean1, bean2);
+    }
+
+    @Test
+    public void test_generated_factory_methods() throws Exception {
+        Instantiator staticInstantiator = Instantiators.forStaticMethod(TestBean.class.getMethod("create"), true);
+        FactoryMethodInstantiator factoryInstantiator = Instantiators.forFactoryMethod(TestBean.class.getMethod("copy"), true);
+        TestBean joe = new TestBean();
+        joe.name = "Joe";
+        TestBean mary = new TestBean();
+        mary.name = "Mary";
+
+        assertTrue(staticInstantiator.toString().startsWith("Generated"));
+        assertEquals("created", ((TestBean) staticInstantiator.newInstance()).name);
+
+        assertTrue(factoryInstantiator.toString().startsWith("Generated"));
+        assertEquals("Joe", ((TestBean) factoryInstantiator.newInstance(joe)).name);
+        assertEquals("Mary", ((TestBean) factoryInstantiator.newInstance(mary)).name);
+    }
+
+    @Test
+    public void test_factory_method_exception_wrapped() throws Exception {
+        FactoryMethodInstantiator generated = Instantiators.forFactoryMethod(TestBean.class.getMethod("fail"), true);
+        FactoryMethodInstantiator reflective = Instantiators.forFactoryMethod(TestBean.class.getMethod("fail"), false);
+
+        assertTrue(generated.toString().startsWith("Generated"));
+        assertTrue(reflective.toString().startsWith("Reflective"));
+        assertTrue(assertThrows(InvocationTargetException.class, () -> generated.newInstance(new TestBean())).getCause() instanceof IllegalStateException);
+        assertTrue(assertThrows(InvocationTargetException.class, () -> reflective.newInstance(new TestBean())).getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void test_constructor_exception_wrapped() throws Exception {
+        InvocationTargetException generated = assertThrows(InvocationTargetException.class, () -> Instantiators.forConstructor(FailingBean.class, true).newInstance());
+        InvocationTargetException reflective = assertThrows(InvocationTargetException.class, () -> Instantiators.forConstructor(FailingBean.class, false).newInstance());
+
+        assertTrue(generated.getCause() instanceof IllegalStateException);
+        assertTrue(reflective.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void test_reflective_fallback() throws Exception {
+        Instantiator notGenerated = Instantiators.forConstructor(TestBean.class, false);
+        Instantiator notVisible = Instantiators.forConstructor(HiddenBean.class, true);
+        Instantiator abstractType = Instantiators.forConstructor(AbstractBean.class, true);
+
+        assertTrue(notGenerated.toString().startsWith("Reflective"));
+        assertTrue(notVisible.toString().startsWith("Reflective"));
+        assertTrue(notGenerated.newInstance() instanceof TestBean);
+        assertTrue(notVisible.newInstance() instanceof HiddenBean);
+        assertThrows(InstantiationException.class, abstractType::newInstance);
+    }
+
+    @Test
+    public void test_capacity_constructor() throws Exception {
+        Instantiator generated = Instantiators.forConstructor(ArrayList.class, 100, true);
+        Instantiator reflective = Instantiators.forConstructor(ArrayList.class, 100, false);
+
+        assertTrue(generated.toString().startsWith("Generated"));
+        assertTrue(generated.newInstance() instanceof ArrayList);
+        assertTrue(reflective.newInstance() instanceof ArrayList);
+        assertThrows(NoSuchMethodException.class, () -> Instantiators.forConstructor(TestBean.class, 100, true));
+    }
+
+    @Test
+    public void test_no_default_constructor() {
+        assertThrows(NoSuchMethodException.class, () -> Instantiators.forConstructor(Integer.class, true));
+    }
+
+    public static class TestBean {
+        private String name;
+
+        public static TestBean create() {
+            TestBean bean = new TestBean();
+            bean.name = "created";
+            return bean;
+        }
+
+        public TestBean copy() {
+            TestBean bean = new TestBean();
+            bean.name = name;
+            return bean;
+        }
+
+        public TestBean fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class FailingBean {
+        public FailingBean() {
+            throw new IllegalStateException();
+        }
+    }
+
+    public abstract static class AbstractBean {
+        public AbstractBean() {
+        }
+    }
+
+    static class HiddenBean {
+        public HiddenBean() {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyGettersTestCase {
+
+    @Test
+    public void test_generated_getter() throws Exception {
+        PropertyGetter getter = PropertyGetters.create(TestBean.class.getMethod("getName"), true);
+        TestBean bean = new TestBean();
+        bean.name = "Joe";
+
+        assertTrue(getter instanceof GeneratedPropertyGetter);
+        assertEquals("Joe", getter.get(bean));
+    }
+
+    @Test
+    public void test_generated_primitive_getter() throws Exception {
+        PropertyGetter intGetter = PropertyGetters.create(TestBean.class.getMethod("getAge"), true);
+        PropertyGetter longGetter = PropertyGetters.create(TestBean.class.getMethod("getId"), true);
+        PropertyGetter doubleGetter = PropertyGetters.create(TestBean.class.getMethod("getScore"), true);
+        TestBean bean = new TestBean();
+        bean.age = 21;
+        bean.id = 5L;
+        bean.score = 1.5d;
+
+        assertTrue(intGetter instanceof GeneratedPropertyGetter);
+        assertEquals(21, intGetter.getInt(bean));
+        assertEquals(21, intGetter.get(bean));
+        assertEquals(5L, longGetter.getLong(bean));
+        assertEquals(1.5d, doubleGetter.getDouble(bean));
+    }
+
+    @Test
+    public void test_argument_errors_match_reflection() throws Exception {
+        PropertyGetter getter = PropertyGetters.create(TestBean.class.getMethod("getAge"), true);
+
+        assertThrows(IllegalArgumentException.class, () -> getter.get("not a bean"));
+        assertThrows(IllegalArgumentException.class, () -> getter.getInt("not a bean"));
+    }
+
+    @Test
+    public void test_getter_exception_wrapped() throws Exception {
+        PropertyGetter getter = PropertyGetters.create(TestBean.class.getMethod("getName"), true);
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> getter.get(new TestBean()));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void test_reflective_fallback() throws Exception {
+        PropertyGetter notGenerated = PropertyGetters.create(TestBean.class.getMethod("getAge"), false);
+        PropertyGetter notVisible = PropertyGetters.create(HiddenBean.class.getMethod("getName"), true);
+        HiddenBean bean = new HiddenBean();
+        bean.name = "Joe";
+
+        assertTrue(notGenerated instanceof ReflectivePropertyGetter);
+        assertTrue(notVisible instanceof ReflectivePropertyGetter);
+        assertEquals("Joe", notVisible.get(bean));
+    }
+
+    public static class TestBean {
+        private String name;
+        private int age;
+        private long id;
+        private double score;
+
+        public String getName() {
+            if (name == null) {
+                throw new IllegalStateException();
+            }
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    static class HiddenBean {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+}
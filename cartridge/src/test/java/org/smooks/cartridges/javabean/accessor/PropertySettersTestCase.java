@@ -0,0 +1,137 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.accessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertySettersTestCase {
+
+    @Test
+    public void test_generated_setter() throws Exception {
+        PropertySetter setter = PropertySetters.create(TestBean.class.getMethod("setName", String.class), true);
+        TestBean bean = new TestBean();
+
+        assertTrue(setter instanceof GeneratedPropertySetter);
+        setter.set(bean, "Joe");
+        assertEquals("Joe", bean.name);
+    }
+
+    @Test
+    public void test_generated_primitive_setter() throws Exception {
+        PropertySetter intSetter = PropertySetters.create(TestBean.class.getMethod("setAge", Integer.TYPE), true);
+        PropertySetter longSetter = PropertySetters.create(TestBean.class.getMethod("setId", Long.TYPE), true);
+        TestBean bean = new TestBean();
+
+        assertTrue(intSetter instanceof GeneratedPropertySetter);
+        intSetter.set(bean, 21);
+        assertEquals(21, bean.age);
+
+        // Widening is left to reflection...
+        longSetter.set(bean, 5);
+        assertEquals(5L, bean.id);
+        longSetter.set(bean, 6L);
+        assertEquals(6L, bean.id);
+    }
+
+    @Test
+    public void test_argument_errors_match_reflection() throws Exception {
+        PropertySetter setter = PropertySetters.create(TestBean.class.getMethod("setAge", Integer.TYPE), true);
+
+        assertThrows(IllegalArgumentException.class, () -> setter.set(new TestBean(), "21"));
+        assertThrows(IllegalArgumentException.class, () -> setter.set(new TestBean(), null));
+        assertThrows(IllegalArgumentException.class, () -> setter.set("not a bean", 21));
+    }
+
+    @Test
+    public void test_setter_exception_wrapped() throws Exception {
+        PropertySetter setter = PropertySetters.create(TestBean.class.getMethod("setName", String.class), true);
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> setter.set(new TestBean(), "fail"));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void test_reflective_fallback() throws Exception {
+        PropertySetter notGenerated = PropertySetters.create(TestBean.class.getMethod("setName", String.class), false);
+        PropertySetter notVisible = PropertySetters.create(HiddenBean.class.getMethod("setName", String.class), true);
+        HiddenBean bean = new HiddenBean();
+
+        assertTrue(notGenerated instanceof ReflectivePropertySetter);
+        assertTrue(notVisible instanceof ReflectivePropertySetter);
+        notVisible.set(bean, "Joe");
+        assertEquals("Joe", bean.name);
+    }
+
+    public static class TestBean {
+        private String name;
+        private int age;
+        private long id;
+
+        public void setName(String name) {
+            if (name.equals("fail")) {
+                throw new IllegalStateException();
+            }
+            this.name = name;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+    }
+
+    static class HiddenBean {
+        private String name;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -45,6 +45,7 @@ package org.smooks.cartridges.javabean.autodecode;
 import org.junit.jupiter.api.Test;
 import org.smooks.Smooks;
 import org.smooks.cartridges.javabean.OrderItem;
+import org.smooks.cartridges.javabean.TypePopCheckBean;
 import org.smooks.io.payload.JavaResult;
 import org.xml.sax.SAXException;
 
@@ -52,6 +53,7 @@ import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author <a href="mailto:tom.fennelly@jboss.com">tom.fennelly@jboss.com</a>
@@ -75,4 +77,23 @@ public class AutoDecodeTestCase {
         assertEquals(7, (int)orderItem.getQuantity());
         assertEquals(5.2, orderItem.getPrice(), 0d);
     }
+
+    @Test
+    public void test_primitives() throws IOException, SAXException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("/org/smooks/cartridges/javabean/autodecode/config-02.xml"));
+        JavaResult jres = new JavaResult();
+
+        try {
+            smooks.filterSource(new StreamSource(getClass().getResourceAsStream("/org/smooks/cartridges/javabean/autodecode/values-01.xml")), jres);
+        } finally {
+            smooks.close();
+        }
+
+        TypePopCheckBean typePopCheckBean = (TypePopCheckBean) jres.getBean("typePopCheckBean");
+
+        assertEquals(-123, typePopCheckBean.getIntVal());
+        assertEquals(9876543210L, typePopCheckBean.getLongVal());
+        assertEquals(12.75, typePopCheckBean.getDoubleVal(), 0d);
+        assertTrue(typePopCheckBean.isBoolVal());
+    }
 }
@@ -45,15 +45,25 @@ package org.smooks.cartridges.javabean.binding;
 import org.junit.jupiter.api.Test;
 import org.smooks.Smooks;
 import org.smooks.cartridges.javabean.binding.config5.Person;
+import org.smooks.cartridges.javabean.binding.config7.Shipment;
+import org.smooks.cartridges.javabean.binding.config8.Catalog;
 import org.smooks.cartridges.javabean.binding.model.ModelSet;
 import org.smooks.cartridges.javabean.binding.ordermodel.Order;
+import org.smooks.cartridges.javabean.binding.ordermodel.OrderItem;
 import org.smooks.cartridges.javabean.binding.xml.XMLBinding;
 import org.smooks.support.StreamUtils;
 import org.xml.sax.SAXException;
 import org.xmlunit.builder.DiffBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -108,6 +118,111 @@ public class XMLBindingTestCase {
         test_post_created_Smooks("config6");
     }
 
+    @Test
+    public void test_parent_value_reuse() throws IOException, SAXException {
+        String inputXML = "<shipment><header><customer number=\"123123\">Joe &amp; Ray</customer></header></shipment>";
+        XMLBinding xmlBinding = new XMLBinding().add(getClass().getResourceAsStream("config7/shipment-binding-config.xml"));
+        xmlBinding.initialise();
+
+        Shipment shipment = xmlBinding.fromXML(inputXML, Shipment.class);
+        int headerReads = shipment.headerReads();
+        String outputXML = xmlBinding.toXML(shipment);
+
+        assertFalse(DiffBuilder.compare(inputXML).
+                withTest(outputXML).
+                ignoreComments().
+                ignoreWhitespace().
+                build().
+                hasDifferences());
+
+        // The header is read once, for the <header> element, and the customer name and number are read through it...
+        assertEquals(1, shipment.headerReads() - headerReads);
+    }
+
+    @Test
+    public void test_element_with_attribute_data_only() throws IOException, SAXException {
+        String inputXML = "<shipment><header><customer number=\"123123\"/></header></shipment>";
+        XMLBinding xmlBinding = new XMLBinding().add(getClass().getResourceAsStream("config7/shipment-binding-config.xml"));
+        xmlBinding.initialise();
+
+        Shipment shipment = xmlBinding.fromXML(inputXML, Shipment.class);
+        String outputXML = xmlBinding.toXML(shipment);
+
+        assertFalse(DiffBuilder.compare(inputXML).
+                withTest(outputXML).
+                ignoreComments().
+                ignoreWhitespace().
+                build().
+                hasDifferences());
+    }
+
+    @Test
+    public void test_byte_output() throws IOException, SAXException {
+        XMLBinding xmlBinding = new XMLBinding().add(getClass().getResourceAsStream("config5/person-binding-config.xml"));
+        xmlBinding.initialise();
+
+        Person person = new Person();
+        person.setName("M\u00e4x & <\"Ray's\"> \u20ac \ud83d\ude00");
+        person.setAge(50);
+
+        String xml = xmlBinding.toXML(person);
+        ByteArrayOutputStream outputStream = xmlBinding.toXML(person, new ByteArrayOutputStream());
+        assertEquals(xml, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream channelStream = new ByteArrayOutputStream();
+        xmlBinding.toXML(person, Channels.newChannel(channelStream));
+        assertEquals(xml, new String(channelStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_byte_output_unpaired_surrogate() throws IOException, SAXException {
+        XMLBinding xmlBinding = new XMLBinding().add(getClass().getResourceAsStream("config1/order-binding-config.xml"));
+        xmlBinding.initialise();
+
+        Order order = xmlBinding.fromXML(StreamUtils.readStreamAsString(getClass().getResourceAsStream("config1/order.xml"), "UTF-8"), Order.class);
+        order.getHeader().setCustomerName("a\ud800");
+
+        // The unpaired surrogate is replaced in place, as String.getBytes does, not after the end tag...
+        byte[] expected = xmlBinding.toXML(order).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, xmlBinding.toXML(order, new ByteArrayOutputStream()).toByteArray());
+    }
+
+    @Test
+    public void test_collection_sources() throws IOException, SAXException {
+        String inputXML = "<catalog><item product=\"111\" quantity=\"2\"/><item product=\"222\" quantity=\"7\"/></catalog>";
+        XMLBinding xmlBinding = new XMLBinding().add(getClass().getResourceAsStream("config8/catalog-binding-config.xml"));
+        xmlBinding.initialise();
+
+        Catalog catalog = xmlBinding.fromXML(inputXML, Catalog.class);
+        List<OrderItem> items = (List<OrderItem>) catalog.getItems();
+        String listXML = xmlBinding.toXML(catalog);
+
+        assertFalse(DiffBuilder.compare(inputXML).
+                withTest(listXML).
+                ignoreComments().
+                ignoreWhitespace().
+                build().
+                hasDifferences());
+
+        catalog.setItems(new LinkedHashSet<>(items));
+        assertEquals(listXML, xmlBinding.toXML(catalog));
+        catalog.setItems((Iterable<OrderItem>) items::iterator);
+        assertEquals(listXML, xmlBinding.toXML(catalog));
+        catalog.setItems(items.stream());
+        assertEquals(listXML, xmlBinding.toXML(catalog));
+        catalog.setItems(items.iterator());
+        assertEquals(listXML, xmlBinding.toXML(catalog));
+        catalog.setItems(items.toArray(new OrderItem[0]));
+        assertEquals(listXML, xmlBinding.toXML(catalog));
+
+        catalog.setItems(new ArrayList<>());
+        assertFalse(DiffBuilder.compare("<catalog/>").
+                withTest(xmlBinding.toXML(catalog)).
+                ignoreWhitespace().
+                build().
+                hasDifferences());
+    }
+
     @Test
     public void test_add_fails_after_smooks_constructed() throws IOException, SAXException {
         Smooks smooks = new Smooks(getClass().getResourceAsStream("config1/order-binding-config.xml"));
@@ -139,7 +254,7 @@ public class XMLBindingTestCase {
         test(inputXML, xmlBinding);
     }
 
-    private void test(String inputXML, XMLBinding xmlBinding) {
+    private void test(String inputXML, XMLBinding xmlBinding) throws IOException {
         // Read...
         Order order = xmlBinding.fromXML(inputXML, Order.class);
 
@@ -147,6 +262,7 @@ public class XMLBindingTestCase {
 
         // write...
         String outputXML = xmlBinding.toXML(order);
+        assertEquals(outputXML, new String(xmlBinding.toXML(order, new ByteArrayOutputStream()).toByteArray(), StandardCharsets.UTF_8));
 
         // Compare...
         assertFalse(DiffBuilder.compare(inputXML).
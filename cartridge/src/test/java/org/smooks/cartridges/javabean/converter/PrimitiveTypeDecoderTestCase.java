@@ -0,0 +1,179 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.converter;
+
+import org.junit.jupiter.api.Test;
+import org.smooks.api.converter.TypeConverter;
+import org.smooks.api.converter.TypeConverterFactory;
+import org.smooks.api.resource.config.Configurable;
+import org.smooks.cartridges.javabean.accessor.PropertySetter;
+import org.smooks.engine.converter.BooleanConverterFactory;
+import org.smooks.engine.converter.StringToDoubleConverterFactory;
+import org.smooks.engine.converter.StringToIntegerConverterFactory;
+import org.smooks.engine.converter.StringToLongConverterFactory;
+import org.smooks.engine.converter.StringToBigDecimalConverterFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveTypeDecoderTestCase {
+
+    private static final String[] VALUES = {"0", "-0", "+7", " 12 ", "\t-2147483648\n", "2147483647", "2147483648", "-2147483649",
+            "9223372036854775807", "-9223372036854775808", "123456789012345678", "1234567890123456789", "", " ", "-", "+", "1-",
+            "1.", ".5", "-.5", "0.1", "12.75", "-3.14159", "123456789012345", "1234567890123456", "0.000000000000001", "1e3", "NaN",
+            "Infinity", "0x10", "1_000", "١٢", "y", "YES", " True ", "1", "n", "no", "FALSE", "0", "maybe", "İ"};
+
+    @Test
+    public void test_int() throws Exception {
+        assertSameAsTypeConverter(PrimitiveTypeDecoder.INT, new StringToIntegerConverterFactory(), "setIntVal", Integer.TYPE);
+    }
+
+    @Test
+    public void test_long() throws Exception {
+        assertSameAsTypeConverter(PrimitiveTypeDecoder.LONG, new StringToLongConverterFactory(), "setLongVal", Long.TYPE);
+    }
+
+    @Test
+    public void test_double() throws Exception {
+        assertSameAsTypeConverter(PrimitiveTypeDecoder.DOUBLE, new StringToDoubleConverterFactory(), "setDoubleVal", Double.TYPE);
+    }
+
+    @Test
+    public void test_boolean() throws Exception {
+        assertSameAsTypeConverter(PrimitiveTypeDecoder.BOOLEAN, new BooleanConverterFactory(), "setBoolVal", Boolean.TYPE);
+    }
+
+    @Test
+    public void test_forTypeConverterFactory() {
+        StringToIntegerConverterFactory formatted = new StringToIntegerConverterFactory();
+        Properties properties = new Properties();
+        properties.setProperty("format", "#,###");
+        formatted.setConfiguration(properties);
+
+        assertSame(PrimitiveTypeDecoder.INT, PrimitiveTypeDecoder.forTypeConverterFactory(configure(new StringToIntegerConverterFactory())));
+        assertSame(PrimitiveTypeDecoder.BOOLEAN, PrimitiveTypeDecoder.forTypeConverterFactory(new BooleanConverterFactory()));
+        assertNull(PrimitiveTypeDecoder.forTypeConverterFactory(formatted));
+        assertNull(PrimitiveTypeDecoder.forTypeConverterFactory(configure(new StringToBigDecimalConverterFactory())));
+    }
+
+    private void assertSameAsTypeConverter(PrimitiveTypeDecoder primitiveTypeDecoder, TypeConverterFactory<String, ?> typeConverterFactory, String setterName, Class<?> type) throws Exception {
+        TypeConverter<String, ?> typeConverter = (TypeConverter<String, ?>) configure(typeConverterFactory).createTypeConverter();
+        Method setterMethod = PrimitiveBean.class.getMethod(setterName, type);
+        Method getterMethod = PrimitiveBean.class.getMethod("getValue");
+
+        for (String value : VALUES) {
+            PrimitiveBean bean = new PrimitiveBean();
+            PropertySetter propertySetter = new PropertySetter() {
+                @Override
+                public void set(Object bean, Object value) {
+                    fail("Value boxed");
+                }
+
+                @Override
+                public void setInt(Object bean, int value) throws IllegalAccessException, InvocationTargetException {
+                    setterMethod.invoke(bean, value);
+                }
+
+                @Override
+                public void setLong(Object bean, long value) throws IllegalAccessException, InvocationTargetException {
+                    setterMethod.invoke(bean, value);
+                }
+
+                @Override
+                public void setDouble(Object bean, double value) throws IllegalAccessException, InvocationTargetException {
+                    setterMethod.invoke(bean, value);
+                }
+
+                @Override
+                public void setBoolean(Object bean, boolean value) throws IllegalAccessException, InvocationTargetException {
+                    setterMethod.invoke(bean, value);
+                }
+
+                @Override
+                public Method getMethod() {
+                    return setterMethod;
+                }
+            };
+
+            if (primitiveTypeDecoder.decodeAndSet(value, bean, propertySetter)) {
+                assertEquals(typeConverter.convert(value), getterMethod.invoke(bean), "'" + value + "'");
+            } else if (primitiveTypeDecoder == PrimitiveTypeDecoder.BOOLEAN) {
+                assertTrue(value.chars().anyMatch(c -> c > 127), "'" + value + "'");
+            }
+        }
+    }
+
+    private static <T extends TypeConverterFactory<?, ?>> T configure(T typeConverterFactory) {
+        if (typeConverterFactory instanceof Configurable) {
+            ((Configurable) typeConverterFactory).setConfiguration(new Properties());
+        }
+        return typeConverterFactory;
+    }
+
+    public static class PrimitiveBean {
+        private Object value;
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setIntVal(int value) {
+            this.value = value;
+        }
+
+        public void setLongVal(long value) {
+            this.value = value;
+        }
+
+        public void setDoubleVal(double value) {
+            this.value = value;
+        }
+
+        public void setBoolVal(boolean value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.converter;
+
+import org.junit.jupiter.api.Test;
+import org.smooks.api.converter.TypeConverter;
+import org.smooks.engine.converter.StringToDateConverterFactory;
+import org.smooks.engine.converter.StringToIntegerConverterFactory;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeConvertersTestCase {
+
+    @Test
+    public void test_stateless_converter_shared() {
+        StringToIntegerConverterFactory typeConverterFactory = new StringToIntegerConverterFactory();
+        typeConverterFactory.setConfiguration(new Properties());
+
+        TypeConverter<? super String, ?> typeConverter = TypeConverters.threadSafeTypeConverter(typeConverterFactory);
+        assertTrue(TypeConverters.isStateless(typeConverterFactory, typeConverter));
+        assertEquals(12, typeConverter.convert(" 12 "));
+    }
+
+    @Test
+    public void test_stateful_converter_per_thread() throws InterruptedException {
+        Properties properties = new Properties();
+        properties.setProperty("format", "yyyy-MM-dd");
+        StringToDateConverterFactory typeConverterFactory = new StringToDateConverterFactory();
+        typeConverterFactory.setConfiguration(properties);
+
+        TypeConverter<? super String, ?> typeConverter = TypeConverters.threadSafeTypeConverter(typeConverterFactory);
+        assertFalse(TypeConverters.isStateless(typeConverterFactory, typeConverterFactory.createTypeConverter()));
+
+        Object[] result = new Object[1];
+        Thread thread = new Thread(() -> result[0] = typeConverter.convert("2020-01-02"));
+        thread.start();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertNotNull(result[0]);
+        assertEquals(result[0], typeConverter.convert("2020-01-02"));
+    }
+
+    @Test
+    public void test_enum_converter() {
+        EnumConstantTypeConverter typeConverter = new EnumConstantTypeConverter(TimeUnit.class);
+
+        assertSame(TimeUnit.SECONDS, typeConverter.convert("SECONDS"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> typeConverter.convert("seconds"));
+        assertEquals("No enum constant java.util.concurrent.TimeUnit.seconds", e.getMessage());
+        assertThrows(NullPointerException.class, () -> typeConverter.convert(null));
+    }
+}
@@ -80,6 +80,18 @@ public class ExpressionBindingTestCase {
 
     }
 
+    @Test
+    public void test_bean_variable_bound_after_first_evaluation() throws Exception {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("03_binding.xml"));
+
+        JavaResult result = new JavaResult();
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(getClass().getResourceAsStream("03_number.xml")), result);
+
+        Total total = (Total) result.getBean("total");
+
+        assertEquals(61, (int) total.getTotal());
+    }
+
     private void assertDateValue(JavaResult result, String beanId) {
         Map<?, ?> message = (Map<?, ?>) result.getBean(beanId);
         Date messageDate = (Date) message.get("date");
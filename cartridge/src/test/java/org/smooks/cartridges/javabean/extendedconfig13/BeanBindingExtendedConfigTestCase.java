@@ -45,29 +45,50 @@ package org.smooks.cartridges.javabean.extendedconfig13;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.smooks.Smooks;
+import org.smooks.api.ApplicationContext;
 import org.smooks.api.ExecutionContext;
 import org.smooks.api.SmooksException;
+import org.smooks.api.resource.visitor.sax.ng.AfterVisitor;
 import org.smooks.cartridges.javabean.B;
 import org.smooks.cartridges.javabean.Header;
+import org.smooks.cartridges.javabean.InterpretedExpressionRegistry;
+import org.smooks.cartridges.javabean.ParallelBindingPool;
 import org.smooks.cartridges.javabean.OrderItem;
+import org.smooks.cartridges.javabean.WiringPlan;
 import org.smooks.cartridges.javabean.extendedconfig.ExtendedOrder;
+import org.smooks.cartridges.javabean.metrics.BindingMetrics;
+import org.smooks.cartridges.javabean.metrics.BindingStats;
+import org.smooks.cartridges.javabean.metrics.JmxBindingMetricsExporter;
+import org.smooks.cartridges.javabean.observers.BeanContextObserverIndex;
 import org.smooks.io.payload.JavaResult;
 import org.smooks.support.ClassUtils;
 import org.xml.sax.SAXException;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsMapContaining.hasEntry;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -345,6 +366,11 @@ public class BeanBindingExtendedConfigTestCase {
         assertTrue(order2 instanceof HashMap);
         assertTrue(order3 instanceof HashMap);
         assertTrue(order4 instanceof HashMap);
+
+        Map<String, List<String>> interpretedExpressions = InterpretedExpressionRegistry.getInstance(smooks.getApplicationContext()).getInterpretedExpressions();
+        assertEquals(2, interpretedExpressions.size());
+        assertEquals("org.smooks.cartridges.javabean.extendedconfig.MapFactory.newMap()", interpretedExpressions.get("mvel_order").get(0));
+        assertTrue(interpretedExpressions.containsKey("mvel_class_order"));
     }
 
     @Test
@@ -362,4 +388,145 @@ public class BeanBindingExtendedConfigTestCase {
 
         assertTrue(order instanceof HashMap);
     }
+
+    @Test
+    public void test_compiled_wiring() throws SAXException, IOException {
+        int observedSubscribers = filterOrder("test_bean_01.xml");
+        int compiledSubscribers = filterOrder("test_bean_16.xml");
+
+        // The planned wirings share a single subscriber...
+        assertTrue(compiledSubscribers < observedSubscribers);
+    }
+
+    @Test
+    public void test_binding_metrics() throws SAXException, IOException, JMException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("test_bean_17.xml"));
+        JavaResult result = new JavaResult();
+
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(getInput("order-01.xml")), result);
+        assertOrderOK((ExtendedOrder) result.getBean("order"), true);
+        assertEquals(123123L, result.getBean("customerNumber"));
+
+        BindingMetrics metrics = BindingMetrics.getInstance(smooks.getApplicationContext());
+        Map<String, BindingStats> stats = metrics.getStats();
+
+        assertEquals(2, stats.get("orderItem").getBeansCreated());
+        assertEquals(2, stats.get("orderItem#quantity").getValuesBound());
+        assertEquals(2, stats.get("orderItem#quantity").getConversions());
+        assertEquals(0, stats.get("orderItem#quantity").getDecodeFailures());
+        assertEquals(2, stats.get("order#total").getExpressionEvaluations());
+        assertEquals(2, stats.get("orderItemList#orderItem").getWiredBeans());
+        assertTrue(stats.get("orderItemList#orderItem").getObserverNotifications() >= 2);
+        assertEquals(1, stats.get("customerNumber").getValuesBound());
+        assertEquals(1, stats.get("customerNumber").getConversions());
+        assertEquals(0, stats.get("orderItem").getInterpretedExpressions());
+        assertEquals(1, stats.get("orderMap").getInterpretedExpressions());
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = JmxBindingMetricsExporter.toObjectName(metrics, stats.get("orderItem#quantity"));
+        assertTrue(mBeanServer.isRegistered(objectName));
+        assertEquals(1L, mBeanServer.getAttribute(JmxBindingMetricsExporter.toObjectName(metrics, stats.get("orderMap")), "InterpretedExpressions"));
+
+        smooks.close();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void test_parallel_bindings() throws SAXException, IOException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("test_bean_18.xml"));
+        JavaResult result = new JavaResult();
+
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(createOrder(500, "7"))), result);
+
+        ExtendedOrder order = (ExtendedOrder) result.getBean("order");
+        assertEquals(500, order.getOrderItems().size());
+        for (int i = 0; i < 500; i++) {
+            OrderItem orderItem = order.getOrderItems().get(i);
+            assertSame(order, orderItem.getOrder());
+            assertEquals(i, orderItem.getProductId());
+            assertEquals(Integer.valueOf(7), orderItem.getQuantity());
+            assertEquals(i + 0.5d, orderItem.getPrice(), 0d);
+        }
+
+        ForkJoinPool pool = (ForkJoinPool) ParallelBindingPool.getInstance(smooks.getApplicationContext()).getExecutor();
+        assertNotSame(ForkJoinPool.commonPool(), pool);
+        assertEquals(2, pool.getParallelism());
+        smooks.close();
+        assertTrue(pool.isShutdown());
+    }
+
+    @Test
+    public void test_parallel_bindings_registered_executor() throws SAXException, IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        LongAdder executedBatches = new LongAdder();
+        try {
+            Smooks smooks = new Smooks(getClass().getResourceAsStream("test_bean_18.xml"));
+            ParallelBindingPool.register(smooks.getApplicationContext(), command -> {
+                executedBatches.increment();
+                executorService.execute(command);
+            });
+            JavaResult result = new JavaResult();
+
+            smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(createOrder(100, "7"))), result);
+
+            ExtendedOrder order = (ExtendedOrder) result.getBean("order");
+            assertEquals(100, order.getOrderItems().size());
+            assertEquals(Integer.valueOf(7), order.getOrderItems().get(99).getQuantity());
+            assertEquals(100, executedBatches.sum());
+
+            smooks.close();
+            assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void test_parallel_bindings_parent_not_enclosing() throws SAXException, IOException {
+        // The order and item list are created on the header, so no parent fragment awaits the order items...
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("test_bean_19.xml"));
+        JavaResult result = new JavaResult();
+
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(createOrder(500, "7"))), result);
+
+        OrderItem orderItem = (OrderItem) result.getBean("orderItem");
+        assertEquals(499, orderItem.getProductId());
+        assertEquals(Integer.valueOf(7), orderItem.getQuantity());
+        assertEquals(499.5d, orderItem.getPrice(), 0d);
+    }
+
+    @Test
+    public void test_parallel_bindings_decode_failure() throws SAXException, IOException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("test_bean_18.xml"));
+
+        assertThrows(SmooksException.class, () -> smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(createOrder(50, "x"))), new JavaResult()));
+    }
+
+    private String createOrder(int itemCount, String quantity) {
+        StringBuilder order = new StringBuilder("<order><header/><order-items>");
+        for (int i = 0; i < itemCount; i++) {
+            order.append("<order-item><product>").append(i).append("</product><quantity>").append(quantity)
+                    .append("</quantity><price>").append(i + 0.5d).append("</price></order-item>");
+        }
+        return order.append("</order-items></order>").toString();
+    }
+
+    private int filterOrder(String config) throws IOException, SAXException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream(config));
+        int[] subscribers = new int[1];
+        smooks.addVisitor((AfterVisitor) (element, executionContext) -> subscribers[0] = BeanContextObserverIndex.get(executionContext).size(), "order-item");
+
+        JavaResult result = new JavaResult();
+        ExecutionContext execContext = smooks.createExecutionContext();
+
+        smooks.filterSource(execContext, new StreamSource(getInput("order-01.xml")), result);
+        assertOrderOK((ExtendedOrder) result.getBean("order"), true);
+
+        ApplicationContext appContext = smooks.getApplicationContext();
+        WiringPlan wiringPlan = WiringPlan.getInstance(appContext);
+        assertTrue(wiringPlan.isPlanned(appContext.getBeanIdStore().getBeanId("order"), appContext.getBeanIdStore().getBeanId("headerBean")));
+        assertFalse(wiringPlan.isPlanned(appContext.getBeanIdStore().getBeanId("order"), appContext.getBeanIdStore().getBeanId("orderItemArray")));
+
+        return subscribers[0];
+    }
 }
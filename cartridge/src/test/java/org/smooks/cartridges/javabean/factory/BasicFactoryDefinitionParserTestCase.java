@@ -48,7 +48,9 @@ import org.smooks.testkit.MockExecutionContext;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -85,6 +87,30 @@ public class BasicFactoryDefinitionParserTestCase {
 
 	}
 
+	@Test
+	public void test_cached_factory_instance() {
+
+		BasicFactoryDefinitionParser parser = new BasicFactoryDefinitionParser();
+
+		Factory<?> factory = parser.parse("org.smooks.cartridges.javabean.factory.BasicFactoryDefinitionParserTestCase$CountingFactory#newInstance.newLinkedList");
+		Factory<?> cachingFactory = ((CacheableFactory<?>) factory).withCachedFactoryInstance();
+
+		CountingFactory.instanceCount = 0;
+		factory.create(new MockExecutionContext());
+		factory.create(new MockExecutionContext());
+		assertEquals(2, CountingFactory.instanceCount);
+
+		CountingFactory.instanceCount = 0;
+		Object result1 = cachingFactory.create(new MockExecutionContext());
+		Object result2 = cachingFactory.create(new MockExecutionContext());
+		assertEquals(1, CountingFactory.instanceCount);
+		assertTrue(result1 instanceof LinkedList<?>);
+		assertNotSame(result1, result2);
+
+		assertNotSame(factory, cachingFactory);
+		assertSame(factory, parser.parse("org.smooks.cartridges.javabean.factory.BasicFactoryDefinitionParserTestCase$CountingFactory#newInstance.newLinkedList"));
+	}
+
 	@Test
 	public void test_caching() {
 
@@ -99,6 +125,26 @@ public class BasicFactoryDefinitionParserTestCase {
 
 	}
 
+	@Test
+	public void test_reflective_accessors() {
+
+		BasicFactoryDefinitionParser parser = new BasicFactoryDefinitionParser();
+
+		BasicFactoryDefinitionParser.StaticMethodFactory staticMethodFactory = (BasicFactoryDefinitionParser.StaticMethodFactory) parser.parse("org.smooks.cartridges.javabean.TestFactory#newArrayList", false);
+		BasicFactoryDefinitionParser.FactoryInstanceFactory factoryInstanceFactory = (BasicFactoryDefinitionParser.FactoryInstanceFactory) parser.parse("org.smooks.cartridges.javabean.TestFactory#newInstance.newLinkedList", false);
+
+		assertTrue(staticMethodFactory.instantiator.toString().startsWith("Reflective["));
+		assertTrue(factoryInstanceFactory.getInstanceInstantiator.toString().startsWith("Reflective["));
+		assertTrue(staticMethodFactory.create(new MockExecutionContext()) instanceof ArrayList<?>);
+		assertTrue(factoryInstanceFactory.create(new MockExecutionContext()) instanceof LinkedList<?>);
+		assertTrue(((BasicFactoryDefinitionParser.FactoryInstanceFactory) factoryInstanceFactory.withCachedFactoryInstance()).getInstanceInstantiator.toString().startsWith("Reflective["));
+
+		BasicFactoryDefinitionParser.StaticMethodFactory generatedFactory = (BasicFactoryDefinitionParser.StaticMethodFactory) parser.parse("org.smooks.cartridges.javabean.TestFactory#newArrayList");
+		assertTrue(generatedFactory.instantiator.toString().startsWith("Generated["));
+		assertNotSame(generatedFactory, staticMethodFactory);
+		assertSame(staticMethodFactory, parser.parse("org.smooks.cartridges.javabean.TestFactory#newArrayList", false));
+	}
+
 	@Test
 	public void test_invalid_definition() {
 
@@ -198,4 +244,18 @@ public class BasicFactoryDefinitionParserTestCase {
 		assertTrue(ExceptionUtils.indexOfThrowable(exception, NoSuchMethodException.class) >= 0);
 		assertTrue(ExceptionUtils.getStackTrace(exception).contains("static"));
 	}
+
+	public static class CountingFactory {
+
+		static int instanceCount;
+
+		public static CountingFactory newInstance() {
+			instanceCount++;
+			return new CountingFactory();
+		}
+
+		public List<?> newLinkedList() {
+			return new LinkedList<Object>();
+		}
+	}
 }
@@ -49,7 +49,10 @@ import org.smooks.testkit.MockExecutionContext;
 import java.util.Map;
 import java.util.TreeMap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -72,4 +75,31 @@ public class MVELFactoryTestCase {
 		assertTrue(map instanceof TreeMap);
 	}
 
+	@Test
+	public void test_compiled_constructor_call() throws Exception {
+		ExecutionContext context = new MockExecutionContext();
+
+		MVELFactory<Map<?, ?>> compiled = new MVELFactory<Map<?, ?>>("new java.util.TreeMap();");
+		MVELFactory<Map<?, ?>> interpreted = new MVELFactory<Map<?, ?>>("new java.util.TreeMap(java.util.Collections.singletonMap('a', 'b'))");
+		MVELFactory<Map<?, ?>> unknownClass = new MVELFactory<Map<?, ?>>("new org.acme.UnknownMap()");
+
+		assertTrue(compiled.isCompiled());
+		assertTrue(compiled.create(context) instanceof TreeMap);
+		assertNotSame(compiled.create(context), compiled.create(context));
+		assertFalse(interpreted.isCompiled());
+		assertEquals("b", interpreted.create(context).get("a"));
+		assertFalse(unknownClass.isCompiled());
+		assertTrue(compiled.toString().startsWith("MVELFactory["));
+		assertTrue(compiled.instantiator.toString().startsWith("Generated["));
+	}
+
+	@Test
+	public void test_reflective_constructor_call() throws Exception {
+		MVELFactory<Map<?, ?>> reflective = new MVELFactory<Map<?, ?>>("new java.util.TreeMap()", false);
+
+		assertTrue(reflective.isCompiled());
+		assertTrue(reflective.instantiator.toString().startsWith("Reflective["));
+		assertTrue(reflective.create(new MockExecutionContext()) instanceof TreeMap);
+	}
+
 }
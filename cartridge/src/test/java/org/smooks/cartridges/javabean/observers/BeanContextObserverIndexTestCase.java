@@ -0,0 +1,190 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-cartridge
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ *
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ *
+ * ======================================================================
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * ======================================================================
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cartridges.javabean.observers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.smooks.api.ExecutionContext;
+import org.smooks.api.bean.context.BeanContext;
+import org.smooks.api.bean.lifecycle.BeanContextLifecycleEvent;
+import org.smooks.api.bean.lifecycle.BeanLifecycle;
+import org.smooks.api.bean.repository.BeanId;
+import org.smooks.testkit.MockExecutionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BeanContextObserverIndexTestCase {
+
+    private ExecutionContext executionContext;
+    private BeanContext beanContext;
+    private BeanId a;
+    private BeanId b;
+    private List<String> notified;
+
+    @BeforeEach
+    public void setUp() {
+        executionContext = new MockExecutionContext();
+        beanContext = executionContext.getBeanContext();
+        a = executionContext.getApplicationContext().getBeanIdStore().register("a");
+        b = executionContext.getApplicationContext().getBeanIdStore().register("b");
+        notified = new ArrayList<>();
+    }
+
+    @Test
+    public void test_only_matching_subscribers_notified_in_registration_order() {
+        BeanContextObserverIndex index = BeanContextObserverIndex.get(executionContext);
+
+        index.addSubscriber(new RecordingSubscriber("b1", BeanLifecycle.ADD, b));
+        index.addSubscriber(new RecordingSubscriber("a1", BeanLifecycle.ADD, a));
+        index.addSubscriber(new RecordingSubscriber("any", BeanLifecycle.ADD, null));
+        index.addSubscriber(new RecordingSubscriber("a2", BeanLifecycle.ADD, a));
+        index.addSubscriber(new RecordingSubscriber("aChange", BeanLifecycle.CHANGE, a));
+
+        beanContext.addBean(a, "x", null);
+        assertEquals("[a1:ADD, any:ADD, a2:ADD]", notified.toString());
+
+        notified.clear();
+        beanContext.changeBean(a, "y", null);
+        assertEquals("[aChange:CHANGE]", notified.toString());
+
+        assertSame(index, BeanContextObserverIndex.get(executionContext));
+    }
+
+    @Test
+    public void test_removed_during_dispatch() {
+        BeanContextObserverIndex index = BeanContextObserverIndex.get(executionContext);
+        RecordingSubscriber selfRemoving = new RecordingSubscriber("self", BeanLifecycle.ADD, a) {
+            @Override
+            public void onBeanLifecycleEvent(BeanContextLifecycleEvent event) {
+                super.onBeanLifecycleEvent(event);
+                BeanContextObserverIndex.removeObserver(event.getExecutionContext(), this);
+            }
+        };
+        RecordingSubscriber removedBySelf = new RecordingSubscriber("other", BeanLifecycle.ADD, a);
+        index.addSubscriber(selfRemoving);
+        index.addSubscriber(new RecordingSubscriber("adder", BeanLifecycle.ADD, a) {
+            @Override
+            public void onBeanLifecycleEvent(BeanContextLifecycleEvent event) {
+                super.onBeanLifecycleEvent(event);
+                index.addSubscriber(removedBySelf);
+            }
+        });
+
+        beanContext.addBean(a, "x", null);
+        assertEquals("[self:ADD, adder:ADD]", notified.toString());
+        assertEquals(2, index.size());
+
+        notified.clear();
+        beanContext.addBean(a, "y", null);
+        assertEquals("[adder:ADD, other:ADD]", notified.toString());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void test_remove_registrations() {
+        BeanContextObserverIndex index = BeanContextObserverIndex.get(executionContext);
+        List<RecordingSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            RecordingSubscriber subscriber = new RecordingSubscriber("s" + i, BeanLifecycle.ADD, (i % 2 == 0 ? a : null));
+            subscribers.add(subscriber);
+            index.addSubscriber(subscriber);
+        }
+        // Added twice, so notified twice until both registrations are removed...
+        index.addSubscriber(subscribers.get(0));
+
+        assertTrue(index.removeSubscriber(subscribers.get(1)));
+        assertTrue(index.removeSubscriber(subscribers.get(4)));
+        assertTrue(index.removeSubscriber(subscribers.get(0)));
+        assertEquals(4, index.size());
+
+        beanContext.addBean(a, "x", null);
+        assertEquals("[s2:ADD, s3:ADD, s5:ADD, s0:ADD]", notified.toString());
+
+        notified.clear();
+        assertTrue(index.removeSubscriber(subscribers.get(0)));
+        assertFalse(index.removeSubscriber(subscribers.get(0)));
+        index.addSubscriber(subscribers.get(1));
+        beanContext.addBean(a, "y", null);
+        assertEquals("[s2:ADD, s3:ADD, s5:ADD, s1:ADD]", notified.toString());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void test_remove_falls_back_to_bean_context() {
+        RecordingSubscriber subscriber = new RecordingSubscriber("plain", BeanLifecycle.ADD, a);
+        beanContext.addObserver(subscriber);
+
+        BeanContextObserverIndex.removeObserver(executionContext, subscriber);
+        beanContext.addBean(a, "x", null);
+
+        assertTrue(notified.isEmpty());
+        assertFalse(BeanContextObserverIndex.get(executionContext).removeSubscriber(subscriber));
+    }
+
+    private class RecordingSubscriber implements BeanLifecycleSubscriber {
+
+        private final String name;
+        private final BeanContextObserverIndex.Subscription subscription;
+
+        private RecordingSubscriber(String name, BeanLifecycle lifecycle, BeanId beanId) {
+            this.name = name;
+            this.subscription = BeanContextObserverIndex.Subscription.of(lifecycle, beanId);
+        }
+
+        @Override
+        public BeanContextObserverIndex.Subscription[] getSubscriptions() {
+            return new BeanContextObserverIndex.Subscription[]{subscription};
+        }
+
+        @Override
+        public void onBeanLifecycleEvent(BeanContextLifecycleEvent event) {
+            notified.add(name + ":" + event.getLifecycle());
+        }
+    }
+}
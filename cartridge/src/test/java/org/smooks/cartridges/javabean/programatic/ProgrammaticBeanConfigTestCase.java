@@ -53,6 +53,7 @@ import org.smooks.cartridges.javabean.factory.MVELFactory;
 import org.smooks.engine.converter.StringToDoubleConverterFactory;
 import org.smooks.engine.converter.StringToIntegerConverterFactory;
 import org.smooks.io.payload.JavaResult;
+import org.smooks.io.payload.StringSource;
 import org.xml.sax.SAXException;
 
 import javax.xml.transform.stream.StreamSource;
@@ -60,9 +61,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -177,6 +182,45 @@ public class ProgrammaticBeanConfigTestCase {
         execute_01_test(smooks);
     }
 
+    @Test
+    public void test_polymorphic_factory_beans() {
+        Smooks smooks = new Smooks();
+        AtomicInteger itemCount = new AtomicInteger();
+        AtomicInteger shapeCount = new AtomicInteger();
+        Bean itemsBean = new Bean(ArrayList.class, "items", "/items", smooks.getApplicationContext().getRegistry());
+
+        // Items alternate between a plain Map and a Map with property setters.  Shapes are 2 Circles and then 2 Squares...
+        itemsBean.bindTo(itemsBean.newBean(Map.class, "item", executionContext -> itemCount.getAndIncrement() % 2 == 0 ? new HashMap<>() : new LabelMap())
+                .bindTo("label", "item/@label")
+                .bindTo("shape", itemsBean.newBean(Object.class, "item/shape", executionContext -> shapeCount.getAndIncrement() < 2 ? new Circle() : new Square())));
+        smooks.addVisitors(itemsBean);
+
+        JavaResult result = new JavaResult();
+        smooks.filterSource(new StringSource("<items><item label='a'><shape/></item><item label='b'><shape/></item><item label='c'><shape/></item><item label='d'><shape/></item></items>"), result);
+
+        List<Map<String, Object>> items = (List<Map<String, Object>>) result.getBean("items");
+        assertEquals(4, items.size());
+
+        assertEquals(HashMap.class, items.get(0).getClass());
+        assertEquals("a", items.get(0).get("label"));
+        assertEquals(Circle.class, items.get(0).get("shape").getClass());
+
+        LabelMap labelMap = (LabelMap) items.get(1);
+        assertEquals("b", labelMap.label);
+        assertEquals(Circle.class, labelMap.circle.getClass());
+        assertFalse(labelMap.containsKey("label"));
+
+        assertEquals(HashMap.class, items.get(2).getClass());
+        assertEquals("c", items.get(2).get("label"));
+        assertEquals(Square.class, items.get(2).get("shape").getClass());
+
+        labelMap = (LabelMap) items.get(3);
+        assertEquals("d", labelMap.label);
+        assertNull(labelMap.circle);
+        assertEquals(Square.class, labelMap.square.getClass());
+        assertFalse(labelMap.containsKey("shape"));
+    }
+
     private void execute_01_test(Smooks smooks) {
         JavaResult result = new JavaResult();
         smooks.filterSource(new StreamSource(getClass().getResourceAsStream("/order-01.xml")), result);
@@ -268,4 +312,28 @@ public class ProgrammaticBeanConfigTestCase {
                 "orderItems[null]\n" +
                 "norderItemsArray[[{productId: 111, quantity: null, price: null}, {productId: 222, quantity: null, price: null}]]]", order.toString());
     }
+
+    public static class LabelMap extends HashMap<String, Object> {
+        private String label;
+        private Circle circle;
+        private Square square;
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public void setShape(Circle circle) {
+            this.circle = circle;
+        }
+
+        public void setShape(Square square) {
+            this.square = square;
+        }
+    }
+
+    public static class Circle {
+    }
+
+    public static class Square {
+    }
 }
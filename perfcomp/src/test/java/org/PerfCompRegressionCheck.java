@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-perfcomp
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails when the {@link PerfCompRunner} results regress beyond the tolerance of the stored baseline.  Not part of
+ * the default build, run it with the <code>perfcomp-baseline</code> profile e.g.
+ * <pre>
+ * mvn -pl perfcomp test -Pperfcomp-baseline -Dperfcomp.tolerance=0.15
+ * </pre>
+ * The committed baseline (src/test/resources/perfcomp-baseline.csv) is a reference recorded on the hardware
+ * noted in its header.  To gate a change on other hardware, record a baseline from the unchanged tree first and
+ * then compare the change against it:
+ * <pre>
+ * mvn -pl perfcomp test -Pperfcomp-baseline -Dperfcomp.updateBaseline=true -Dperfcomp.baseline=target/local-baseline.csv
+ * mvn -pl perfcomp test -Pperfcomp-baseline -Dperfcomp.baseline=target/local-baseline.csv
+ * </pre>
+ * Fails if there's no baseline to compare against.
+ */
+public class PerfCompRegressionCheck {
+
+    @Test
+    public void test() throws Exception {
+        List<String> regressions = PerfCompRunner.runAndCompare();
+
+        assertTrue(regressions.isEmpty(), "Performance regressions against the baseline: " + regressions);
+    }
+}
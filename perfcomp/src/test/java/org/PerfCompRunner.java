@@ -0,0 +1,375 @@
+/*-
+ * ========================LICENSE_START=================================
+ * smooks-javabean-perfcomp
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.StaxDriver;
+import org.jibx.runtime.BindingDirectory;
+import org.jibx.runtime.IUnmarshallingContext;
+import org.smooks.Order;
+import org.smooks.OrderItem;
+import org.smooks.Smooks;
+import org.smooks.io.payload.JavaResult;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the Smooks, JiBX and XStream comparison over all the sample messages, writes the results as CSV and JSON,
+ * and compares them against a stored baseline.
+ * <p/>
+ * Configured through system properties:
+ * <ul>
+ *     <li>perfcomp.libraries: the libraries to run.  Defaults to "smooks,jibx,xstream".</li>
+ *     <li>perfcomp.messages: the sample messages to run.  Defaults to all of them.</li>
+ *     <li>perfcomp.warmups: the warm up iterations per library and message.  Defaults to {@link TestConstants#NUM_WARMUPS}.</li>
+ *     <li>perfcomp.iterations: the measured iterations per library and message.  Defaults to 2000.</li>
+ *     <li>perfcomp.outputDir: where results.csv and results.json are written.  Defaults to "target/perfcomp".</li>
+ *     <li>perfcomp.baseline: the baseline CSV.  Defaults to "src/test/resources/perfcomp-baseline.csv".</li>
+ *     <li>perfcomp.tolerance: the tolerated regression, as a fraction of the baseline.  Defaults to 0.1 (0.25 with the
+ *     <code>perfcomp-baseline</code> profile).</li>
+ *     <li>perfcomp.updateBaseline: write the results to the baseline instead of comparing.  Defaults to false.</li>
+ * </ul>
+ * The median latency, the throughput and the bytes allocated per message are compared.  The p99 latency is
+ * reported but not compared, being too noisy on shared machines.
+ */
+public class PerfCompRunner {
+
+    public static final String[] MESSAGES = {"348", "1254", "2462", "5482", "10918", "19977", "39910", "60446"};
+
+    private static final String CSV_HEADER = "library,message,p50_us,p99_us,ops_per_sec,bytes_per_message";
+
+    private final List<String> libraries;
+    private final List<String> messages;
+    private final int warmups;
+    private final int iterations;
+
+    public PerfCompRunner(List<String> libraries, List<String> messages, int warmups, int iterations) {
+        this.libraries = libraries;
+        this.messages = messages;
+        this.warmups = warmups;
+        this.iterations = iterations;
+    }
+
+    public static PerfCompRunner fromSystemProperties() {
+        return new PerfCompRunner(
+                Arrays.asList(System.getProperty("perfcomp.libraries", "smooks,jibx,xstream").split(",")),
+                Arrays.asList(System.getProperty("perfcomp.messages", String.join(",", MESSAGES)).split(",")),
+                Integer.getInteger("perfcomp.warmups", TestConstants.NUM_WARMUPS),
+                Integer.getInteger("perfcomp.iterations", 2000));
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> regressions = runAndCompare();
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run with the configuration of the system properties, write the results and compare them against the
+     * baseline (or update the baseline).
+     *
+     * @return The regressions.
+     */
+    public static List<String> runAndCompare() throws Exception {
+        PerfCompRunner runner = fromSystemProperties();
+        List<Result> results = runner.run();
+        Path outputDir = Paths.get(System.getProperty("perfcomp.outputDir", "target/perfcomp"));
+        Path baseline = getBaseline();
+
+        Files.createDirectories(outputDir);
+        Files.write(outputDir.resolve("results.csv"), toCsv(results).getBytes(StandardCharsets.UTF_8));
+        Files.write(outputDir.resolve("results.json"), toJson(results).getBytes(StandardCharsets.UTF_8));
+        System.out.print(toCsv(results));
+
+        if (Boolean.getBoolean("perfcomp.updateBaseline")) {
+            Files.write(baseline, (runner.getEnvironmentComment() + toCsv(results)).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Baseline updated: " + baseline);
+            return new ArrayList<>();
+        }
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException(getMissingBaselineMessage(baseline));
+        }
+
+        List<String> regressions = compare(readCsv(baseline), results, Double.parseDouble(System.getProperty("perfcomp.tolerance", "0.1")));
+        regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+
+        return regressions;
+    }
+
+    /**
+     * Get the baseline CSV of the system properties.
+     *
+     * @return The baseline path.
+     */
+    public static Path getBaseline() {
+        return Paths.get(System.getProperty("perfcomp.baseline", "src/test/resources/perfcomp-baseline.csv"));
+    }
+
+    public static String getMissingBaselineMessage(Path baseline) {
+        return "No baseline at " + baseline + ".  Run with -Dperfcomp.updateBaseline=true to store one.";
+    }
+
+    /**
+     * Get the CSV comment lines describing the JVM and the run, written at the top of an updated baseline.
+     *
+     * @return The comment lines.
+     */
+    public String getEnvironmentComment() {
+        Runtime runtime = Runtime.getRuntime();
+
+        return String.format(Locale.ROOT, "# Java %s (%s %s) on %s %s, %d processor(s), %d MB max heap%n# %d warm ups and %d iterations per library and message%n",
+                System.getProperty("java.version"), System.getProperty("java.vm.vendor"), System.getProperty("java.vm.name"),
+                System.getProperty("os.name"), System.getProperty("os.arch"), runtime.availableProcessors(), runtime.maxMemory() / (1024 * 1024),
+                warmups, iterations);
+    }
+
+    public List<Result> run() throws Exception {
+        List<Result> results = new ArrayList<>();
+
+        for (String library : libraries) {
+            Unmarshaller unmarshaller = createUnmarshaller(library);
+            for (String message : messages) {
+                results.add(measure(library, message, unmarshaller, readMessage(message)));
+            }
+        }
+
+        return results;
+    }
+
+    protected Result measure(String library, String message, Unmarshaller unmarshaller, String messageText) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            unmarshaller.unmarshal(new StringReader(messageText));
+        }
+
+        long[] latencies = new long[iterations];
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long iterationStart = System.nanoTime();
+            unmarshaller.unmarshal(new StringReader(messageText));
+            latencies[i] = System.nanoTime() - iterationStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = getAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(latencies);
+        return new Result(library, message,
+                percentile(latencies, 0.5) / 1000d,
+                percentile(latencies, 0.99) / 1000d,
+                iterations / (elapsed / 1_000_000_000d),
+                allocatedBefore < 0 ? -1 : allocated / iterations);
+    }
+
+    protected Unmarshaller createUnmarshaller(String library) throws Exception {
+        switch (library) {
+            case "smooks":
+                Smooks smooks = new Smooks(Order.class.getResourceAsStream("smooks-config.xml"));
+                return reader -> {
+                    JavaResult javaResult = new JavaResult();
+                    smooks.filterSource(new StreamSource(reader), javaResult);
+                    return javaResult.getBean("order");
+                };
+            case "jibx":
+                IUnmarshallingContext unmarshallingContext = BindingDirectory.getFactory(Order.class).createUnmarshallingContext();
+                return reader -> unmarshallingContext.unmarshalDocument(reader, null);
+            case "xstream":
+                XStream xstream = new XStream(new StaxDriver());
+                xstream.allowTypesByWildcard(new String[]{"org.smooks.Order", "org.smooks.OrderItem"});
+                xstream.alias("order", Order.class);
+                xstream.alias("orderItem", OrderItem.class);
+                return xstream::fromXML;
+            default:
+                throw new IllegalArgumentException("Unknown perfcomp library '" + library + "'.");
+        }
+    }
+
+    public static List<String> compare(List<Result> baseline, List<Result> results, double tolerance) {
+        Map<String, Result> baselineResults = new LinkedHashMap<>();
+        for (Result result : baseline) {
+            baselineResults.put(result.getKey(), result);
+        }
+
+        List<String> regressions = new ArrayList<>();
+        for (Result result : results) {
+            Result base = baselineResults.get(result.getKey());
+            if (base == null) {
+                continue;
+            }
+            if (result.p50Micros > base.p50Micros * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s p50 %.1fus > baseline %.1fus", result.getKey(), result.p50Micros, base.p50Micros));
+            }
+            if (result.opsPerSec < base.opsPerSec * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f ops/s < baseline %.1f ops/s", result.getKey(), result.opsPerSec, base.opsPerSec));
+            }
+            if (base.bytesPerMessage >= 0 && result.bytesPerMessage > base.bytesPerMessage * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s allocation %d B/message > baseline %d B/message", result.getKey(), result.bytesPerMessage, base.bytesPerMessage));
+            }
+        }
+
+        return regressions;
+    }
+
+    public static String toCsv(List<Result> results) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (Result result : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%.3f,%d%n", result.library, result.message, result.p50Micros, result.p99Micros, result.opsPerSec, result.bytesPerMessage));
+        }
+        return csv.toString();
+    }
+
+    public static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append(String.format(Locale.ROOT, "  {\"library\": \"%s\", \"message\": \"%s\", \"p50_us\": %.3f, \"p99_us\": %.3f, \"ops_per_sec\": %.3f, \"bytes_per_message\": %d}",
+                    result.library, result.message, result.p50Micros, result.p99Micros, result.opsPerSec, result.bytesPerMessage));
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    public static List<Result> readCsv(Path csv) throws IOException {
+        List<Result> results = new ArrayList<>();
+        for (String line : Files.readAllLines(csv, StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty() || line.startsWith("library,") || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            results.add(new Result(columns[0], columns[1], Double.parseDouble(columns[2]), Double.parseDouble(columns[3]), Double.parseDouble(columns[4]), Long.parseLong(columns[5])));
+        }
+        return results;
+    }
+
+    private static String readMessage(String message) {
+        try (InputStream messageStream = TestConstants.class.getResourceAsStream(message + ".xml")) {
+            if (messageStream == null) {
+                throw new IllegalArgumentException("Unknown sample message '" + message + "'.");
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = messageStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long percentile(long[] sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+
+    /**
+     * Get the bytes allocated by the current thread, or -1 if the JVM doesn't support allocation accounting.
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    public interface Unmarshaller {
+        Object unmarshal(Reader reader) throws Exception;
+    }
+
+    public static class Result {
+        private final String library;
+        private final String message;
+        private final double p50Micros;
+        private final double p99Micros;
+        private final double opsPerSec;
+        private final long bytesPerMessage;
+
+        public Result(String library, String message, double p50Micros, double p99Micros, double opsPerSec, long bytesPerMessage) {
+            this.library = library;
+            this.message = message;
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+            this.opsPerSec = opsPerSec;
+            this.bytesPerMessage = bytesPerMessage;
+        }
+
+        public String getKey() {
+            return library + "/" + message;
+        }
+
+        public double getP50Micros() {
+            return p50Micros;
+        }
+
+        public double getP99Micros() {
+            return p99Micros;
+        }
+
+        public double getOpsPerSec() {
+            return opsPerSec;
+        }
+
+        public long getBytesPerMessage() {
+            return bytesPerMessage;
+        }
+    }
+}